@@ -0,0 +1,87 @@
+package org.junit.experimental;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.runner.Description;
+import org.junit.runner.Runner;
+import org.junit.runner.manipulation.Filter;
+import org.junit.runner.manipulation.Filterable;
+import org.junit.runner.manipulation.NoTestsRemainException;
+import org.junit.runner.manipulation.Sortable;
+import org.junit.runner.manipulation.Sorter;
+import org.junit.runner.notification.Failure;
+import org.junit.runner.notification.RunNotifier;
+
+/**
+ * Runs a test class in a {@link ForkedJvm}. The class is described, filtered
+ * and sorted by a runner in this JVM; the tests that remain are then run by an
+ * equivalent runner in the forked JVM, in the same order.
+ */
+class ForkedClassRunner extends Runner implements Filterable, Sortable {
+    private final Class<?> testClass;
+
+    private final Runner localRunner;
+
+    private final ForkedJvmPool jvms;
+
+    ForkedClassRunner(Class<?> testClass, Runner localRunner, ForkedJvmPool jvms) {
+        this.testClass = testClass;
+        this.localRunner = localRunner;
+        this.jvms = jvms;
+    }
+
+    @Override
+    public Description getDescription() {
+        return localRunner.getDescription();
+    }
+
+    @Override
+    public void run(RunNotifier notifier) {
+        Description description = getDescription();
+        List<Description> leaves = new ArrayList<Description>();
+        addLeaves(description, leaves);
+        if (leaves.isEmpty()) {
+            return;
+        }
+        ForkedJvm jvm;
+        try {
+            jvm = jvms.borrow();
+        } catch (IOException e) {
+            notifier.fireTestFailure(new Failure(description, e));
+            return;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            notifier.fireTestFailure(new Failure(description, e));
+            return;
+        }
+        boolean reusable = false;
+        try {
+            jvm.run(testClass.getName(), leaves, notifier);
+            reusable = true;
+        } catch (IOException e) {
+            notifier.fireTestFailure(new Failure(description, e));
+        } finally {
+            jvms.giveBack(jvm, reusable);
+        }
+    }
+
+    private static void addLeaves(Description description, List<Description> leaves) {
+        if (description.isTest()) {
+            leaves.add(description);
+        } else {
+            for (Description each : description.getChildren()) {
+                addLeaves(each, leaves);
+            }
+        }
+    }
+
+    public void filter(Filter filter) throws NoTestsRemainException {
+        filter.apply(localRunner);
+    }
+
+    public void sort(Sorter sorter) {
+        sorter.apply(localRunner);
+    }
+}
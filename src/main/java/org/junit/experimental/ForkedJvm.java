@@ -0,0 +1,145 @@
+package org.junit.experimental;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.util.List;
+
+import org.junit.experimental.ForkedJvmWorker.ClassRequest;
+import org.junit.experimental.ForkedJvmWorker.Event;
+import org.junit.runner.Description;
+import org.junit.runner.notification.RunNotifier;
+
+/**
+ * A child JVM running a {@link ForkedJvmWorker}, as seen from the parent JVM.
+ * Instances are not thread-safe; the {@link ForkedJvmPool} lends each of them
+ * to one runner at a time.
+ */
+final class ForkedJvm {
+    private final Process process;
+
+    private final DataOutputStream requests;
+
+    private final DataInputStream events;
+
+    private int classCount = 0;
+
+    private long usedHeap = 0;
+
+    ForkedJvm(List<String> command) throws IOException {
+        process = new ProcessBuilder(command).start();
+        requests = new DataOutputStream(new BufferedOutputStream(process.getOutputStream()));
+        events = new DataInputStream(new BufferedInputStream(process.getInputStream()));
+        startCopying(process.getErrorStream(), System.err);
+    }
+
+    private static void startCopying(final InputStream from, final PrintStream to) {
+        Thread thread = new Thread("ForkedJvm-stderr") {
+            @Override
+            public void run() {
+                byte[] buffer = new byte[8192];
+                try {
+                    int length;
+                    while ((length = from.read(buffer)) != -1) {
+                        to.write(buffer, 0, length);
+                    }
+                } catch (IOException e) {
+                    // the JVM has terminated
+                }
+            }
+        };
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Runs the tests {@code leaves} of the class {@code className} in this JVM
+     * and reports their events to {@code notifier}.
+     *
+     * @throws IOException if the JVM terminated or the events could not be read.
+     *         Any events that were received until then have been reported.
+     */
+    void run(String className, List<Description> leaves, RunNotifier notifier)
+            throws IOException {
+        ForkedJvmWorker.writeMessage(requests, new ClassRequest(className, leaves));
+        while (true) {
+            Event event = readEvent();
+            switch (event.getKind()) {
+                case SUITE_STARTED:
+                    notifier.fireTestSuiteStarted(event.getDescription());
+                    break;
+                case SUITE_FINISHED:
+                    notifier.fireTestSuiteFinished(event.getDescription());
+                    break;
+                case STARTED:
+                    notifier.fireTestStarted(event.getDescription());
+                    break;
+                case FINISHED:
+                    notifier.fireTestFinished(event.getDescription());
+                    break;
+                case FAILURE:
+                    notifier.fireTestFailure(event.getFailure());
+                    break;
+                case ASSUMPTION_FAILURE:
+                    notifier.fireTestAssumptionFailed(event.getFailure());
+                    break;
+                case IGNORED:
+                    notifier.fireTestIgnored(event.getDescription());
+                    break;
+                case CLASS_FINISHED:
+                    classCount++;
+                    usedHeap = event.getUsedHeap();
+                    return;
+            }
+        }
+    }
+
+    private Event readEvent() throws IOException {
+        try {
+            return (Event) ForkedJvmWorker.readMessage(events);
+        } catch (EOFException e) {
+            throw new IOException("Forked JVM terminated unexpectedly");
+        } catch (ClassNotFoundException e) {
+            IOException exception = new IOException("Could not read event from forked JVM");
+            exception.initCause(e);
+            throw exception;
+        }
+    }
+
+    /**
+     * @return the number of classes this JVM has run
+     */
+    int getClassCount() {
+        return classCount;
+    }
+
+    /**
+     * @return the number of bytes used on the heap after the last class
+     */
+    long getUsedHeap() {
+        return usedHeap;
+    }
+
+    /**
+     * Asks the JVM to terminate once it has finished its current work.
+     */
+    void close() {
+        try {
+            requests.close();
+        } catch (IOException e) {
+            process.destroy();
+        }
+    }
+
+    /**
+     * Terminates the JVM immediately.
+     */
+    void destroy() {
+        process.destroy();
+    }
+}
@@ -0,0 +1,93 @@
+package org.junit.experimental;
+
+import java.io.IOException;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+
+/**
+ * A bounded pool of reusable {@link ForkedJvm}s. JVMs are started on demand
+ * and replaced once they have run a configured number of classes or use more
+ * than a configured amount of heap.
+ */
+final class ForkedJvmPool {
+    private final List<String> command;
+
+    private final int maxClassesPerJvm;
+
+    private final long maxUsedHeap;
+
+    private final Semaphore available;
+
+    // Guarded by this
+    private final LinkedList<ForkedJvm> idle = new LinkedList<ForkedJvm>();
+
+    /**
+     * @param maxClassesPerJvm the number of classes after which a JVM is
+     *         replaced, or {@code 0} to never replace a JVM for this reason
+     * @param maxUsedHeap the heap usage in bytes above which a JVM is replaced
+     */
+    ForkedJvmPool(List<String> command, int size, int maxClassesPerJvm, long maxUsedHeap) {
+        this.command = command;
+        this.maxClassesPerJvm = maxClassesPerJvm;
+        this.maxUsedHeap = maxUsedHeap;
+        available = new Semaphore(size);
+    }
+
+    /**
+     * Returns an idle JVM, starting a new one if there is none, and waiting if
+     * all JVMs are in use. The JVM must be handed back with
+     * {@link #giveBack(ForkedJvm, boolean)}.
+     */
+    ForkedJvm borrow() throws IOException, InterruptedException {
+        available.acquire();
+        synchronized (this) {
+            if (!idle.isEmpty()) {
+                return idle.removeFirst();
+            }
+        }
+        try {
+            return new ForkedJvm(command);
+        } catch (IOException e) {
+            available.release();
+            throw e;
+        } catch (RuntimeException e) {
+            available.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Hands back a JVM obtained from {@link #borrow()}.
+     *
+     * @param reusable {@code false} if the JVM is in an unknown state and must
+     *         not run any more classes
+     */
+    void giveBack(ForkedJvm jvm, boolean reusable) {
+        if (!reusable) {
+            jvm.destroy();
+        } else if (mustBeRecycled(jvm)) {
+            jvm.close();
+        } else {
+            synchronized (this) {
+                idle.addFirst(jvm);
+            }
+        }
+        available.release();
+    }
+
+    private boolean mustBeRecycled(ForkedJvm jvm) {
+        return (maxClassesPerJvm > 0 && jvm.getClassCount() >= maxClassesPerJvm)
+                || jvm.getUsedHeap() > maxUsedHeap;
+    }
+
+    /**
+     * Terminates all idle JVMs. JVMs that are in use are not affected.
+     */
+    synchronized void closeIdleJvms() {
+        for (ForkedJvm each : idle) {
+            each.close();
+        }
+        idle.clear();
+    }
+}
@@ -0,0 +1,326 @@
+package org.junit.experimental;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.FileDescriptor;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamException;
+import java.io.PrintStream;
+import java.io.Serializable;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.internal.Classes;
+import org.junit.runner.Description;
+import org.junit.runner.Request;
+import org.junit.runner.manipulation.Filter;
+import org.junit.runner.notification.Failure;
+import org.junit.runner.notification.RunListener;
+import org.junit.runner.notification.RunNotifier;
+
+/**
+ * The main class of a JVM forked by {@link ForkingComputer}. It reads
+ * {@link ClassRequest}s from its standard input, runs them and writes the
+ * resulting {@link Event}s to its standard output until its standard input is
+ * closed. Anything the tests print goes to the standard error stream.
+ *
+ * <p>Messages in both directions are serialized objects, each preceded by its
+ * length.
+ */
+final class ForkedJvmWorker {
+    private final DataInputStream in;
+
+    private final DataOutputStream out;
+
+    private ForkedJvmWorker(DataInputStream in, DataOutputStream out) {
+        this.in = in;
+        this.out = out;
+    }
+
+    public static void main(String... args) {
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                new FileOutputStream(FileDescriptor.out)));
+        System.setOut(new PrintStream(new FileOutputStream(FileDescriptor.err), true));
+        DataInputStream in = new DataInputStream(new BufferedInputStream(
+                new FileInputStream(FileDescriptor.in)));
+        try {
+            new ForkedJvmWorker(in, out).serve();
+            System.exit(0);
+        } catch (Throwable e) {
+            e.printStackTrace();
+            System.exit(1);
+        }
+    }
+
+    private void serve() throws Exception {
+        while (true) {
+            ClassRequest request;
+            try {
+                request = (ClassRequest) readMessage(in);
+            } catch (EOFException e) {
+                return;
+            }
+            run(request);
+            Runtime runtime = Runtime.getRuntime();
+            send(Event.finished(runtime.totalMemory() - runtime.freeMemory()));
+        }
+    }
+
+    private void run(ClassRequest request) throws ClassNotFoundException {
+        Class<?> testClass = Classes.getClass(request.className);
+        RunNotifier notifier = new RunNotifier();
+        notifier.addListener(new Forwarder());
+        Request.aClass(testClass)
+                .filterWith(new LeafFilter(request.leaves))
+                .sortWith(new LeafOrder(request.leaves))
+                .getRunner()
+                .run(notifier);
+    }
+
+    private synchronized void send(Event event) throws IOException {
+        try {
+            writeMessage(out, event);
+        } catch (ObjectStreamException e) {
+            // The failure holds an exception that cannot be serialized
+            writeMessage(out, event.withSerializableException());
+        }
+    }
+
+    /**
+     * Writes {@code message} to {@code out}. Nothing is written if the message
+     * cannot be serialized.
+     */
+    static void writeMessage(DataOutputStream out, Serializable message) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        ObjectOutputStream stream = new ObjectOutputStream(buffer);
+        stream.writeObject(message);
+        stream.close();
+        byte[] bytes = buffer.toByteArray();
+        out.writeInt(bytes.length);
+        out.write(bytes);
+        out.flush();
+    }
+
+    static Object readMessage(DataInputStream in) throws IOException, ClassNotFoundException {
+        byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        ObjectInputStream stream = new ObjectInputStream(new ByteArrayInputStream(bytes));
+        try {
+            return stream.readObject();
+        } finally {
+            stream.close();
+        }
+    }
+
+    /**
+     * Asks the worker to run the given tests of a class.
+     */
+    static final class ClassRequest implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private final String className;
+
+        private final List<Description> leaves;
+
+        ClassRequest(String className, List<Description> leaves) {
+            this.className = className;
+            this.leaves = leaves;
+        }
+    }
+
+    /**
+     * A test event that happened in the worker.
+     */
+    static final class Event implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        enum Kind {
+            SUITE_STARTED, SUITE_FINISHED, STARTED, FINISHED, FAILURE,
+            ASSUMPTION_FAILURE, IGNORED, CLASS_FINISHED
+        }
+
+        private final Kind kind;
+
+        private final Description description;
+
+        private final Failure failure;
+
+        private final long usedHeap;
+
+        private Event(Kind kind, Description description, Failure failure, long usedHeap) {
+            this.kind = kind;
+            this.description = description;
+            this.failure = failure;
+            this.usedHeap = usedHeap;
+        }
+
+        static Event of(Kind kind, Description description) {
+            return new Event(kind, description, null, 0);
+        }
+
+        static Event of(Kind kind, Failure failure) {
+            return new Event(kind, failure.getDescription(), failure, 0);
+        }
+
+        static Event finished(long usedHeap) {
+            return new Event(Kind.CLASS_FINISHED, null, null, usedHeap);
+        }
+
+        Kind getKind() {
+            return kind;
+        }
+
+        Description getDescription() {
+            return description;
+        }
+
+        Failure getFailure() {
+            return failure;
+        }
+
+        long getUsedHeap() {
+            return usedHeap;
+        }
+
+        Event withSerializableException() {
+            Failure serializable = new Failure(description,
+                    new ForkedJvmException(failure.getException()));
+            return new Event(kind, description, serializable, usedHeap);
+        }
+    }
+
+    /**
+     * Stands in for an exception that cannot be serialized. It reports the
+     * class name, message and stack trace of the original exception.
+     */
+    static final class ForkedJvmException extends Exception {
+        private static final long serialVersionUID = 1L;
+
+        private final String className;
+
+        ForkedJvmException(Throwable original) {
+            super(original.getMessage());
+            className = original.getClass().getName();
+            setStackTrace(original.getStackTrace());
+        }
+
+        @Override
+        public String toString() {
+            String message = getLocalizedMessage();
+            return message == null ? className : className + ": " + message;
+        }
+    }
+
+    private class Forwarder extends RunListener {
+        @Override
+        public void testSuiteStarted(Description description) throws Exception {
+            send(Event.of(Event.Kind.SUITE_STARTED, description));
+        }
+
+        @Override
+        public void testSuiteFinished(Description description) throws Exception {
+            send(Event.of(Event.Kind.SUITE_FINISHED, description));
+        }
+
+        @Override
+        public void testStarted(Description description) throws Exception {
+            send(Event.of(Event.Kind.STARTED, description));
+        }
+
+        @Override
+        public void testFinished(Description description) throws Exception {
+            send(Event.of(Event.Kind.FINISHED, description));
+        }
+
+        @Override
+        public void testFailure(Failure failure) throws Exception {
+            send(Event.of(Event.Kind.FAILURE, failure));
+        }
+
+        @Override
+        public void testAssumptionFailure(Failure failure) {
+            try {
+                send(Event.of(Event.Kind.ASSUMPTION_FAILURE, failure));
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        }
+
+        @Override
+        public void testIgnored(Description description) throws Exception {
+            send(Event.of(Event.Kind.IGNORED, description));
+        }
+    }
+
+    /**
+     * Selects the tests that the parent JVM asked for.
+     */
+    private static class LeafFilter extends Filter {
+        private final List<Description> leaves;
+
+        LeafFilter(List<Description> leaves) {
+            this.leaves = leaves;
+        }
+
+        @Override
+        public boolean shouldRun(Description description) {
+            if (description.isTest()) {
+                return leaves.contains(description);
+            }
+            for (Description each : description.getChildren()) {
+                if (shouldRun(each)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public String describe() {
+            return "tests requested by the parent JVM";
+        }
+    }
+
+    /**
+     * Runs the tests in the order of the parent JVM. A suite is ordered by its
+     * first test.
+     */
+    private static class LeafOrder implements Comparator<Description> {
+        private final Map<Description, Integer> indexes = new HashMap<Description, Integer>();
+
+        LeafOrder(List<Description> leaves) {
+            for (int i = 0; i < leaves.size(); i++) {
+                indexes.put(leaves.get(i), i);
+            }
+        }
+
+        public int compare(Description o1, Description o2) {
+            int index1 = indexOf(o1);
+            int index2 = indexOf(o2);
+            return index1 < index2 ? -1 : (index1 == index2 ? 0 : 1);
+        }
+
+        private int indexOf(Description description) {
+            if (description.isTest()) {
+                Integer index = indexes.get(description);
+                return index == null ? Integer.MAX_VALUE : index;
+            }
+            int result = Integer.MAX_VALUE;
+            for (Description each : description.getChildren()) {
+                result = Math.min(result, indexOf(each));
+            }
+            return result;
+        }
+    }
+}
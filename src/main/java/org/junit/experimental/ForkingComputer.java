@@ -0,0 +1,173 @@
+package org.junit.experimental;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.experimental.ResourceLock.Mode;
+import org.junit.runner.Computer;
+import org.junit.runner.Runner;
+import org.junit.runners.ParentRunner;
+import org.junit.runners.model.InitializationError;
+import org.junit.runners.model.RunnerBuilder;
+import org.junit.runners.model.RunnerScheduler;
+
+/**
+ * A {@link Computer} that runs each test class in one of a pool of reusable
+ * child JVMs. Use it for tests with static state or native resources that must
+ * not be shared with other test classes, without paying the startup cost of a
+ * new JVM for every class:
+ *
+ * <pre>
+ * Computer computer = ForkingComputer.builder()
+ *         .withJvms(4)
+ *         .withJvmArguments("-Xmx512m")
+ *         .withRecyclingAfterClasses(50)
+ *         .build();
+ * Result result = JUnitCore.runClasses(computer, FirstTest.class, SecondTest.class);
+ * </pre>
+ *
+ * <p>Classes are described, filtered and sorted in the calling JVM and
+ * dispatched to idle child JVMs in parallel. The test events of the child JVMs
+ * are reported to the listeners of the calling JVM, so the run produces a
+ * single {@link org.junit.runner.Result}. Failures must be serializable to be
+ * reported unchanged; other exceptions are reported with their class name,
+ * message and stack trace.
+ *
+ * <p>A child JVM is replaced after it has run a configurable number of classes
+ * or when its heap usage after a class exceeds a configurable limit. Child
+ * JVMs that are idle at the end of a run are terminated.
+ *
+ * @since 4.13
+ */
+public class ForkingComputer extends ParallelComputer {
+    private final ForkedJvmPool jvms;
+
+    /**
+     * Returns a new builder for building an instance.
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Create a {@code ForkingComputer} initialized with values from a builder.
+     */
+    protected ForkingComputer(Builder builder) {
+        super(true, false, builder.jvms);
+        jvms = new ForkedJvmPool(builder.command(), builder.jvms,
+                builder.maxClassesPerJvm, builder.maxUsedHeap);
+    }
+
+    @Override
+    public Runner getSuite(RunnerBuilder builder, Class<?>[] classes)
+            throws InitializationError {
+        Runner suite = super.getSuite(builder, classes);
+        final RunnerScheduler scheduler = newScheduler(Collections.<String, Mode>emptyMap());
+        ((ParentRunner<?>) suite).setScheduler(new RunnerScheduler() {
+            public void schedule(Runnable childStatement) {
+                scheduler.schedule(childStatement);
+            }
+
+            public void finished() {
+                try {
+                    scheduler.finished();
+                } finally {
+                    jvms.closeIdleJvms();
+                }
+            }
+        });
+        return suite;
+    }
+
+    @Override
+    protected Runner getRunner(RunnerBuilder builder, Class<?> testClass)
+            throws Throwable {
+        Runner runner = super.getRunner(builder, testClass);
+        return runner == null ? null : new ForkedClassRunner(testClass, runner, jvms);
+    }
+
+    /**
+     * Builder for {@link ForkingComputer}.
+     */
+    public static class Builder {
+        private int jvms = Runtime.getRuntime().availableProcessors();
+        private List<String> jvmArguments = Collections.emptyList();
+        private int maxClassesPerJvm = 0;
+        private long maxUsedHeap = Long.MAX_VALUE;
+
+        protected Builder() {
+        }
+
+        /**
+         * Specifies the maximum number of child JVMs. Defaults to the number of
+         * processors available to this JVM.
+         *
+         * @return {@code this} for method chaining.
+         */
+        public Builder withJvms(int jvms) {
+            if (jvms < 1) {
+                throw new IllegalArgumentException("jvms must be positive but was " + jvms);
+            }
+            this.jvms = jvms;
+            return this;
+        }
+
+        /**
+         * Specifies arguments that are passed to each child JVM, for example
+         * heap settings or system properties. The class path of the child JVMs
+         * is always the class path of this JVM.
+         *
+         * @return {@code this} for method chaining.
+         */
+        public Builder withJvmArguments(String... arguments) {
+            this.jvmArguments = Arrays.asList(arguments);
+            return this;
+        }
+
+        /**
+         * Specifies that a child JVM is replaced by a new one after it has run
+         * {@code classes} test classes. By default, child JVMs are not replaced
+         * for this reason.
+         *
+         * @return {@code this} for method chaining.
+         */
+        public Builder withRecyclingAfterClasses(int classes) {
+            this.maxClassesPerJvm = classes;
+            return this;
+        }
+
+        /**
+         * Specifies that a child JVM is replaced by a new one if more than
+         * {@code bytes} are in use on its heap after it has run a test class.
+         * By default, child JVMs are not replaced for this reason.
+         *
+         * @return {@code this} for method chaining.
+         */
+        public Builder withRecyclingAboveHeapUsage(long bytes) {
+            this.maxUsedHeap = bytes;
+            return this;
+        }
+
+        private List<String> command() {
+            List<String> command = new ArrayList<String>();
+            command.add(System.getProperty("java.home") + File.separator + "bin"
+                    + File.separator + "java");
+            command.addAll(jvmArguments);
+            command.add("-cp");
+            command.add(System.getProperty("java.class.path"));
+            command.add(ForkedJvmWorker.class.getName());
+            return command;
+        }
+
+        /**
+         * Builds a {@link ForkingComputer} instance using the values in this
+         * builder.
+         */
+        public ForkingComputer build() {
+            return new ForkingComputer(this);
+        }
+    }
+}
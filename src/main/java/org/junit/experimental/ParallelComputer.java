@@ -1,24 +1,82 @@
 package org.junit.experimental;
 
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.TimeUnit;
+import static org.junit.internal.Checks.notNull;
 
+import java.util.Comparator;
+import java.util.Map;
+
+import org.junit.experimental.ResourceLock.Mode;
 import org.junit.runner.Computer;
+import org.junit.runner.Description;
 import org.junit.runner.Runner;
 import org.junit.runners.ParentRunner;
 import org.junit.runners.model.InitializationError;
 import org.junit.runners.model.RunnerBuilder;
 import org.junit.runners.model.RunnerScheduler;
 
+/**
+ * A {@link Computer} that runs test classes and/or test methods in parallel.
+ *
+ * <p>All runners created by one {@code ParallelComputer} share a single pool
+ * with a bounded number of worker threads. A runner that waits for its
+ * children runs the children that no worker has picked up yet itself, so
+ * nested suites do not need additional threads and cannot starve the pool.
+ *
+ * <p>Tests that share resources can declare this with {@link ResourceLock};
+ * tests with conflicting locks are not run concurrently.
+ */
 public class ParallelComputer extends Computer {
     private final boolean classes;
 
     private final boolean methods;
 
+    private final WorkerPool pool;
+
+    private final boolean virtualThreads;
+
+    private final Comparator<Description> order;
+
+    /**
+     * Creates a {@code ParallelComputer} that uses as many worker threads as
+     * there are processors available to the JVM.
+     */
     public ParallelComputer(boolean classes, boolean methods) {
+        this(classes, methods, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Creates a {@code ParallelComputer} that uses at most {@code parallelism}
+     * worker threads in addition to the thread that runs the tests.
+     *
+     * @throws IllegalArgumentException if {@code parallelism} is not positive
+     * @since 4.13
+     */
+    public ParallelComputer(boolean classes, boolean methods, int parallelism) {
+        this(classes, methods, new WorkerPool(parallelism), false, null);
+    }
+
+    /**
+     * Creates a {@code ParallelComputer} that uses at most {@code parallelism}
+     * worker threads in addition to the thread that runs the tests, and that
+     * starts the children of each runner in the given {@code order}. For
+     * example, {@link org.junit.experimental.max.MaxHistory#longestFirstComparator()}
+     * starts the longest classes and methods first.
+     *
+     * @throws IllegalArgumentException if {@code parallelism} is not positive
+     * @since 4.13
+     */
+    public ParallelComputer(boolean classes, boolean methods, int parallelism,
+            Comparator<Description> order) {
+        this(classes, methods, new WorkerPool(parallelism), false, notNull(order));
+    }
+
+    private ParallelComputer(boolean classes, boolean methods, WorkerPool pool,
+            boolean virtualThreads, Comparator<Description> order) {
         this.classes = classes;
         this.methods = methods;
+        this.pool = pool;
+        this.virtualThreads = virtualThreads;
+        this.order = order;
     }
 
     public static Computer classes() {
@@ -29,28 +87,38 @@ public class ParallelComputer extends Computer {
         return new ParallelComputer(false, true);
     }
 
-    private static Runner parallelize(Runner runner) {
+    /**
+     * Returns a computer that runs each child of a parallelized runner on its
+     * own virtual thread. Useful for tests that spend most of their time
+     * waiting, for example on sockets or files. On JVMs without virtual threads
+     * the returned computer falls back to the bounded pool used by
+     * {@link #ParallelComputer(boolean, boolean)}.
+     *
+     * @since 4.13
+     */
+    public static Computer virtualThreads(boolean classes, boolean methods) {
+        return new ParallelComputer(classes, methods,
+                new WorkerPool(Runtime.getRuntime().availableProcessors()),
+                VirtualThreadScheduler.isAvailable(), null);
+    }
+
+    private Runner parallelize(Runner runner) {
         if (runner instanceof ParentRunner) {
-            ((ParentRunner<?>) runner).setScheduler(new RunnerScheduler() {
-                private final ExecutorService fService = Executors.newCachedThreadPool();
-
-                public void schedule(Runnable childStatement) {
-                    fService.submit(childStatement);
-                }
-
-                public void finished() {
-                    try {
-                        fService.shutdown();
-                        fService.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
-                    } catch (InterruptedException e) {
-                        e.printStackTrace(System.err);
-                    }
-                }
-            });
+            ParentRunner<?> parentRunner = (ParentRunner<?>) runner;
+            Map<String, Mode> inheritedLocks = ResourceLockTable.locksOf(
+                    parentRunner.getTestClass().getAnnotation(ResourceLock.class));
+            parentRunner.setScheduler(newScheduler(inheritedLocks));
         }
         return runner;
     }
 
+    RunnerScheduler newScheduler(Map<String, Mode> inheritedLocks) {
+        if (virtualThreads) {
+            return new VirtualThreadScheduler(inheritedLocks);
+        }
+        return new WorkStealingScheduler(pool, inheritedLocks, order);
+    }
+
     @Override
     public Runner getSuite(RunnerBuilder builder, java.lang.Class<?>[] classes)
             throws InitializationError {
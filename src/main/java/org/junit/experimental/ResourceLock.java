@@ -0,0 +1,81 @@
+package org.junit.experimental;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Declares that a test class or test method uses shared resources, so that a
+ * {@link ParallelComputer} does not run it concurrently with tests that use the
+ * same resources in a conflicting way. Resources are identified by arbitrary
+ * names. Any number of tests may hold a {@link Mode#READ} lock on a resource at
+ * the same time, but a {@link Mode#READ_WRITE} lock excludes every other lock
+ * on that resource. Tests without conflicting locks still run in parallel.
+ *
+ * <p>A lock on a class applies to the whole class, including its
+ * {@code @BeforeClass} and {@code @AfterClass} methods, and to each of its
+ * test methods. For example, the methods of {@code AccountDaoTest} below never
+ * run concurrently with each other or with {@code ReportTest}, while the methods
+ * of {@code ReportTest} may run concurrently with each other:
+ *
+ * <pre>
+ * &#064;ResourceLock("db")
+ * public class AccountDaoTest {
+ *     &#064;Test
+ *     public void insertsAccount() {
+ *         ...
+ *     }
+ *
+ *     &#064;Test
+ *     public void deletesAccount() {
+ *         ...
+ *     }
+ * }
+ *
+ * public class ReportTest {
+ *     &#064;ResourceLock(value = "db", mode = Mode.READ)
+ *     &#064;Test
+ *     public void countsAccounts() {
+ *         ...
+ *     }
+ *
+ *     &#064;ResourceLock(value = "db", mode = Mode.READ)
+ *     &#064;Test
+ *     public void listsAccounts() {
+ *         ...
+ *     }
+ * }
+ *
+ * JUnitCore.runClasses(new ParallelComputer(true, true), AccountDaoTest.class, ReportTest.class);
+ * </pre>
+ *
+ * @since 4.13
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Inherited
+public @interface ResourceLock {
+    /**
+     * The names of the resources to lock.
+     */
+    String[] value();
+
+    /**
+     * The way the resources are used.
+     */
+    Mode mode() default Mode.READ_WRITE;
+
+    enum Mode {
+        /**
+         * The resource is only read, so it can be shared with other readers.
+         */
+        READ,
+
+        /**
+         * The resource is modified, so it cannot be shared.
+         */
+        READ_WRITE
+    }
+}
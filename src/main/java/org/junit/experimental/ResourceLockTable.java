@@ -0,0 +1,189 @@
+package org.junit.experimental;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import org.junit.experimental.ResourceLock.Mode;
+import org.junit.runner.Describable;
+import org.junit.runner.Description;
+
+/**
+ * The {@link ResourceLock}s held by the children of a single runner.
+ *
+ * <p>A child acquires all locks of its subtree at once, before it starts, and
+ * releases them when it is done. Its own children then only compete with each
+ * other, in a table of their own. As a child never waits for a lock while
+ * holding another one, and its descendants never wait for locks in the table
+ * of their ancestors, no deadlock can occur.
+ */
+final class ResourceLockTable {
+    private static final Map<String, Mode> NO_LOCKS = Collections.emptyMap();
+
+    private final Map<String, Integer> readers = new HashMap<String, Integer>();
+
+    private final Set<String> writers = new HashSet<String>();
+
+    private final List<Runnable> parked = new ArrayList<Runnable>();
+
+    private long releaseCount = 0;
+
+    /**
+     * Returns the locks declared by {@code annotation}, which may be
+     * {@code null}.
+     */
+    static Map<String, Mode> locksOf(ResourceLock annotation) {
+        if (annotation == null) {
+            return NO_LOCKS;
+        }
+        Map<String, Mode> locks = new TreeMap<String, Mode>();
+        for (String each : annotation.value()) {
+            locks.put(each, annotation.mode());
+        }
+        return locks;
+    }
+
+    /**
+     * Returns the locks that a child statement passed to a scheduler needs, in
+     * addition to {@code inherited}, the locks declared on the runner that
+     * schedules it.
+     */
+    static Map<String, Mode> locksOf(Runnable childStatement, Map<String, Mode> inherited) {
+        return locksOf(descriptionOf(childStatement), inherited);
+    }
+
+    /**
+     * Returns the locks needed by the child with the given description, which
+     * may be {@code null}, in addition to {@code inherited}.
+     */
+    static Map<String, Mode> locksOf(Description description, Map<String, Mode> inherited) {
+        if (description == null) {
+            return inherited;
+        }
+        Map<String, Mode> locks = new TreeMap<String, Mode>(inherited);
+        addLocks(description, locks);
+        return locks.isEmpty() ? NO_LOCKS : locks;
+    }
+
+    /**
+     * Returns the description of a child statement passed to a scheduler, or
+     * {@code null} if it cannot describe itself.
+     */
+    static Description descriptionOf(Runnable childStatement) {
+        if (childStatement instanceof Describable) {
+            return ((Describable) childStatement).getDescription();
+        }
+        return null;
+    }
+
+    private static void addLocks(Description description, Map<String, Mode> locks) {
+        for (Map.Entry<String, Mode> each : locksOf(description.getAnnotation(ResourceLock.class)).entrySet()) {
+            if (locks.get(each.getKey()) != Mode.READ_WRITE) {
+                locks.put(each.getKey(), each.getValue());
+            }
+        }
+        for (Description child : description.getChildren()) {
+            addLocks(child, locks);
+        }
+    }
+
+    /**
+     * Acquires all of {@code locks} if none of them conflicts with a lock
+     * that is already held.
+     *
+     * @return whether the locks have been acquired
+     */
+    synchronized boolean tryAcquire(Map<String, Mode> locks) {
+        for (Map.Entry<String, Mode> each : locks.entrySet()) {
+            String resource = each.getKey();
+            if (writers.contains(resource)
+                    || (each.getValue() == Mode.READ_WRITE && readers.containsKey(resource))) {
+                return false;
+            }
+        }
+        for (Map.Entry<String, Mode> each : locks.entrySet()) {
+            String resource = each.getKey();
+            if (each.getValue() == Mode.READ_WRITE) {
+                writers.add(resource);
+            } else {
+                Integer count = readers.get(resource);
+                readers.put(resource, count == null ? 1 : count + 1);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Acquires all of {@code locks}, waiting until none of them conflicts with
+     * a lock that is already held.
+     */
+    synchronized void acquire(Map<String, Mode> locks) throws InterruptedException {
+        while (!tryAcquire(locks)) {
+            wait();
+        }
+    }
+
+    /**
+     * Releases {@code locks}, which must have been acquired before.
+     *
+     * @return the tasks that were {@link #tryAcquireOrPark(Map, Runnable) parked} since the
+     *         last release, and which may now be able to acquire their locks
+     */
+    synchronized List<Runnable> release(Map<String, Mode> locks) {
+        if (locks.isEmpty()) {
+            return Collections.emptyList();
+        }
+        for (Map.Entry<String, Mode> each : locks.entrySet()) {
+            String resource = each.getKey();
+            if (each.getValue() == Mode.READ_WRITE) {
+                writers.remove(resource);
+            } else {
+                int count = readers.get(resource);
+                if (count == 1) {
+                    readers.remove(resource);
+                } else {
+                    readers.put(resource, count - 1);
+                }
+            }
+        }
+        releaseCount++;
+        notifyAll();
+        List<Runnable> unparked = new ArrayList<Runnable>(parked);
+        parked.clear();
+        return unparked;
+    }
+
+    /**
+     * Acquires all of {@code locks} like {@link #tryAcquire(Map)}. If that is
+     * not possible, {@code task} is remembered and returned by the next call of
+     * {@link #release(Map)}.
+     *
+     * @return whether the locks have been acquired
+     */
+    synchronized boolean tryAcquireOrPark(Map<String, Mode> locks, Runnable task) {
+        if (tryAcquire(locks)) {
+            return true;
+        }
+        parked.add(task);
+        return false;
+    }
+
+    synchronized long getReleaseCount() {
+        return releaseCount;
+    }
+
+    /**
+     * Waits until locks have been released after {@link #getReleaseCount()}
+     * returned {@code count}.
+     */
+    synchronized void awaitReleaseAfter(long count) throws InterruptedException {
+        while (releaseCount == count) {
+            wait();
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package org.junit.experimental;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.experimental.ResourceLock.Mode;
+import org.junit.runners.model.RunnerScheduler;
+
+/**
+ * A {@link RunnerScheduler} that starts every child statement on its own
+ * virtual thread and waits for all of them in {@link #finished()}, which also
+ * shuts down the executor that started them. Blocking a virtual thread is
+ * cheap, so this scheduler suits suites that mostly wait on I/O. A child that
+ * cannot acquire its {@link ResourceLock}s blocks its virtual thread until a
+ * sibling releases them.
+ *
+ * <p>Virtual threads are looked up reflectively so that JUnit still runs on
+ * JVMs that do not have them; use {@link #isAvailable()} to find out whether
+ * they are available.
+ */
+class VirtualThreadScheduler implements RunnerScheduler {
+    private static final class Holder {
+        static final Method newVirtualThreadPerTaskExecutorMethod;
+
+        static {
+            Method method = null;
+            try {
+                method = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            } catch (NoSuchMethodException e) {
+                // do nothing, the method will be null on failure
+            } catch (SecurityException e) {
+                // do nothing, the method will be null on failure
+            }
+            newVirtualThreadPerTaskExecutorMethod = method;
+        }
+    }
+
+    private final Map<String, Mode> inheritedLocks;
+
+    private final ResourceLockTable lockTable = new ResourceLockTable();
+
+    private final List<Future<?>> futures = new ArrayList<Future<?>>();
+
+    // Created for each run of the children, and shut down when they finished
+    private ExecutorService executor;
+
+    VirtualThreadScheduler(Map<String, Mode> inheritedLocks) {
+        this.inheritedLocks = inheritedLocks;
+    }
+
+    /**
+     * Returns {@code true} if the JVM supports virtual threads.
+     */
+    static boolean isAvailable() {
+        return Holder.newVirtualThreadPerTaskExecutorMethod != null;
+    }
+
+    private static ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            return (ExecutorService) Holder.newVirtualThreadPerTaskExecutorMethod.invoke(null);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("Cannot create virtual threads", e);
+        } catch (InvocationTargetException e) {
+            throw new IllegalStateException("Cannot create virtual threads", e.getCause());
+        }
+    }
+
+    public void schedule(final Runnable childStatement) {
+        if (executor == null) {
+            executor = newVirtualThreadPerTaskExecutor();
+        }
+        final Map<String, Mode> locks = ResourceLockTable.locksOf(childStatement, inheritedLocks);
+        if (locks.isEmpty()) {
+            futures.add(executor.submit(childStatement));
+            return;
+        }
+        futures.add(executor.submit(new Callable<Void>() {
+            public Void call() throws InterruptedException {
+                lockTable.acquire(locks);
+                try {
+                    childStatement.run();
+                } finally {
+                    lockTable.release(locks);
+                }
+                return null;
+            }
+        }));
+    }
+
+    public void finished() {
+        Throwable failure = null;
+        try {
+            for (Future<?> each : futures) {
+                try {
+                    each.get();
+                } catch (ExecutionException e) {
+                    if (failure == null) {
+                        failure = e.getCause();
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            // The caller decides how to react to the interrupt
+            Thread.currentThread().interrupt();
+        } finally {
+            futures.clear();
+            if (executor != null) {
+                executor.shutdown();
+                executor = null;
+            }
+        }
+        if (failure instanceof RuntimeException) {
+            throw (RuntimeException) failure;
+        } else if (failure instanceof Error) {
+            throw (Error) failure;
+        } else if (failure != null) {
+            throw new RuntimeException(failure);
+        }
+    }
+}
@@ -0,0 +1,210 @@
+package org.junit.experimental;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.experimental.ResourceLock.Mode;
+import org.junit.runner.Description;
+import org.junit.runners.model.RunnerScheduler;
+
+/**
+ * A {@link RunnerScheduler} that hands child statements to a shared
+ * {@link WorkerPool} and joins them cooperatively: when all children have been
+ * scheduled, the thread that called {@link #finished()} runs every child that
+ * has not yet been picked up by a worker itself, and only then waits for the
+ * children that are still running on other threads.
+ *
+ * <p>Because a thread never blocks on a child that nobody is running, nested
+ * suites cannot starve the pool, and the number of threads stays at the
+ * parallelism of the pool no matter how deep the tree of runners is.
+ *
+ * <p>If an order is given, the children are buffered until
+ * {@link #finished()} is called and then handed to the workers in that order.
+ * The joining thread helps in the same order, so the first children are
+ * started first no matter which thread is free.
+ *
+ * <p>A child that cannot acquire its {@link ResourceLock}s is skipped by the
+ * workers and retried whenever a sibling releases its locks.
+ */
+class WorkStealingScheduler implements RunnerScheduler {
+    private final WorkerPool pool;
+
+    private final Map<String, Mode> inheritedLocks;
+
+    private final Comparator<Description> order;
+
+    private final ResourceLockTable lockTable = new ResourceLockTable();
+
+    private final List<ChildTask> tasks = new ArrayList<ChildTask>();
+
+    /**
+     * @param order the order in which children are handed to the workers, or
+     *         {@code null} to hand them out as soon as they are scheduled
+     */
+    WorkStealingScheduler(WorkerPool pool, Map<String, Mode> inheritedLocks,
+            Comparator<Description> order) {
+        this.pool = pool;
+        this.inheritedLocks = inheritedLocks;
+        this.order = order;
+    }
+
+    public void schedule(Runnable childStatement) {
+        if (tasks.isEmpty()) {
+            pool.acquire();
+        }
+        Description description = ResourceLockTable.descriptionOf(childStatement);
+        ChildTask task = new ChildTask(childStatement, description,
+                ResourceLockTable.locksOf(description, inheritedLocks));
+        tasks.add(task);
+        if (order == null) {
+            pool.execute(task);
+        }
+    }
+
+    public void finished() {
+        if (tasks.isEmpty()) {
+            return;
+        }
+        try {
+            if (order != null) {
+                Collections.sort(tasks, new TaskComparator(order));
+                for (ChildTask each : tasks) {
+                    pool.execute(each);
+                }
+            }
+            if (order != null) {
+                // Help in the given order, like the workers
+                for (ChildTask each : tasks) {
+                    each.tryRun();
+                }
+            } else {
+                // Help from the end of the queue, the workers take from its front
+                for (int i = tasks.size() - 1; i >= 0; i--) {
+                    tasks.get(i).tryRun();
+                }
+            }
+            for (ChildTask each : tasks) {
+                long releaseCount = lockTable.getReleaseCount();
+                while (!each.tryRun()) {
+                    lockTable.awaitReleaseAfter(releaseCount);
+                    releaseCount = lockTable.getReleaseCount();
+                }
+                each.join();
+            }
+            for (ChildTask each : tasks) {
+                each.rethrowFailure();
+            }
+        } catch (InterruptedException e) {
+            // The caller decides how to react to the interrupt
+            Thread.currentThread().interrupt();
+        } finally {
+            tasks.clear();
+            pool.release();
+        }
+    }
+
+    /**
+     * A child statement that is run exactly once, either by a worker or by the
+     * thread that joins it, whichever claims it first.
+     */
+    private final class ChildTask implements Runnable {
+        private final Runnable childStatement;
+
+        private final Description description;
+
+        private final Map<String, Mode> locks;
+
+        private final AtomicBoolean claimed = new AtomicBoolean(false);
+
+        private final CountDownLatch done = new CountDownLatch(1);
+
+        private volatile Throwable failure = null;
+
+        ChildTask(Runnable childStatement, Description description,
+                Map<String, Mode> locks) {
+            this.childStatement = childStatement;
+            this.description = description;
+            this.locks = locks;
+        }
+
+        public void run() {
+            if (!claimed.get() && (locks.isEmpty() || lockTable.tryAcquireOrPark(locks, this))) {
+                runWithLocks();
+            }
+        }
+
+        /**
+         * Runs the child unless it has already been claimed.
+         *
+         * @return {@code false} if the child has not been claimed yet but
+         *         cannot acquire its locks
+         */
+        boolean tryRun() {
+            if (claimed.get()) {
+                return true;
+            }
+            if (!locks.isEmpty() && !lockTable.tryAcquire(locks)) {
+                return false;
+            }
+            runWithLocks();
+            return true;
+        }
+
+        private void runWithLocks() {
+            if (!claimed.compareAndSet(false, true)) {
+                // The parked tasks are picked up by the joining thread
+                lockTable.release(locks);
+                return;
+            }
+            try {
+                childStatement.run();
+            } catch (Throwable e) {
+                failure = e;
+            } finally {
+                // Resubmit before counting down, the pool is in use until then
+                for (Runnable each : lockTable.release(locks)) {
+                    pool.execute(each);
+                }
+                done.countDown();
+            }
+        }
+
+        void join() throws InterruptedException {
+            done.await();
+        }
+
+        void rethrowFailure() {
+            if (failure instanceof RuntimeException) {
+                throw (RuntimeException) failure;
+            } else if (failure instanceof Error) {
+                throw (Error) failure;
+            } else if (failure != null) {
+                throw new RuntimeException(failure);
+            }
+        }
+    }
+
+    /**
+     * Orders tasks by the descriptions of their children. Children that cannot
+     * describe themselves are moved to the end.
+     */
+    private static class TaskComparator implements Comparator<ChildTask> {
+        private final Comparator<Description> order;
+
+        TaskComparator(Comparator<Description> order) {
+            this.order = order;
+        }
+
+        public int compare(ChildTask o1, ChildTask o2) {
+            if (o1.description == null || o2.description == null) {
+                return (o1.description == null ? 1 : 0) - (o2.description == null ? 1 : 0);
+            }
+            return order.compare(o1.description, o2.description);
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package org.junit.experimental;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A fixed number of daemon worker threads that is shared by all the
+ * schedulers of one {@link ParallelComputer}. The threads are started when the
+ * first scheduler starts handing out work and are stopped as soon as the last
+ * active scheduler has finished, so an idle computer holds on to no threads.
+ */
+final class WorkerPool {
+    private final int parallelism;
+
+    private final Object lock = new Object();
+
+    // Guarded by lock
+    private int activeSchedulers = 0;
+
+    // Guarded by lock
+    private ExecutorService executor = null;
+
+    WorkerPool(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException(
+                    "parallelism must be positive but was " + parallelism);
+        }
+        this.parallelism = parallelism;
+    }
+
+    int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * Registers a scheduler that is about to hand out work, starting the
+     * worker threads if necessary.
+     */
+    void acquire() {
+        synchronized (lock) {
+            if (activeSchedulers++ == 0) {
+                executor = Executors.newFixedThreadPool(parallelism, new WorkerThreadFactory());
+            }
+        }
+    }
+
+    /**
+     * Unregisters a scheduler that has finished, stopping the worker threads
+     * if no other scheduler is active.
+     */
+    void release() {
+        synchronized (lock) {
+            if (--activeSchedulers == 0) {
+                executor.shutdown();
+                executor = null;
+            }
+        }
+    }
+
+    /**
+     * Queues {@code task} for execution by one of the worker threads. Must only
+     * be called between {@link #acquire()} and {@link #release()}.
+     */
+    void execute(Runnable task) {
+        synchronized (lock) {
+            executor.execute(task);
+        }
+    }
+
+    private static class WorkerThreadFactory implements ThreadFactory {
+        private static final AtomicInteger POOL_NUMBER = new AtomicInteger();
+
+        private final int poolNumber = POOL_NUMBER.incrementAndGet();
+
+        private final AtomicInteger threadNumber = new AtomicInteger();
+
+        public Thread newThread(Runnable r) {
+            Thread thread = new Thread(r, "ParallelComputer-" + poolNumber
+                    + "-worker-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
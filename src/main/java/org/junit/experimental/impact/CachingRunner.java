@@ -0,0 +1,364 @@
+package org.junit.experimental.impact;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.experimental.impact.ResultCache.Entry;
+import org.junit.runner.Description;
+import org.junit.runner.Runner;
+import org.junit.runner.manipulation.Filter;
+import org.junit.runner.manipulation.Filterable;
+import org.junit.runner.manipulation.NoTestsRemainException;
+import org.junit.runner.manipulation.Sortable;
+import org.junit.runner.manipulation.Sorter;
+import org.junit.runner.notification.Failure;
+import org.junit.runner.notification.RunListener;
+import org.junit.runner.notification.RunNotifier;
+
+/**
+ * Runs the tests of a runner, except for the test classes that are in a
+ * {@link ResultCache}. They are filtered out of the runner, which runs the
+ * other tests, and the events of their tests are reported at the place where
+ * the runner would have run them. If the runner is not {@link Filterable}, all
+ * tests are run. Test classes that pass are added to the cache.
+ */
+class CachingRunner extends Runner implements Filterable, Sortable {
+    private final Runner runner;
+
+    private final ResultCache cache;
+
+    CachingRunner(Runner runner, ResultCache cache) {
+        this.runner = runner;
+        this.cache = cache;
+    }
+
+    @Override
+    public Description getDescription() {
+        return runner.getDescription();
+    }
+
+    @Override
+    public int testCount() {
+        return runner.testCount();
+    }
+
+    public void filter(Filter filter) throws NoTestsRemainException {
+        filter.apply(runner);
+    }
+
+    public void sort(Sorter sorter) {
+        sorter.apply(runner);
+    }
+
+    @Override
+    public void run(RunNotifier notifier) {
+        Description description = getDescription();
+        Map<String, List<Description>> testClasses = new HashMap<String, List<Description>>();
+        addTests(description, testClasses);
+
+        ClassDependencies dependencies = cache.newClassDependencies();
+        Map<String, String> keys = new HashMap<String, String>();
+        Set<String> cachedClasses = new HashSet<String>();
+        Map<String, Entry> entries = new HashMap<String, Entry>();
+        for (Map.Entry<String, List<Description>> each : testClasses.entrySet()) {
+            String key = cache.keyOf(each.getKey(), dependencies);
+            if (key != null) {
+                keys.put(each.getKey(), key);
+                // Cached classes can only be skipped if they can be filtered out
+                Entry entry = runner instanceof Filterable ? cache.get(key) : null;
+                if (entry != null && covers(entry, each.getValue())) {
+                    cachedClasses.add(each.getKey());
+                    entries.put(each.getKey(), entry);
+                }
+            }
+        }
+
+        Replayer replayer = new Replayer(description, entries, notifier);
+        if (!cachedClasses.isEmpty() && !excludeCached(cachedClasses)) {
+            replayer.replayRemaining();
+            return;
+        }
+
+        ResultRecorder recorder = new ResultRecorder();
+        notifier.addListener(recorder);
+        // First, so the other listeners get the cached events before the
+        // event that follows them
+        notifier.addFirstListener(replayer);
+        try {
+            runner.run(notifier);
+        } finally {
+            notifier.removeListener(replayer);
+            notifier.removeListener(recorder);
+        }
+        replayer.replayRemaining();
+        recorder.store(testClasses, keys, cachedClasses);
+    }
+
+    private static void addTests(Description description,
+            Map<String, List<Description>> testClasses) {
+        if (description.isTest()) {
+            String className = description.getClassName();
+            List<Description> tests = testClasses.get(className);
+            if (tests == null) {
+                tests = new ArrayList<Description>();
+                testClasses.put(className, tests);
+            }
+            tests.add(description);
+        } else {
+            for (Description each : description.getChildren()) {
+                addTests(each, testClasses);
+            }
+        }
+    }
+
+    private static boolean covers(Entry entry, List<Description> tests) {
+        for (Description each : tests) {
+            String name = each.getDisplayName();
+            if (!entry.passed.contains(name) && !entry.ignored.contains(name)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Reports the events of the cached tests in {@code description}, with the
+     * events of the suites that only contain cached tests.
+     */
+    private static void replay(Description description, Map<String, Entry> entries,
+            RunNotifier notifier) {
+        if (description.isTest()) {
+            Entry entry = entries.get(description.getClassName());
+            if (entry == null) {
+                return;
+            }
+            if (entry.ignored.contains(description.getDisplayName())) {
+                notifier.fireTestIgnored(description);
+            } else {
+                notifier.fireTestStarted(description);
+                notifier.fireTestFinished(description);
+            }
+        } else if (onlyCachedTests(description, entries)) {
+            notifier.fireTestSuiteStarted(description);
+            for (Description each : description.getChildren()) {
+                replay(each, entries, notifier);
+            }
+            notifier.fireTestSuiteFinished(description);
+        } else {
+            for (Description each : description.getChildren()) {
+                replay(each, entries, notifier);
+            }
+        }
+    }
+
+    private static boolean onlyCachedTests(Description description, Map<String, Entry> entries) {
+        if (description.isTest()) {
+            return entries.containsKey(description.getClassName());
+        }
+        for (Description each : description.getChildren()) {
+            if (!onlyCachedTests(each, entries)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Filters the cached classes out of the runner. Returns whether any test
+     * remains to be run.
+     */
+    private boolean excludeCached(final Set<String> cachedClasses) {
+        try {
+            new Filter() {
+                @Override
+                public boolean shouldRun(Description description) {
+                    if (description.isTest()) {
+                        return !cachedClasses.contains(description.getClassName());
+                    }
+                    for (Description each : description.getChildren()) {
+                        if (shouldRun(each)) {
+                            return true;
+                        }
+                    }
+                    return false;
+                }
+
+                @Override
+                public String describe() {
+                    return "tests that are not cached";
+                }
+            }.apply(runner);
+            return true;
+        } catch (NoTestsRemainException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Reports the events of the cached tests while the other tests run. Each
+     * group of cached tests, which is a cached test or a suite of only cached
+     * tests, is reported before the run reaches the first test or suite that
+     * comes after it, or finishes the suite that contains it.
+     */
+    @RunListener.ThreadSafe
+    private static class Replayer extends RunListener {
+        private final Map<String, Entry> entries;
+
+        private final RunNotifier notifier;
+
+        // The positions of the descriptions in depth-first order, and the
+        // positions that follow the last of their descendants
+        private final Map<Description, Integer> starts = new HashMap<Description, Integer>();
+
+        private final Map<Description, Integer> ends = new HashMap<Description, Integer>();
+
+        private final List<Description> groups = new ArrayList<Description>();
+
+        private final List<Integer> groupStarts = new ArrayList<Integer>();
+
+        // Guarded by this
+        private int nextGroup = 0;
+
+        Replayer(Description description, Map<String, Entry> entries, RunNotifier notifier) {
+            this.entries = entries;
+            this.notifier = notifier;
+            addPositions(description, 0);
+        }
+
+        private int addPositions(Description description, int start) {
+            if (!starts.containsKey(description)) {
+                starts.put(description, start);
+            }
+            int end = start + 1;
+            if (description.testCount() > 0 && onlyCachedTests(description, entries)) {
+                groups.add(description);
+                groupStarts.add(start);
+            } else {
+                for (Description each : description.getChildren()) {
+                    end = addPositions(each, end);
+                }
+            }
+            if (!ends.containsKey(description)) {
+                ends.put(description, end);
+            }
+            return end;
+        }
+
+        @Override
+        public void testSuiteStarted(Description description) {
+            replayBefore(starts.get(description));
+        }
+
+        @Override
+        public void testStarted(Description description) {
+            replayBefore(starts.get(description));
+        }
+
+        @Override
+        public void testIgnored(Description description) {
+            replayBefore(starts.get(description));
+        }
+
+        @Override
+        public void testSuiteFinished(Description description) {
+            replayBefore(ends.get(description));
+        }
+
+        void replayRemaining() {
+            replayBefore(Integer.MAX_VALUE);
+        }
+
+        private synchronized void replayBefore(Integer position) {
+            if (position == null) {
+                // Not a description of the runner
+                return;
+            }
+            while (nextGroup < groups.size() && groupStarts.get(nextGroup) < position
+                    && !notifier.isStopRequested()) {
+                // The replayed events come back to this listener, so the
+                // group is taken before it is replayed
+                Description group = groups.get(nextGroup++);
+                replay(group, entries, notifier);
+            }
+        }
+    }
+
+    @RunListener.ThreadSafe
+    private class ResultRecorder extends RunListener {
+        // All guarded by this
+        private final Map<String, Set<String>> passed = new HashMap<String, Set<String>>();
+
+        private final Map<String, Set<String>> ignored = new HashMap<String, Set<String>>();
+
+        private final Set<String> failed = new HashSet<String>();
+
+        private final Set<String> failedClasses = new HashSet<String>();
+
+        @Override
+        public synchronized void testFinished(Description description) {
+            if (!failed.contains(description.getDisplayName())) {
+                testsOf(passed, description.getClassName()).add(description.getDisplayName());
+            }
+        }
+
+        @Override
+        public synchronized void testIgnored(Description description) {
+            testsOf(ignored, description.getClassName()).add(description.getDisplayName());
+        }
+
+        @Override
+        public synchronized void testFailure(Failure failure) {
+            notPassed(failure.getDescription());
+        }
+
+        @Override
+        public synchronized void testAssumptionFailure(Failure failure) {
+            notPassed(failure.getDescription());
+        }
+
+        private void notPassed(Description description) {
+            failed.add(description.getDisplayName());
+            failedClasses.add(description.getClassName());
+        }
+
+        private Set<String> testsOf(Map<String, Set<String>> tests, String testClassName) {
+            Set<String> result = tests.get(testClassName);
+            if (result == null) {
+                result = new HashSet<String>();
+                tests.put(testClassName, result);
+            }
+            return result;
+        }
+
+        synchronized void store(Map<String, List<Description>> testClasses,
+                Map<String, String> keys, Set<String> cachedClasses) {
+            boolean stored = false;
+            for (Map.Entry<String, List<Description>> each : testClasses.entrySet()) {
+                String testClassName = each.getKey();
+                String key = keys.get(testClassName);
+                if (key == null || cachedClasses.contains(testClassName)
+                        || failedClasses.contains(testClassName)) {
+                    continue;
+                }
+                Entry entry = new Entry(testsOf(passed, testClassName),
+                        testsOf(ignored, testClassName));
+                if (covers(entry, each.getValue())) {
+                    try {
+                        cache.put(key, entry);
+                        stored = true;
+                    } catch (IOException e) {
+                        // The class is run again next time
+                    }
+                }
+            }
+            if (stored) {
+                cache.evict();
+            }
+        }
+    }
+}
@@ -0,0 +1,250 @@
+package org.junit.experimental.impact;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Finds the class files a class depends on and the hashes of their contents.
+ *
+ * <p>The dependencies of a class are the classes that are named in the
+ * constant pool of its class file, such as the classes whose members it uses,
+ * and the types in its field and method descriptors, signatures and
+ * annotations. These are the classes it can load without reflection.
+ * Dependencies are followed transitively, but classes of the Java platform are
+ * left out.
+ *
+ * <p>Class files are read and parsed at most once per instance.
+ */
+class ClassDependencies {
+    private static final String[] PLATFORM_PACKAGES = {
+            "java/", "javax/", "sun/", "com/sun/", "jdk/"};
+
+    private final ClassLoader classLoader;
+
+    // Guarded by this; contains null for classes without a class file
+    private final Map<String, ClassFile> classFiles = new HashMap<String, ClassFile>();
+
+    ClassDependencies(ClassLoader classLoader) {
+        this.classLoader = classLoader;
+    }
+
+    /**
+     * Returns the hashes of the class file of {@code className} and of the
+     * class files of all classes it depends on, by class name. The hash of a
+     * class file that cannot be read is {@code null}.
+     */
+    synchronized Map<String, String> dependencyHashes(String className) {
+        Map<String, String> hashes = new TreeMap<String, String>();
+        List<String> queue = new ArrayList<String>();
+        queue.add(internalName(className));
+        while (!queue.isEmpty()) {
+            String name = queue.remove(queue.size() - 1);
+            String externalName = name.replace('/', '.');
+            if (hashes.containsKey(externalName)) {
+                continue;
+            }
+            ClassFile classFile = classFile(name);
+            if (classFile != null) {
+                hashes.put(externalName, classFile.hash);
+                queue.addAll(classFile.references);
+            }
+        }
+        return hashes;
+    }
+
+    /**
+     * Returns the hash of the class file of {@code className}, or {@code null}
+     * if there is no such class file or it cannot be read.
+     */
+    synchronized String hashOf(String className) {
+        ClassFile classFile = classFile(internalName(className));
+        return classFile == null ? null : classFile.hash;
+    }
+
+    private static String internalName(String className) {
+        return className.replace('.', '/');
+    }
+
+    private ClassFile classFile(String internalName) {
+        if (classFiles.containsKey(internalName)) {
+            return classFiles.get(internalName);
+        }
+        ClassFile classFile = isPlatformClass(internalName) ? null : readClassFile(internalName);
+        classFiles.put(internalName, classFile);
+        return classFile;
+    }
+
+    private static boolean isPlatformClass(String internalName) {
+        for (String each : PLATFORM_PACKAGES) {
+            if (internalName.startsWith(each)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private ClassFile readClassFile(String internalName) {
+        InputStream stream = classLoader.getResourceAsStream(internalName + ".class");
+        if (stream == null) {
+            return null;
+        }
+        try {
+            try {
+                byte[] bytes = readFully(stream);
+                return new ClassFile(hash(bytes), references(bytes));
+            } finally {
+                stream.close();
+            }
+        } catch (IOException e) {
+            // Without a hash, the tests that depend on the class file are
+            // always affected
+            return new ClassFile(null, new LinkedHashSet<String>());
+        }
+    }
+
+    private static byte[] readFully(InputStream stream) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        byte[] buffer = new byte[8192];
+        int read;
+        while ((read = stream.read(buffer)) != -1) {
+            bytes.write(buffer, 0, read);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static String hash(byte[] bytes) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-1");
+        } catch (NoSuchAlgorithmException e) {
+            // Every Java platform is required to support SHA-1
+            throw new IllegalStateException(e);
+        }
+        StringBuilder hex = new StringBuilder();
+        for (byte each : digest.digest(bytes)) {
+            hex.append(Character.forDigit((each >> 4) & 0xf, 16));
+            hex.append(Character.forDigit(each & 0xf, 16));
+        }
+        return hex.toString();
+    }
+
+    /**
+     * Returns the internal names of the classes that are named in the
+     * constant pool of the class file {@code bytes}.
+     */
+    static Set<String> references(byte[] bytes) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes));
+        if (in.readInt() != 0xCAFEBABE) {
+            throw new IOException("Not a class file");
+        }
+        in.readUnsignedShort(); // minor version
+        in.readUnsignedShort(); // major version
+        int count = in.readUnsignedShort();
+        Set<String> references = new LinkedHashSet<String>();
+        List<Integer> classNameIndexes = new ArrayList<Integer>();
+        String[] utf8 = new String[count];
+        for (int i = 1; i < count; i++) {
+            int tag = in.readUnsignedByte();
+            switch (tag) {
+                case 1: // Utf8
+                    utf8[i] = in.readUTF();
+                    break;
+                case 7: // Class
+                    classNameIndexes.add(in.readUnsignedShort());
+                    break;
+                case 8: // String
+                case 16: // MethodType
+                case 19: // Module
+                case 20: // Package
+                    in.readUnsignedShort();
+                    break;
+                case 15: // MethodHandle
+                    in.readUnsignedByte();
+                    in.readUnsignedShort();
+                    break;
+                case 3: // Integer
+                case 4: // Float
+                case 9: // Fieldref
+                case 10: // Methodref
+                case 11: // InterfaceMethodref
+                case 12: // NameAndType
+                case 17: // Dynamic
+                case 18: // InvokeDynamic
+                    in.readInt();
+                    break;
+                case 5: // Long
+                case 6: // Double
+                    in.readLong();
+                    i++; // takes two entries
+                    break;
+                default:
+                    throw new IOException("Unknown constant pool tag " + tag);
+            }
+        }
+        for (int each : classNameIndexes) {
+            String name = utf8[each];
+            if (name != null) {
+                addClassName(name, references);
+            }
+        }
+        // Descriptors and signatures of fields, methods and annotations only
+        // name their types in the form Lname;
+        for (String each : utf8) {
+            if (each != null) {
+                addDescriptorTypes(each, references);
+            }
+        }
+        return references;
+    }
+
+    private static void addClassName(String name, Set<String> references) {
+        if (name.startsWith("[")) {
+            addDescriptorTypes(name, references);
+        } else {
+            references.add(name);
+        }
+    }
+
+    private static void addDescriptorTypes(String value, Set<String> references) {
+        int start = value.indexOf('L');
+        while (start != -1) {
+            int end = start + 1;
+            while (end < value.length() && isNameChar(value.charAt(end))) {
+                end++;
+            }
+            if (end > start + 1 && end < value.length() && value.charAt(end) == ';') {
+                references.add(value.substring(start + 1, end));
+                start = value.indexOf('L', end);
+            } else {
+                start = value.indexOf('L', start + 1);
+            }
+        }
+    }
+
+    private static boolean isNameChar(char c) {
+        return c == '/' || Character.isJavaIdentifierPart(c);
+    }
+
+    private static class ClassFile {
+        final String hash;
+
+        final Set<String> references;
+
+        ClassFile(String hash, Set<String> references) {
+            this.hash = hash;
+            this.references = references;
+        }
+    }
+}
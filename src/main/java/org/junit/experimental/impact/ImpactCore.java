@@ -0,0 +1,116 @@
+package org.junit.experimental.impact;
+
+import java.io.File;
+
+import org.junit.runner.Description;
+import org.junit.runner.JUnitCore;
+import org.junit.runner.Request;
+import org.junit.runner.Result;
+import org.junit.runner.Runner;
+import org.junit.runner.manipulation.Filter;
+import org.junit.runner.manipulation.NoTestsRemainException;
+import org.junit.runner.notification.RunNotifier;
+
+/**
+ * A replacement for JUnitCore, which only runs the tests that are affected by
+ * the class files that changed since they last passed, and records the
+ * dependencies of the test classes it runs for the next run. See
+ * {@link ImpactHistory} for which tests are affected.
+ *
+ * <p>Dependencies are found in the class files, so a test class that only
+ * uses a class by reflection or by name, for example through a
+ * {@code ServiceLoader}, is not affected by changes to that class.
+ *
+ * @since 4.13
+ */
+public class ImpactCore {
+    /**
+     * Create a new ImpactCore from a serialized file stored at storedResults
+     */
+    public static ImpactCore storedLocally(File storedResults) {
+        return new ImpactCore(storedResults);
+    }
+
+    private final ImpactHistory history;
+
+    private ImpactCore(File storedResults) {
+        history = ImpactHistory.forFile(storedResults);
+    }
+
+    /**
+     * Run the tests in <code>class</code> that are affected by changes.
+     *
+     * @return a {@link Result} describing the details of the test run and the failed tests.
+     */
+    public Result run(Class<?> testClass) {
+        return run(Request.aClass(testClass));
+    }
+
+    /**
+     * Run the tests contained in <code>request</code> that are affected by changes.
+     *
+     * @param request the request describing tests
+     * @return a {@link Result} describing the details of the test run and the failed tests.
+     */
+    public Result run(Request request) {
+        return run(request, new JUnitCore());
+    }
+
+    /**
+     * Run the tests contained in <code>request</code> that are affected by changes.
+     *
+     * This variant should be used if {@code core} has attached listeners that this
+     * run should notify.
+     *
+     * @param request the request describing tests
+     * @param core a JUnitCore to delegate to.
+     * @return a {@link Result} describing the details of the test run and the failed tests.
+     */
+    public Result run(Request request, JUnitCore core) {
+        core.addListener(history.listener());
+        return core.run(affectedTests(request));
+    }
+
+    /**
+     * @return a new Request, which only contains the tests of {@code request}
+     * that are affected by changes. Unlike {@link Request#filterWith(Filter)},
+     * the new Request runs no tests rather than failing if no test is affected.
+     */
+    public Request affectedTests(final Request request) {
+        final Filter filter = history.affectedTests();
+        return new Request() {
+            @Override
+            public Runner getRunner() {
+                Runner runner = request.getRunner();
+                try {
+                    filter.apply(runner);
+                    return runner;
+                } catch (NoTestsRemainException e) {
+                    return new NoAffectedTests(runner.getDescription().childlessCopy());
+                }
+            }
+        };
+    }
+
+    private static class NoAffectedTests extends Runner {
+        private final Description description;
+
+        NoAffectedTests(Description description) {
+            this.description = description;
+        }
+
+        @Override
+        public Description getDescription() {
+            return description;
+        }
+
+        @Override
+        public int testCount() {
+            return 0;
+        }
+
+        @Override
+        public void run(RunNotifier notifier) {
+        }
+    }
+}
@@ -0,0 +1,258 @@
+package org.junit.experimental.impact;
+
+import static java.lang.Thread.currentThread;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.experimental.max.CouldNotReadCoreException;
+import org.junit.runner.Description;
+import org.junit.runner.Result;
+import org.junit.runner.manipulation.Filter;
+import org.junit.runner.notification.Failure;
+import org.junit.runner.notification.RunListener;
+
+/**
+ * Stores, for each test class, the hashes of the class files it depends on
+ * and the tests that passed against them.
+ *
+ * <p>A test is affected by the changes since it last passed if it never
+ * passed, or if the class file of its test class or of a class that the test
+ * class depends on has changed, has been removed or cannot be read. The
+ * dependencies of a test class are the classes that are named in its class
+ * file and, transitively, in their class files; see {@link #listener()}.
+ *
+ * @since 4.13
+ */
+public class ImpactHistory implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Loads an {@link ImpactHistory} from {@code file}, or generates a new one
+     * that will be saved to {@code file}.
+     */
+    public static ImpactHistory forFile(File file) {
+        if (file.exists()) {
+            try {
+                return readHistory(file);
+            } catch (CouldNotReadCoreException e) {
+                e.printStackTrace();
+                file.delete();
+            }
+        }
+        return new ImpactHistory(file);
+    }
+
+    private static ImpactHistory readHistory(File storedResults)
+            throws CouldNotReadCoreException {
+        try {
+            FileInputStream file = new FileInputStream(storedResults);
+            try {
+                ObjectInputStream stream = new ObjectInputStream(file);
+                try {
+                    return (ImpactHistory) stream.readObject();
+                } finally {
+                    stream.close();
+                }
+            } finally {
+                file.close();
+            }
+        } catch (Exception e) {
+            throw new CouldNotReadCoreException(e);
+        }
+    }
+
+    private final Map<String, Map<String, String>> dependencyHashes
+            = new HashMap<String, Map<String, String>>();
+
+    private final Map<String, Set<String>> passedTests = new HashMap<String, Set<String>>();
+
+    private final File historyStore;
+
+    private ImpactHistory(File storedResults) {
+        historyStore = storedResults;
+    }
+
+    private synchronized void save() throws IOException {
+        ObjectOutputStream stream = new ObjectOutputStream(new FileOutputStream(
+                historyStore));
+        stream.writeObject(this);
+        stream.close();
+    }
+
+    private synchronized Map<String, String> getDependencyHashes(String testClassName) {
+        return dependencyHashes.get(testClassName);
+    }
+
+    private synchronized boolean hasPassed(Description test) {
+        Set<String> passed = passedTests.get(test.getClassName());
+        return passed != null && passed.contains(test.getDisplayName());
+    }
+
+    private synchronized void putTestClassResults(String testClassName,
+            Map<String, String> hashes, Set<String> passed, Set<String> failed) {
+        Set<String> previouslyPassed = passedTests.get(testClassName);
+        if (previouslyPassed == null || !hashes.equals(dependencyHashes.get(testClassName))) {
+            // Tests that passed against other class files may fail against these
+            previouslyPassed = new HashSet<String>();
+            passedTests.put(testClassName, previouslyPassed);
+        }
+        previouslyPassed.removeAll(failed);
+        previouslyPassed.addAll(passed);
+        dependencyHashes.put(testClassName, hashes);
+    }
+
+    private synchronized void removeTestClass(String testClassName) {
+        dependencyHashes.remove(testClassName);
+        passedTests.remove(testClassName);
+    }
+
+    /**
+     * @return a listener that records the dependencies of the test classes
+     * that run and which of their tests pass, and saves this history when the
+     * run has finished. The class files are read with the context class loader
+     * of the thread that finishes the run.
+     */
+    public RunListener listener() {
+        return new RememberingListener();
+    }
+
+    /**
+     * @return a filter that is only passed by the tests that are affected by
+     * the changes since they last passed. The class files are read with the
+     * context class loader of the thread that creates the filter.
+     */
+    public Filter affectedTests() {
+        return new AffectedTests(new ClassDependencies(classLoader()));
+    }
+
+    private static ClassLoader classLoader() {
+        ClassLoader classLoader = currentThread().getContextClassLoader();
+        return classLoader == null ? ImpactHistory.class.getClassLoader() : classLoader;
+    }
+
+    @RunListener.ThreadSafe
+    private final class RememberingListener extends RunListener {
+        // All guarded by this
+        private final Map<String, Set<String>> passed = new HashMap<String, Set<String>>();
+
+        private final Map<String, Set<String>> failed = new HashMap<String, Set<String>>();
+
+        private final Set<String> failedClasses = new HashSet<String>();
+
+        @Override
+        public synchronized void testFinished(Description description) {
+            String testClassName = description.getClassName();
+            if (!testsOf(failed, testClassName).contains(description.getDisplayName())) {
+                testsOf(passed, testClassName).add(description.getDisplayName());
+            }
+        }
+
+        @Override
+        public synchronized void testFailure(Failure failure) {
+            notPassed(failure.getDescription());
+        }
+
+        @Override
+        public synchronized void testAssumptionFailure(Failure failure) {
+            notPassed(failure.getDescription());
+        }
+
+        private void notPassed(Description description) {
+            String testClassName = description.getClassName();
+            if (description.isTest() && description.getMethodName() != null) {
+                testsOf(failed, testClassName).add(description.getDisplayName());
+                testsOf(passed, testClassName).remove(description.getDisplayName());
+            } else {
+                // For example a failing @BeforeClass method
+                failedClasses.add(testClassName);
+            }
+        }
+
+        private Set<String> testsOf(Map<String, Set<String>> tests, String testClassName) {
+            Set<String> result = tests.get(testClassName);
+            if (result == null) {
+                result = new HashSet<String>();
+                tests.put(testClassName, result);
+            }
+            return result;
+        }
+
+        @Override
+        public synchronized void testRunFinished(Result result) throws Exception {
+            ClassDependencies dependencies = new ClassDependencies(classLoader());
+            Set<String> testClassNames = new HashSet<String>(passed.keySet());
+            testClassNames.addAll(failed.keySet());
+            testClassNames.removeAll(failedClasses);
+            for (String each : testClassNames) {
+                putTestClassResults(each, dependencies.dependencyHashes(each),
+                        testsOf(passed, each), testsOf(failed, each));
+            }
+            for (String each : failedClasses) {
+                removeTestClass(each);
+            }
+            save();
+        }
+    }
+
+    private final class AffectedTests extends Filter {
+        private final ClassDependencies dependencies;
+
+        private final Map<String, Boolean> changedTestClasses = new HashMap<String, Boolean>();
+
+        AffectedTests(ClassDependencies dependencies) {
+            this.dependencies = dependencies;
+        }
+
+        @Override
+        public boolean shouldRun(Description description) {
+            if (description.isTest()) {
+                return !hasPassed(description) || hasChanged(description.getClassName());
+            }
+            for (Description each : description.getChildren()) {
+                if (shouldRun(each)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private synchronized boolean hasChanged(String testClassName) {
+            Boolean result = changedTestClasses.get(testClassName);
+            if (result == null) {
+                result = computeHasChanged(testClassName);
+                changedTestClasses.put(testClassName, result);
+            }
+            return result;
+        }
+
+        private boolean computeHasChanged(String testClassName) {
+            Map<String, String> hashes = getDependencyHashes(testClassName);
+            if (hashes == null || !hashes.containsKey(testClassName)) {
+                // Without its own class file nothing is known about a class
+                return true;
+            }
+            for (Map.Entry<String, String> each : hashes.entrySet()) {
+                String hash = dependencies.hashOf(each.getKey());
+                if (hash == null || !hash.equals(each.getValue())) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public String describe() {
+            return "tests affected by changed classes";
+        }
+    }
+}
@@ -0,0 +1,258 @@
+package org.junit.experimental.impact;
+
+import static java.lang.Thread.currentThread;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.io.UnsupportedEncodingException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.runner.Request;
+import org.junit.runner.Runner;
+
+/**
+ * A local cache of the results of test classes that passed.
+ *
+ * <p>A test class is cached under a key that is computed from the hashes of
+ * the class files it depends on (see {@link ImpactHistory}) and the values of
+ * some system properties. If a test class passed under the same key before,
+ * a runner created by {@link #cached(Runner)} reports the events of its tests
+ * again instead of running them. Test classes with failures or violated
+ * assumptions are never cached.
+ *
+ * <p>Each entry is stored in a file of its own in the cache directory. When
+ * the files take more than the given number of bytes, the least recently used
+ * entries are deleted.
+ *
+ * <p>If the system property {@code junit.noCache} is {@code true}, for example
+ * by passing {@code -Djunit.noCache=true}, all tests are run and the cache is
+ * neither read nor written.
+ *
+ * Usage from API:
+ * <code>
+ *     ResultCache cache = ResultCache.inDirectory(new File("build/test-cache"), 50000000);
+ *     new JUnitCore().run(cache.cached(Request.classes(classes)));
+ * </code>
+ *
+ * @since 4.13
+ */
+public final class ResultCache {
+    /**
+     * The system property that disables all caches if it is {@code true}.
+     */
+    public static final String NO_CACHE_PROPERTY = "junit.noCache";
+
+    private static final List<String> DEFAULT_SYSTEM_PROPERTIES = Arrays.asList(
+            "java.version", "java.vendor", "os.name", "os.arch", "file.encoding");
+
+    private static final String ENTRY_SUFFIX = ".result";
+
+    /**
+     * Creates a cache that stores its entries in {@code directory}.
+     *
+     * @param directory the directory of the entries, created if necessary
+     * @param maxBytes the number of bytes the entries may take
+     * @param systemPropertyNames system properties that the results depend
+     * on, in addition to the Java version and vendor, the operating system
+     * and architecture, and the default encoding
+     */
+    public static ResultCache inDirectory(File directory, long maxBytes,
+            String... systemPropertyNames) {
+        if (maxBytes <= 0) {
+            throw new IllegalArgumentException("maxBytes must be positive but was " + maxBytes);
+        }
+        List<String> names = new ArrayList<String>(DEFAULT_SYSTEM_PROPERTIES);
+        names.addAll(Arrays.asList(systemPropertyNames));
+        return new ResultCache(directory, maxBytes, names);
+    }
+
+    private final File directory;
+
+    private final long maxBytes;
+
+    private final List<String> systemPropertyNames;
+
+    private ResultCache(File directory, long maxBytes, List<String> systemPropertyNames) {
+        this.directory = directory;
+        this.maxBytes = maxBytes;
+        this.systemPropertyNames = systemPropertyNames;
+    }
+
+    /**
+     * @return a runner that runs the tests of {@code runner}, but reports the
+     * test classes that passed before under the same key from this cache
+     */
+    public Runner cached(Runner runner) {
+        if (Boolean.getBoolean(NO_CACHE_PROPERTY)) {
+            return runner;
+        }
+        return new CachingRunner(runner, this);
+    }
+
+    /**
+     * @return a new Request, whose runner is {@link #cached(Runner) cached}
+     */
+    public Request cached(final Request request) {
+        return new Request() {
+            @Override
+            public Runner getRunner() {
+                return cached(request.getRunner());
+            }
+        };
+    }
+
+    ClassDependencies newClassDependencies() {
+        ClassLoader classLoader = currentThread().getContextClassLoader();
+        return new ClassDependencies(
+                classLoader == null ? ResultCache.class.getClassLoader() : classLoader);
+    }
+
+    /**
+     * Returns the key of {@code testClassName}, or {@code null} if it cannot
+     * be cached because a class file it depends on cannot be read.
+     */
+    String keyOf(String testClassName, ClassDependencies dependencies) {
+        Map<String, String> hashes = dependencies.dependencyHashes(testClassName);
+        if (!hashes.containsKey(testClassName) || hashes.containsValue(null)) {
+            return null;
+        }
+        StringBuilder key = new StringBuilder(testClassName).append('\n');
+        for (Map.Entry<String, String> each : hashes.entrySet()) {
+            key.append(each.getKey()).append('=').append(each.getValue()).append('\n');
+        }
+        for (String each : systemPropertyNames) {
+            key.append(each).append('=').append(System.getProperty(each)).append('\n');
+        }
+        return hash(key.toString());
+    }
+
+    private static String hash(String value) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-1").digest(value.getBytes("UTF-8"));
+            StringBuilder hex = new StringBuilder();
+            for (byte each : digest) {
+                hex.append(Character.forDigit((each >> 4) & 0xf, 16));
+                hex.append(Character.forDigit(each & 0xf, 16));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            // Every Java platform is required to support SHA-1 and UTF-8
+            throw new IllegalStateException(e);
+        } catch (UnsupportedEncodingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Returns the entry stored under {@code key}, or {@code null} if there is
+     * none, and marks it as recently used.
+     */
+    Entry get(String key) {
+        File file = new File(directory, key + ENTRY_SUFFIX);
+        if (!file.exists()) {
+            return null;
+        }
+        try {
+            FileInputStream stream = new FileInputStream(file);
+            try {
+                Entry entry = (Entry) new ObjectInputStream(stream).readObject();
+                file.setLastModified(System.currentTimeMillis());
+                return entry;
+            } finally {
+                stream.close();
+            }
+        } catch (Exception e) {
+            // A damaged entry is dropped, so that the tests run again
+            file.delete();
+            return null;
+        }
+    }
+
+    void put(String key, Entry entry) throws IOException {
+        directory.mkdirs();
+        // Written under a name of its own, so that concurrent runs never read
+        // a partly written entry
+        File temporary = File.createTempFile(key, ".tmp", directory);
+        try {
+            ObjectOutputStream stream = new ObjectOutputStream(new FileOutputStream(temporary));
+            try {
+                stream.writeObject(entry);
+            } finally {
+                stream.close();
+            }
+            File file = new File(directory, key + ENTRY_SUFFIX);
+            file.delete();
+            if (!temporary.renameTo(file)) {
+                throw new IOException("Could not store " + file);
+            }
+        } finally {
+            temporary.delete();
+        }
+    }
+
+    /**
+     * Deletes the least recently used entries until the entries take at most
+     * the maximum number of bytes.
+     */
+    void evict() {
+        File[] files = directory.listFiles();
+        if (files == null) {
+            return;
+        }
+        List<File> entries = new ArrayList<File>();
+        long total = 0;
+        for (File each : files) {
+            if (each.getName().endsWith(ENTRY_SUFFIX)) {
+                entries.add(each);
+                total += each.length();
+            }
+        }
+        Collections.sort(entries, new LeastRecentlyUsedFirst());
+        for (File each : entries) {
+            if (total <= maxBytes) {
+                return;
+            }
+            long length = each.length();
+            if (each.delete()) {
+                total -= length;
+            }
+        }
+    }
+
+    private static class LeastRecentlyUsedFirst implements Comparator<File> {
+        public int compare(File o1, File o2) {
+            long lastModified1 = o1.lastModified();
+            long lastModified2 = o2.lastModified();
+            return lastModified1 < lastModified2 ? -1 : (lastModified1 == lastModified2 ? 0 : 1);
+        }
+    }
+
+    /**
+     * The tests of a test class that passed or were ignored, by display name.
+     */
+    static class Entry implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        final Set<String> passed;
+
+        final Set<String> ignored;
+
+        Entry(Set<String> passed, Set<String> ignored) {
+            this.passed = passed;
+            this.ignored = ignored;
+        }
+    }
+}
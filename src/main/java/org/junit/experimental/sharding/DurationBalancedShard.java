@@ -0,0 +1,156 @@
+package org.junit.experimental.sharding;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.junit.experimental.max.MaxHistory;
+import org.junit.runner.Description;
+import org.junit.runner.manipulation.Filter;
+
+/**
+ * Selects the test classes of one shard of a plan that gives each shard about
+ * the same expected duration. The plan is computed from the tests of a suite
+ * and the durations recorded in a {@link MaxHistory}, so every shard computes
+ * the same plan from the same suite and history.
+ *
+ * <p>Classes are assigned longest first, each to the shard with the least
+ * expected duration so far. Classes without any recorded duration are
+ * assigned by {@link ShardFilter#shardOf(String, int) hash} instead; they
+ * count with the mean recorded test duration.
+ */
+class DurationBalancedShard extends Filter {
+    private final int shard;
+
+    private final int shards;
+
+    private final Map<String, Integer> plan;
+
+    DurationBalancedShard(MaxHistory history, Description suite, int shard, int shards) {
+        ShardFilter.validate(shard, shards);
+        this.shard = shard;
+        this.shards = shards;
+        plan = plan(history, suite, shards);
+    }
+
+    private static Map<String, Integer> plan(MaxHistory history, Description suite, int shards) {
+        // Sorted by name, so that equal durations are assigned in a fixed order
+        Map<String, List<Description>> classes = new TreeMap<String, List<Description>>();
+        addTests(suite, classes);
+
+        Map<String, Long> knownDurations = new HashMap<String, Long>();
+        long knownTests = 0;
+        long knownTotal = 0;
+        for (Map.Entry<String, List<Description>> each : classes.entrySet()) {
+            long duration = 0;
+            boolean known = false;
+            for (Description test : each.getValue()) {
+                Long recorded = history.getRecordedDuration(test);
+                if (recorded != null) {
+                    known = true;
+                    duration += recorded;
+                    knownTests++;
+                    knownTotal += recorded;
+                }
+            }
+            if (known) {
+                knownDurations.put(each.getKey(), duration);
+            }
+        }
+        long meanDuration = knownTests == 0 ? 0 : knownTotal / knownTests;
+
+        Map<String, Integer> plan = new HashMap<String, Integer>();
+        long[] loads = new long[shards];
+        List<String> known = new ArrayList<String>();
+        for (Map.Entry<String, List<Description>> each : classes.entrySet()) {
+            String className = each.getKey();
+            if (knownDurations.containsKey(className)) {
+                // Unknown tests of a known class count with the mean duration
+                int unknownTests = 0;
+                for (Description test : each.getValue()) {
+                    if (history.getRecordedDuration(test) == null) {
+                        unknownTests++;
+                    }
+                }
+                knownDurations.put(className,
+                        knownDurations.get(className) + unknownTests * meanDuration);
+                known.add(className);
+            } else {
+                int assigned = ShardFilter.shardOf(className, shards);
+                plan.put(className, assigned);
+                loads[assigned - 1] += each.getValue().size() * meanDuration;
+            }
+        }
+
+        Collections.sort(known, new LongestFirst(knownDurations));
+        for (String each : known) {
+            int lightest = 0;
+            for (int i = 1; i < shards; i++) {
+                if (loads[i] < loads[lightest]) {
+                    lightest = i;
+                }
+            }
+            loads[lightest] += knownDurations.get(each);
+            plan.put(each, lightest + 1);
+        }
+        return plan;
+    }
+
+    private static void addTests(Description description,
+            Map<String, List<Description>> classes) {
+        if (description.isTest()) {
+            String className = description.getClassName();
+            List<Description> tests = classes.get(className);
+            if (tests == null) {
+                tests = new ArrayList<Description>();
+                classes.put(className, tests);
+            }
+            tests.add(description);
+        } else {
+            for (Description each : description.getChildren()) {
+                addTests(each, classes);
+            }
+        }
+    }
+
+    @Override
+    public boolean shouldRun(Description description) {
+        if (description.isTest()) {
+            String className = description.getClassName();
+            Integer assigned = plan.get(className);
+            if (assigned == null) {
+                // Not part of the suite the plan was computed for
+                assigned = ShardFilter.shardOf(className, shards);
+            }
+            return assigned == shard;
+        }
+        for (Description each : description.getChildren()) {
+            if (shouldRun(each)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public String describe() {
+        return "classes of duration-balanced shard " + shard + " of " + shards;
+    }
+
+    private static class LongestFirst implements Comparator<String> {
+        private final Map<String, Long> durations;
+
+        LongestFirst(Map<String, Long> durations) {
+            this.durations = durations;
+        }
+
+        public int compare(String o1, String o2) {
+            int result = durations.get(o2).compareTo(durations.get(o1));
+            return result != 0 ? result : o1.compareTo(o2);
+        }
+    }
+}
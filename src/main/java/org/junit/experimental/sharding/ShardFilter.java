@@ -0,0 +1,215 @@
+package org.junit.experimental.sharding;
+
+import java.io.File;
+
+import org.junit.experimental.max.MaxHistory;
+import org.junit.runner.Description;
+import org.junit.runner.FilterFactory;
+import org.junit.runner.FilterFactoryParams;
+import org.junit.runner.manipulation.Filter;
+
+/**
+ * {@link FilterFactory} to split a test run into shards, for example to spread
+ * a suite across several CI nodes.
+ *
+ * The {@link Filter} that is created assigns each test to one of the shards
+ * by a hash of its class and method name and is only passed by the tests of
+ * the selected shard. The assignment does not depend on the JVM or on the
+ * other tests in the run, so the nodes get disjoint subsets that together
+ * cover the whole suite without any coordination. Shards are numbered from
+ * {@code 1}.
+ *
+ * If the argument ends with {@code ,classes}, whole test classes are assigned
+ * to shards instead of single tests. The class fixtures, such as
+ * {@code @BeforeClass} methods, then only run on the shard that runs the
+ * class.
+ *
+ * Hashing gives each shard about the same number of tests, but not the same
+ * duration. If the argument ends with {@code ,history=file}, whole classes are
+ * instead assigned so that each shard gets about the same expected duration,
+ * based on the durations recorded in the {@link MaxHistory} stored in
+ * {@code file}. Classes without recorded durations are still assigned by hash.
+ *
+ * Usage from command line:
+ * <code>
+ *     --filter=org.junit.experimental.sharding.ShardFilter=3/12
+ *     --filter=org.junit.experimental.sharding.ShardFilter=3/12,classes
+ *     --filter=org.junit.experimental.sharding.ShardFilter=3/12,history=build/max.ser
+ * </code>
+ *
+ * Usage from API:
+ * <code>
+ *     ShardFilter.forShard(3, 12);
+ *     ShardFilter.forShardOfClasses(3, 12);
+ *     ShardFilter.forDurationBalancedShard(history, suite, 3, 12);
+ * </code>
+ *
+ * @since 4.13
+ */
+public final class ShardFilter implements FilterFactory {
+    private static final String CLASSES = "classes";
+
+    private static final String METHODS = "methods";
+
+    private static final String HISTORY = "history=";
+
+    /**
+     * Creates a {@link Filter} given a {@link FilterFactoryParams} argument of
+     * the form {@code shard/shards}, optionally followed by {@code ,classes},
+     * {@code ,methods} or {@code ,history=file}.
+     *
+     * @param params Parameters needed to create the {@link Filter}
+     */
+    public Filter createFilter(FilterFactoryParams params) throws FilterNotCreatedException {
+        try {
+            return parse(params.getArgs(), params.getTopLevelDescription());
+        } catch (IllegalArgumentException e) {
+            throw new FilterNotCreatedException(e);
+        }
+    }
+
+    private static Filter parse(String args, Description suite) {
+        String[] parts = args.trim().split("\\s*,\\s*", 2);
+        String[] shard = parts[0].split("/");
+        if (shard.length != 2) {
+            throw new IllegalArgumentException(
+                    "Shard must be given as shard/shards but was: " + parts[0]);
+        }
+        int index = parseInt(shard[0]);
+        int count = parseInt(shard[1]);
+        if (parts.length == 1 || METHODS.equals(parts[1])) {
+            return forShard(index, count);
+        } else if (CLASSES.equals(parts[1])) {
+            return forShardOfClasses(index, count);
+        } else if (parts[1].startsWith(HISTORY)) {
+            File file = new File(parts[1].substring(HISTORY.length()));
+            return forDurationBalancedShard(MaxHistory.forFolder(file), suite, index, count);
+        } else {
+            throw new IllegalArgumentException("Unknown shard granularity: " + parts[1]);
+        }
+    }
+
+    private static int parseInt(String value) {
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Not a number: " + value);
+        }
+    }
+
+    /**
+     * Creates a {@link Filter} which is only passed by the tests that are
+     * assigned to shard {@code shard} of {@code shards}.
+     *
+     * @param shard the number of the shard, from {@code 1} to {@code shards}
+     * @param shards the total number of shards
+     */
+    public static Filter forShard(int shard, int shards) {
+        return new HashShard(shard, shards, false);
+    }
+
+    /**
+     * Creates a {@link Filter} which is only passed by the tests of the
+     * classes that are assigned to shard {@code shard} of {@code shards}.
+     *
+     * @param shard the number of the shard, from {@code 1} to {@code shards}
+     * @param shards the total number of shards
+     */
+    public static Filter forShardOfClasses(int shard, int shards) {
+        return new HashShard(shard, shards, true);
+    }
+
+    /**
+     * Creates a {@link Filter} which is only passed by the tests of the
+     * classes that are assigned to shard {@code shard} of {@code shards} such
+     * that all shards have about the same expected duration. The expected
+     * durations are taken from {@code history}; classes without any recorded
+     * duration are assigned as by {@link #forShardOfClasses(int, int)}.
+     *
+     * <p>The assignment depends on the tests of {@code suite}, which must be
+     * the same for all shards.
+     *
+     * @param history the durations of earlier runs
+     * @param suite the tests that are split into shards
+     * @param shard the number of the shard, from {@code 1} to {@code shards}
+     * @param shards the total number of shards
+     */
+    public static Filter forDurationBalancedShard(MaxHistory history, Description suite,
+            int shard, int shards) {
+        return new DurationBalancedShard(history, suite, shard, shards);
+    }
+
+    /**
+     * Returns the shard, from {@code 1} to {@code shards}, that the test
+     * {@code description} is assigned to.
+     *
+     * @param byClass whether whole classes are assigned to shards
+     */
+    static int shardOf(Description description, int shards, boolean byClass) {
+        return shardOf(keyOf(description, byClass), shards);
+    }
+
+    static int shardOf(String key, int shards) {
+        // String.hashCode() is specified by the JLS, so every JVM computes the
+        // same value. The finalizer of MurmurHash3 spreads similar names.
+        int hash = key.hashCode();
+        hash ^= hash >>> 16;
+        hash *= 0x85ebca6b;
+        hash ^= hash >>> 13;
+        hash *= 0xc2b2ae35;
+        hash ^= hash >>> 16;
+        return (hash & Integer.MAX_VALUE) % shards + 1;
+    }
+
+    private static String keyOf(Description description, boolean byClass) {
+        String methodName = description.getMethodName();
+        if (methodName == null) {
+            return description.getDisplayName();
+        }
+        return byClass ? description.getClassName()
+                : description.getClassName() + "#" + methodName;
+    }
+
+    static void validate(int shard, int shards) {
+        if (shards < 1) {
+            throw new IllegalArgumentException("shards must be positive but was " + shards);
+        }
+        if (shard < 1 || shard > shards) {
+            throw new IllegalArgumentException(
+                    "shard must be between 1 and " + shards + " but was " + shard);
+        }
+    }
+
+    private static class HashShard extends Filter {
+        private final int shard;
+
+        private final int shards;
+
+        private final boolean byClass;
+
+        HashShard(int shard, int shards, boolean byClass) {
+            validate(shard, shards);
+            this.shard = shard;
+            this.shards = shards;
+            this.byClass = byClass;
+        }
+
+        @Override
+        public boolean shouldRun(Description description) {
+            if (description.isTest()) {
+                return shardOf(description, shards, byClass) == shard;
+            }
+            for (Description each : description.getChildren()) {
+                if (shouldRun(each)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public String describe() {
+            return (byClass ? "classes of shard " : "shard ") + shard + " of " + shards;
+        }
+    }
+}
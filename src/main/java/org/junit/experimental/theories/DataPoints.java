@@ -61,4 +61,15 @@ public @interface DataPoints {
     String[] value() default {};
 
     Class<? extends Throwable>[] ignoredExceptions() default {};
+
+    /**
+     * Whether the values are reused for all parameters of a theory, or of
+     * all theories of a class annotated with {@link SharedDataPoints}; default
+     * is {@code true}. If {@code false}, the field is read or the method is invoked each time
+     * values for a parameter are needed, so that theories that change the
+     * values get new ones.
+     *
+     * @since 4.13
+     */
+    boolean cached() default true;
 }
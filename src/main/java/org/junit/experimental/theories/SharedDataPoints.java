@@ -0,0 +1,36 @@
+package org.junit.experimental.theories;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Annotating a test class that is run with the
+ * {@link org.junit.experimental.theories.Theories Theories} runner with
+ * <code>&#064;SharedDataPoints</code> makes all of its theories share the
+ * values of its {@link org.junit.experimental.theories.DataPoints DataPoints}.
+ * By default, each DataPoints method is invoked and each DataPoints field is
+ * read once for each theory.
+ * <p>
+ * DataPoints that must not be shared, for example because theories change
+ * their values, can be excluded with {@link DataPoints#cached()}.
+ * <pre>
+ * &#064;RunWith(Theories.class)
+ * &#064;SharedDataPoints
+ * public class DocumentTest {
+ *     &#064;DataPoints
+ *     public static Document[] documents() {
+ *         // Loaded once for all theories
+ *         return loadAll("src/test/resources/documents");
+ *     }
+ *     ...
+ * }
+ * </pre>
+ *
+ * @since 4.13
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface SharedDataPoints {
+}
@@ -5,11 +5,21 @@ import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.Assert;
 import org.junit.Assume;
 import org.junit.experimental.theories.internal.Assignments;
+import org.junit.experimental.theories.internal.DataPointsCache;
 import org.junit.experimental.theories.internal.ParameterizedAssertionError;
 import org.junit.internal.AssumptionViolatedException;
 import org.junit.runners.BlockJUnit4ClassRunner;
@@ -69,13 +79,23 @@ import org.junit.runners.model.TestClass;
  * @see <a href="http://web.archive.org/web/20110608210825/http://shareandenjoy.saff.net/tdd-specifications.pdf">Paper on Theories</a>
  */
 public class Theories extends BlockJUnit4ClassRunner {
+    // The values of data points of all theories, if they are shared
+    private final DataPointsCache sharedDataPoints;
+
     public Theories(Class<?> klass) throws InitializationError {
         super(klass);
+        sharedDataPoints = sharedDataPoints(getTestClass());
     }
 
     /** @since 4.13 */
     protected Theories(TestClass testClass) throws InitializationError {
         super(testClass);
+        sharedDataPoints = sharedDataPoints(testClass);
+    }
+
+    private static DataPointsCache sharedDataPoints(TestClass testClass) {
+        return testClass.getAnnotation(SharedDataPoints.class) == null
+                ? null : new DataPointsCache();
     }
 
     @Override
@@ -128,6 +148,16 @@ public class Theories extends BlockJUnit4ClassRunner {
             if (each.getAnnotation(Theory.class) != null) {
                 each.validatePublicVoid(false, errors);
                 each.validateNoTypeParametersOnArgs(errors);
+                int parallelism = each.getAnnotation(Theory.class).parallelism();
+                if (parallelism < 1) {
+                    errors.add(new Error("parallelism of theory " + each.getName()
+                            + " must be positive but was " + parallelism));
+                }
+                int maxAssignments = each.getAnnotation(Theory.class).maxAssignments();
+                if (maxAssignments < 0) {
+                    errors.add(new Error("maxAssignments of theory " + each.getName()
+                            + " must not be negative but was " + maxAssignments));
+                }
             } else {
                 each.validatePublicVoidNoArg(false, errors);
             }
@@ -167,10 +197,25 @@ public class Theories extends BlockJUnit4ClassRunner {
 
     @Override
     public Statement methodBlock(final FrameworkMethod method) {
-        return new TheoryAnchor(method, getTestClass());
+        TheoryAnchor anchor = new TheoryAnchor(method, getTestClass());
+        anchor.dataPoints = sharedDataPoints;
+        return anchor;
     }
 
     public static class TheoryAnchor extends Statement {
+        /**
+         * The number of subtrees of assignments for each thread, so that the
+         * threads stay busy when some subtrees take longer than others.
+         */
+        private static final int SUBTREES_PER_THREAD = 4;
+
+        /**
+         * The number of random choices of assignments for each assignment of
+         * a sample, after which sampling gives up on finding more different
+         * ones.
+         */
+        private static final int ATTEMPTS_PER_SAMPLED_ASSIGNMENT = 100;
+
         private int successes = 0;
 
         private final FrameworkMethod testMethod;
@@ -178,6 +223,14 @@ public class Theories extends BlockJUnit4ClassRunner {
 
         private List<AssumptionViolatedException> fInvalidParameters = new ArrayList<AssumptionViolatedException>();
 
+        // The subtree that the current thread runs, if the theory runs in parallel
+        private final ThreadLocal<Subtree> currentSubtree = new ThreadLocal<Subtree>();
+
+        private final AtomicInteger firstFailedSubtree = new AtomicInteger();
+
+        // The values of data points that are shared with other theories, if any
+        private DataPointsCache dataPoints;
+
         public TheoryAnchor(FrameworkMethod testMethod, TestClass testClass) {
             this.testMethod = testMethod;
             this.testClass = testClass;
@@ -189,9 +242,57 @@ public class Theories extends BlockJUnit4ClassRunner {
 
         @Override
         public void evaluate() throws Throwable {
-            runWithAssignment(Assignments.allUnassigned(
-                    testMethod.getMethod(), getTestClass()));
-            
+            Assignments assignments = Assignments.allUnassigned(
+                    testMethod.getMethod(), getTestClass(),
+                    dataPoints == null ? new DataPointsCache() : dataPoints);
+            Theory theory = testMethod.getAnnotation(Theory.class);
+            int maxAssignments = theory == null ? 0 : theory.maxAssignments();
+            if (maxAssignments == 0 || countAssignments(assignments, maxAssignments) <= maxAssignments) {
+                runAll(assignments);
+                verifySuccesses();
+                return;
+            }
+            long seed = theory.seed() == 0 ? newSeed() : theory.seed();
+            try {
+                runSample(sample(assignments, maxAssignments, new Random(seed)));
+                verifySuccesses();
+            } catch (AssumptionViolatedException e) {
+                throw e;
+            } catch (Throwable e) {
+                throw withSeed(e, seed);
+            }
+        }
+
+        /**
+         * Returns {@code failure} with the seed of the sampled assignments
+         * added, without changing its type. The seed is added to the message
+         * of the errors that this runner creates, and attached as the cause of
+         * other failures that have none.
+         */
+        private static Throwable withSeed(Throwable failure, long seed) {
+            String seedMessage = "assignments sampled with seed " + seed;
+            String message = failure.getMessage() + " (" + seedMessage + ")";
+            Throwable result;
+            if (failure.getClass() == ParameterizedAssertionError.class) {
+                result = new ParameterizedAssertionError(message, failure.getCause());
+            } else if (failure.getClass() == AssertionError.class) {
+                result = new AssertionError(message);
+                result.initCause(failure.getCause());
+            } else {
+                if (failure.getCause() == null) {
+                    try {
+                        failure.initCause(new Exception(seedMessage));
+                    } catch (IllegalStateException e) {
+                        // The cause has been set to null; report it without the seed
+                    }
+                }
+                return failure;
+            }
+            result.setStackTrace(failure.getStackTrace());
+            return result;
+        }
+
+        private void verifySuccesses() {
             //if this test method is not annotated with Theory, then no successes is a valid case
             boolean hasTheoryAnnotation = testMethod.getAnnotation(Theory.class) != null;
             if (successes == 0 && hasTheoryAnnotation) {
@@ -201,8 +302,92 @@ public class Theories extends BlockJUnit4ClassRunner {
             }
         }
 
+        private void runAll(Assignments assignments) throws Throwable {
+            int parallelism = parallelism();
+            if (parallelism > 1) {
+                runInParallel(split(assignments, SUBTREES_PER_THREAD * parallelism), parallelism);
+            } else {
+                runWithAssignment(assignments);
+            }
+        }
+
+        private void runSample(List<Assignments> sample) throws Throwable {
+            int parallelism = parallelism();
+            if (parallelism > 1) {
+                List<Subtree> subtrees = new ArrayList<Subtree>();
+                for (Assignments each : sample) {
+                    subtrees.add(new Subtree(each, null));
+                }
+                runInParallel(subtrees, parallelism);
+            } else {
+                for (Assignments each : sample) {
+                    runWithAssignment(each);
+                }
+            }
+        }
+
+        private static long newSeed() {
+            long seed;
+            do {
+                seed = new Random().nextLong();
+            } while (seed == 0);
+            return seed;
+        }
+
+        /**
+         * Returns the number of complete assignments that start with
+         * {@code assignments}, or {@code limit + 1} if there are more than
+         * {@code limit}.
+         */
+        private static long countAssignments(Assignments assignments, long limit)
+                throws Throwable {
+            long count = 1;
+            while (!assignments.isComplete()) {
+                List<PotentialAssignment> potentials = assignments.potentialsForNextUnassigned();
+                if (potentials.isEmpty()) {
+                    return 0;
+                }
+                count = Math.min(count * potentials.size(), limit + 1);
+                assignments = assignments.assignNext(potentials.get(0));
+            }
+            return count;
+        }
+
+        /**
+         * Chooses up to {@code size} different complete assignments that start
+         * with {@code assignments}, each with the same probability.
+         */
+        private static List<Assignments> sample(Assignments assignments, int size, Random random)
+                throws Throwable {
+            List<Assignments> sample = new ArrayList<Assignments>();
+            Set<List<Integer>> sampledChoices = new HashSet<List<Integer>>();
+            long attempts = (long) ATTEMPTS_PER_SAMPLED_ASSIGNMENT * size;
+            while (sample.size() < size && attempts-- > 0) {
+                List<Integer> choices = new ArrayList<Integer>();
+                Assignments each = assignments;
+                while (each != null && !each.isComplete()) {
+                    List<PotentialAssignment> potentials = each.potentialsForNextUnassigned();
+                    if (potentials.isEmpty()) {
+                        each = null;
+                    } else {
+                        int choice = random.nextInt(potentials.size());
+                        choices.add(choice);
+                        each = each.assignNext(potentials.get(choice));
+                    }
+                }
+                if (each != null && sampledChoices.add(choices)) {
+                    sample.add(each);
+                }
+            }
+            return sample;
+        }
+
         protected void runWithAssignment(Assignments parameterAssignment)
                 throws Throwable {
+            Subtree subtree = currentSubtree.get();
+            if (subtree != null && subtree.isCancelled()) {
+                return;
+            }
             if (!parameterAssignment.isComplete()) {
                 runWithIncompleteAssignment(parameterAssignment);
             } else {
@@ -282,7 +467,12 @@ public class Theories extends BlockJUnit4ClassRunner {
         }
 
         protected void handleAssumptionViolation(AssumptionViolatedException e) {
-            fInvalidParameters.add(e);
+            Subtree subtree = currentSubtree.get();
+            if (subtree != null) {
+                subtree.invalidParameters.add(e);
+            } else {
+                fInvalidParameters.add(e);
+            }
         }
 
         protected void reportParameterizedError(Throwable e, Object... params)
@@ -294,6 +484,88 @@ public class Theories extends BlockJUnit4ClassRunner {
                     params);
         }
 
+        private int parallelism() {
+            Theory annotation = testMethod.getAnnotation(Theory.class);
+            return annotation == null ? 1 : annotation.parallelism();
+        }
+
+        /**
+         * Runs {@code subtrees} on {@code parallelism} threads. The results of
+         * the subtrees are collected in their order, which is the order in
+         * which they would have run one after the other, so that the first
+         * failure in that order is thrown. The subtrees
+         * after a failed one stop at their next assignment.
+         */
+        private void runInParallel(List<Subtree> subtrees, int parallelism)
+                throws Throwable {
+            for (int i = 0; i < subtrees.size(); i++) {
+                subtrees.get(i).index = i;
+            }
+            firstFailedSubtree.set(Integer.MAX_VALUE);
+            final AtomicInteger threadNumber = new AtomicInteger();
+            ExecutorService executor = Executors.newFixedThreadPool(parallelism,
+                    new ThreadFactory() {
+                        public Thread newThread(Runnable r) {
+                            Thread thread = new Thread(r, "Theories-" + testMethod.getName()
+                                    + "-" + threadNumber.incrementAndGet());
+                            thread.setDaemon(true);
+                            return thread;
+                        }
+                    });
+            try {
+                List<Future<?>> futures = new ArrayList<Future<?>>();
+                for (Subtree each : subtrees) {
+                    futures.add(executor.submit(each));
+                }
+                for (int i = 0; i < subtrees.size(); i++) {
+                    futures.get(i).get();
+                    Subtree subtree = subtrees.get(i);
+                    if (subtree.failure != null) {
+                        executor.shutdown();
+                        executor.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+                        throw subtree.failure;
+                    }
+                    successes += subtree.successes;
+                    fInvalidParameters.addAll(subtree.invalidParameters);
+                }
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+
+        /**
+         * Assigns the next unassigned parameters of {@code assignments} until
+         * there are at least {@code count} subtrees or all assignments are
+         * complete.
+         */
+        private List<Subtree> split(Assignments assignments, int count) {
+            List<Subtree> subtrees = new ArrayList<Subtree>();
+            subtrees.add(new Subtree(assignments, null));
+            boolean incomplete = true;
+            while (incomplete && subtrees.size() < count) {
+                incomplete = false;
+                List<Subtree> next = new ArrayList<Subtree>();
+                for (Subtree each : subtrees) {
+                    if (each.assignments == null || each.assignments.isComplete()) {
+                        next.add(each);
+                        continue;
+                    }
+                    incomplete = true;
+                    try {
+                        for (PotentialAssignment source
+                                : each.assignments.potentialsForNextUnassigned()) {
+                            next.add(new Subtree(each.assignments.assignNext(source), null));
+                        }
+                    } catch (Throwable e) {
+                        // Thrown when the subtree is reached, as without splitting
+                        next.add(new Subtree(null, e));
+                    }
+                }
+                subtrees = next;
+            }
+            return subtrees;
+        }
+
         private boolean nullsOk() {
             Theory annotation = testMethod.getMethod().getAnnotation(
                     Theory.class);
@@ -304,7 +576,65 @@ public class Theories extends BlockJUnit4ClassRunner {
         }
 
         protected void handleDataPointSuccess() {
-            successes++;
+            Subtree subtree = currentSubtree.get();
+            if (subtree != null) {
+                subtree.successes++;
+            } else {
+                successes++;
+            }
+        }
+
+        /**
+         * The assignments that start with some assigned parameters, and the
+         * results of running them on a thread of their own.
+         */
+        private class Subtree implements Runnable {
+            private final Assignments assignments;
+
+            private final Throwable error;
+
+            private int index;
+
+            private int successes = 0;
+
+            private final List<AssumptionViolatedException> invalidParameters
+                    = new ArrayList<AssumptionViolatedException>();
+
+            private Throwable failure;
+
+            Subtree(Assignments assignments, Throwable error) {
+                this.assignments = assignments;
+                this.error = error;
+            }
+
+            /**
+             * Returns whether a subtree that comes before this one failed,
+             * so that the results of this one are not needed.
+             */
+            boolean isCancelled() {
+                return firstFailedSubtree.get() < index;
+            }
+
+            public void run() {
+                if (isCancelled()) {
+                    return;
+                }
+                currentSubtree.set(this);
+                try {
+                    if (error != null) {
+                        throw error;
+                    }
+                    runWithAssignment(assignments);
+                } catch (Throwable e) {
+                    failure = e;
+                    int first = firstFailedSubtree.get();
+                    while (index < first && !firstFailedSubtree.compareAndSet(first, index)) {
+                        first = firstFailedSubtree.get();
+                    }
+                } finally {
+                    currentSubtree.remove();
+                }
+            }
         }
     }
 }
@@ -15,4 +15,39 @@ import java.lang.annotation.Target;
 @Target(METHOD)
 public @interface Theory {
     boolean nullsAccepted() default true;
+
+    /**
+     * The number of threads that run the theory with different assignments
+     * of data points at the same time; default is {@code 1}. The assignments
+     * are split into subtrees of the first parameters' data points, which are
+     * run in parallel. If the theory fails, the failure is the one that
+     * running the assignments one after the other would have reported.
+     * <p>
+     * A theory that is run in parallel must not share state between its
+     * invocations, for example in static fields.
+     *
+     * @since 4.13
+     */
+    int parallelism() default 1;
+
+    /**
+     * The maximum number of assignments of data points to parameters that
+     * the theory runs with; default is {@code 0}, which runs all of them. If
+     * there are more assignments, a sample of them is chosen uniformly at
+     * random, so that the time the theory takes stays bounded however many
+     * data points there are.
+     *
+     * @since 4.13
+     */
+    int maxAssignments() default 0;
+
+    /**
+     * The seed of the random sample of assignments, if there are more than
+     * {@link #maxAssignments()}; default is {@code 0}, which picks a new seed
+     * for each run. The seed is reported when the theory fails, so that it
+     * can be set here to run the theory with the same assignments again.
+     *
+     * @since 4.13
+     */
+    long seed() default 0;
 }
\ No newline at end of file
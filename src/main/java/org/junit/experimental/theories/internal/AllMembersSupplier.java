@@ -1,5 +1,6 @@
 package org.junit.experimental.theories.internal;
 
+import java.lang.reflect.AnnotatedElement;
 import java.lang.reflect.Array;
 import java.lang.reflect.Field;
 import java.util.ArrayList;
@@ -54,6 +55,8 @@ public class AllMembersSupplier extends ParameterSupplier {
     
     private final TestClass clazz;
 
+    private DataPointsCache cache;
+
     /**
      * Constructs a new supplier for {@code type}
      */
@@ -61,6 +64,21 @@ public class AllMembersSupplier extends ParameterSupplier {
         clazz = type;
     }
 
+    /**
+     * Reuses the values of {@link DataPoints} fields and methods in
+     * {@code cache}, unless they are annotated not to be cached. The methods
+     * annotated with {@link DataPoint} are still invoked for each assignment,
+     * so that they create mutable values afresh.
+     */
+    void useCache(DataPointsCache cache) {
+        this.cache = cache;
+    }
+
+    private DataPointsCache cacheFor(AnnotatedElement dataPoints) {
+        DataPoints annotation = dataPoints.getAnnotation(DataPoints.class);
+        return annotation == null || !annotation.cached() ? null : cache;
+    }
+
     @Override
     public List<PotentialAssignment> getValueSources(ParameterSignature sig) throws Throwable {
         List<PotentialAssignment> list = new ArrayList<PotentialAssignment>();
@@ -80,8 +98,10 @@ public class AllMembersSupplier extends ParameterSupplier {
             if ((returnType.isArray() && sig.canPotentiallyAcceptType(returnType.getComponentType())) ||
                     Iterable.class.isAssignableFrom(returnType)) {
                 try {
-                    addDataPointsValues(returnType, sig, dataPointsMethod.getName(), list, 
-                            dataPointsMethod.invokeExplosively(null));
+                    DataPointsCache methodCache = cacheFor(dataPointsMethod.getMethod());
+                    addDataPointsValues(returnType, sig, dataPointsMethod.getName(), list,
+                            methodCache == null ? dataPointsMethod.invokeExplosively(null)
+                                    : methodCache.valueOf(dataPointsMethod));
                 } catch (Throwable throwable) {
                     DataPoints annotation = dataPointsMethod.getAnnotation(DataPoints.class);
                     if (annotation != null && isAssignableToAnyOf(annotation.ignoredExceptions(), throwable)) {
@@ -152,7 +172,8 @@ public class AllMembersSupplier extends ParameterSupplier {
 
     private Object getStaticFieldValue(final Field field) {
         try {
-            return field.get(null);
+            DataPointsCache fieldCache = cacheFor(field);
+            return fieldCache == null ? field.get(null) : fieldCache.valueOf(field);
         } catch (IllegalArgumentException e) {
             throw new RuntimeException(
                     "unexpected: field from getClass doesn't exist on object");
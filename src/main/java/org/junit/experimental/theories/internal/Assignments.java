@@ -25,25 +25,41 @@ public class Assignments {
 
     private final TestClass clazz;
 
+    private final DataPointsCache cache;
+
     private Assignments(List<PotentialAssignment> assigned,
-            List<ParameterSignature> unassigned, TestClass clazz) {
+            List<ParameterSignature> unassigned, TestClass clazz,
+            DataPointsCache cache) {
         this.unassigned = unassigned;
         this.assigned = assigned;
         this.clazz = clazz;
+        this.cache = cache;
     }
 
     /**
      * Returns a new assignment list for {@code testMethod}, with no params
-     * assigned.
+     * assigned. The values of data points are reused for all of its
+     * assignments.
      */
     public static Assignments allUnassigned(Method testMethod,
             TestClass testClass) {
+        return allUnassigned(testMethod, testClass, new DataPointsCache());
+    }
+
+    /**
+     * Returns a new assignment list for {@code testMethod}, with no params
+     * assigned, which takes the values of data points from {@code cache}.
+     *
+     * @since 4.13
+     */
+    public static Assignments allUnassigned(Method testMethod,
+            TestClass testClass, DataPointsCache cache) {
         List<ParameterSignature> signatures;
         signatures = ParameterSignature.signatures(testClass
                 .getOnlyConstructor());
         signatures.addAll(ParameterSignature.signatures(testMethod));
         return new Assignments(new ArrayList<PotentialAssignment>(),
-                signatures, testClass);
+                signatures, testClass, cache);
     }
 
     public boolean isComplete() {
@@ -59,7 +75,7 @@ public class Assignments {
         potentialAssignments.add(source);
 
         return new Assignments(potentialAssignments, unassigned.subList(1,
-                unassigned.size()), clazz);
+                unassigned.size()), clazz, cache);
     }
 
     public Object[] getActualValues(int start, int stop) 
@@ -74,7 +90,11 @@ public class Assignments {
     public List<PotentialAssignment> potentialsForNextUnassigned()
             throws Throwable {
         ParameterSignature unassigned = nextUnassigned();
-        List<PotentialAssignment> assignments = getSupplier(unassigned).getValueSources(unassigned);
+        ParameterSupplier supplier = getSupplier(unassigned);
+        if (supplier instanceof AllMembersSupplier) {
+            ((AllMembersSupplier) supplier).useCache(cache);
+        }
+        List<PotentialAssignment> assignments = supplier.getValueSources(unassigned);
         
         if (assignments.isEmpty()) {
             assignments = generateAssignmentsFromTypeAlone(unassigned);
@@ -0,0 +1,59 @@
+package org.junit.experimental.theories.internal;
+
+import java.lang.reflect.Field;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.runners.model.FrameworkMethod;
+
+/**
+ * The values of the data point fields and methods of a test class. Each field
+ * is read and each method is invoked once, and the value or the exception
+ * that it threw is reused for all parameters of the theories that share the
+ * cache.
+ *
+ * @since 4.13
+ */
+public class DataPointsCache {
+    // All guarded by this
+    private final Map<Object, Object> values = new HashMap<Object, Object>();
+
+    private final Map<Object, Throwable> failures = new HashMap<Object, Throwable>();
+
+    /**
+     * Returns the value that the static {@code method} returned when it was
+     * first invoked, or throws the exception that it threw.
+     */
+    public synchronized Object valueOf(FrameworkMethod method) throws Throwable {
+        if (!isKnown(method)) {
+            try {
+                values.put(method, method.invokeExplosively(null));
+            } catch (Throwable e) {
+                failures.put(method, e);
+            }
+        }
+        return knownValue(method);
+    }
+
+    /**
+     * Returns the value of the static {@code field} when it was first read.
+     */
+    public synchronized Object valueOf(Field field) throws IllegalAccessException {
+        if (!values.containsKey(field)) {
+            values.put(field, field.get(null));
+        }
+        return values.get(field);
+    }
+
+    private boolean isKnown(Object member) {
+        return values.containsKey(member) || failures.containsKey(member);
+    }
+
+    private Object knownValue(Object member) throws Throwable {
+        Throwable failure = failures.get(member);
+        if (failure != null) {
+            throw failure;
+        }
+        return values.get(member);
+    }
+}
@@ -13,6 +13,17 @@ public class ParameterizedAssertionError extends AssertionError {
         this.initCause(targetException);
     }
 
+    /**
+     * Creates an error for {@code targetException} with the given message,
+     * for example the message of another error with more details added.
+     *
+     * @since 4.13
+     */
+    public ParameterizedAssertionError(String message, Throwable targetException) {
+        super(message);
+        this.initCause(targetException);
+    }
+
     @Override
     public boolean equals(Object obj) {
         return obj instanceof ParameterizedAssertionError && toString().equals(obj.toString());
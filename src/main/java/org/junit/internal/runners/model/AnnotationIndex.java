@@ -0,0 +1,413 @@
+package org.junit.internal.runners.model;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.net.JarURLConnection;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.net.URLConnection;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.jar.JarEntry;
+
+import org.junit.internal.MethodSorter;
+
+/**
+ * An index of the annotated methods and fields of compiled classes, which
+ * lets {@link org.junit.runners.model.TestClass} find the annotated members of
+ * a class without asking for the annotations of all its members.
+ *
+ * <p>The index of a directory of classes is written to the file
+ * {@value #RESOURCE} in that directory by running this class after the classes
+ * have been compiled, with the classes and their dependencies on the class
+ * path:
+ * <pre>
+ * java -cp junit.jar:hamcrest-core.jar:target/test-classes:... \
+ *     org.junit.internal.runners.model.AnnotationIndex target/test-classes
+ * </pre>
+ *
+ * <p>The index records a stamp of the class file of each class: its time of
+ * modification and size, and for a class in a jar also the checksum of its
+ * entry. The stamp is compared once per class and class loader, without
+ * reading the class file. A class whose class file has changed since the
+ * index was written, for example because a member has been annotated, is
+ * scanned by reflection, as is a class that is not in the index or lacks one
+ * of the indexed members. The indexed members are looked up in a single call
+ * to
+ * {@link Class#getDeclaredMethods()} and {@link Class#getDeclaredFields()},
+ * so only the annotations of the annotated members have to be read.
+ *
+ * @since 4.13
+ */
+public final class AnnotationIndex {
+    /**
+     * The name of the index resource.
+     */
+    public static final String RESOURCE = "META-INF/junit/annotation-index";
+
+    private static final String CLASS_PREFIX = "C ";
+
+    private static final String METHOD_PREFIX = "M ";
+
+    private static final String FIELD_PREFIX = "F ";
+
+    // The indexes on the class path of each class loader
+    private static final Map<ClassLoader, AnnotationIndex> INDEXES
+            = new WeakHashMap<ClassLoader, AnnotationIndex>();
+
+    // The index that was looked up last, so the classes of a run, which
+    // usually share a class loader, do not have to lock INDEXES
+    private static volatile LoadedIndex lastIndex = null;
+
+    /**
+     * Writes the index of the classes in each directory to the file
+     * {@value #RESOURCE} in that directory.
+     */
+    public static void main(String... directories) throws IOException {
+        for (String each : directories) {
+            File directory = new File(each);
+            URLClassLoader classLoader = new URLClassLoader(
+                    new URL[]{directory.toURI().toURL()},
+                    AnnotationIndex.class.getClassLoader());
+            AnnotationIndex index = new AnnotationIndex();
+            index.addClasses(directory, "", classLoader);
+            File file = new File(directory, RESOURCE);
+            file.getParentFile().mkdirs();
+            Writer writer = new OutputStreamWriter(new FileOutputStream(file), "UTF-8");
+            try {
+                index.write(writer);
+            } finally {
+                writer.close();
+            }
+        }
+    }
+
+    /**
+     * Returns the annotated members of {@code clazz} from the index on the
+     * class path of its class loader, or {@code null} if the class is not in
+     * the index or has changed since the index was written.
+     */
+    public static Members indexedMembers(Class<?> clazz) {
+        ClassLoader classLoader = clazz.getClassLoader();
+        if (classLoader == null) {
+            return null;
+        }
+        return indexOf(classLoader).members(clazz);
+    }
+
+    private static AnnotationIndex indexOf(ClassLoader classLoader) {
+        LoadedIndex last = lastIndex;
+        if (last != null && last.classLoader.get() == classLoader) {
+            return last.index;
+        }
+        AnnotationIndex index = loadIndex(classLoader);
+        lastIndex = new LoadedIndex(classLoader, index);
+        return index;
+    }
+
+    private static AnnotationIndex loadIndex(ClassLoader classLoader) {
+        synchronized (INDEXES) {
+            AnnotationIndex index = INDEXES.get(classLoader);
+            if (index == null) {
+                index = new AnnotationIndex();
+                try {
+                    Enumeration<URL> resources = classLoader.getResources(RESOURCE);
+                    while (resources.hasMoreElements()) {
+                        InputStream stream = resources.nextElement().openStream();
+                        try {
+                            index.read(new InputStreamReader(stream, "UTF-8"));
+                        } finally {
+                            stream.close();
+                        }
+                    }
+                } catch (IOException e) {
+                    // Without an index, all classes are scanned by reflection
+                    index = new AnnotationIndex();
+                }
+                INDEXES.put(classLoader, index);
+            }
+            return index;
+        }
+    }
+
+    private final Map<String, Entry> entries = new LinkedHashMap<String, Entry>();
+
+    AnnotationIndex() {
+    }
+
+    private void addClasses(File directory, String packagePrefix, ClassLoader classLoader)
+            throws IOException {
+        File[] files = directory.listFiles();
+        if (files == null) {
+            return;
+        }
+        Arrays.sort(files);
+        for (File each : files) {
+            String name = each.getName();
+            if (each.isDirectory()) {
+                addClasses(each, packagePrefix + name + ".", classLoader);
+            } else if (name.endsWith(".class") && !name.equals("package-info.class")) {
+                String className = packagePrefix + name.substring(0, name.length() - 6);
+                try {
+                    add(Class.forName(className, false, classLoader));
+                } catch (Throwable e) {
+                    // For example a missing dependency; the class is scanned
+                    // by reflection when it is run
+                }
+            }
+        }
+    }
+
+    /**
+     * Adds the annotated members of {@code clazz} to this index.
+     */
+    void add(Class<?> clazz) {
+        String stamp = stampOf(clazz);
+        if (stamp == null) {
+            // Could not be checked when the class is run
+            return;
+        }
+        Method[] methods = MethodSorter.getDeclaredMethods(clazz);
+        Field[] fields = clazz.getDeclaredFields();
+        Entry entry = new Entry(stamp, methods.length, fields.length);
+        for (Method each : methods) {
+            if (each.getAnnotations().length > 0) {
+                entry.addMethod(signature(each));
+            }
+        }
+        Arrays.sort(fields, new Comparator<Field>() {
+            public int compare(Field left, Field right) {
+                return left.getName().compareTo(right.getName());
+            }
+        });
+        for (Field each : fields) {
+            if (each.getAnnotations().length > 0) {
+                entry.addField(each.getName());
+            }
+        }
+        entries.put(clazz.getName(), entry);
+    }
+
+    /**
+     * Returns a stamp of the class file of {@code clazz} that changes when
+     * the class file changes, or {@code null} if there is none.
+     */
+    private static String stampOf(Class<?> clazz) {
+        ClassLoader classLoader = clazz.getClassLoader();
+        URL url = classLoader == null ? null : classLoader.getResource(
+                clazz.getName().replace('.', '/') + ".class");
+        if (url == null) {
+            return null;
+        }
+        try {
+            if (url.getProtocol().equals("file")) {
+                File file = new File(url.toURI());
+                long lastModified = file.lastModified();
+                return lastModified == 0 ? null : lastModified + "-" + file.length();
+            }
+            URLConnection connection = url.openConnection();
+            if (connection instanceof JarURLConnection) {
+                JarEntry entry = ((JarURLConnection) connection).getJarEntry();
+                return entry.getTime() + "-" + entry.getSize() + "-"
+                        + Long.toHexString(entry.getCrc());
+            }
+        } catch (IOException e) {
+            // Cannot be checked
+        } catch (URISyntaxException e) {
+            // Cannot be checked
+        } catch (IllegalArgumentException e) {
+            // Not a file URL that File understands
+        }
+        return null;
+    }
+
+    private static String signature(Method method) {
+        StringBuilder signature = new StringBuilder(method.getName());
+        for (Class<?> type : method.getParameterTypes()) {
+            signature.append(' ').append(type.getName());
+        }
+        return signature.toString();
+    }
+
+    void write(Writer writer) throws IOException {
+        for (Map.Entry<String, Entry> each : entries.entrySet()) {
+            Entry entry = each.getValue();
+            writer.write(CLASS_PREFIX + each.getKey() + " " + entry.stamp + " "
+                    + entry.declaredMethods + " " + entry.declaredFields + "\n");
+            for (String signature : entry.methods) {
+                writer.write(METHOD_PREFIX + signature + "\n");
+            }
+            for (String field : entry.fields) {
+                writer.write(FIELD_PREFIX + field + "\n");
+            }
+        }
+    }
+
+    /**
+     * Adds the classes of an index that was written by
+     * {@link #write(Writer)}. Classes that are already in this index are kept.
+     */
+    void read(Reader reader) throws IOException {
+        BufferedReader lines = new BufferedReader(reader);
+        Entry entry = null;
+        String line;
+        while ((line = lines.readLine()) != null) {
+            if (line.startsWith(CLASS_PREFIX)) {
+                entry = null;
+                String[] parts = line.substring(CLASS_PREFIX.length()).split(" ");
+                if (parts.length == 4 && !entries.containsKey(parts[0])) {
+                    try {
+                        entry = new Entry(parts[1], Integer.parseInt(parts[2]),
+                                Integer.parseInt(parts[3]));
+                        entries.put(parts[0], entry);
+                    } catch (NumberFormatException e) {
+                        // For example an index of an older format; the class
+                        // is scanned by reflection
+                    }
+                }
+            } else if (entry != null && line.startsWith(METHOD_PREFIX)) {
+                entry.addMethod(line.substring(METHOD_PREFIX.length()));
+            } else if (entry != null && line.startsWith(FIELD_PREFIX)) {
+                entry.addField(line.substring(FIELD_PREFIX.length()));
+            }
+        }
+    }
+
+    /**
+     * Returns the annotated members of {@code clazz}, or {@code null} if it
+     * is not in this index, its class file has changed since it was indexed,
+     * or it lacks one of the indexed members.
+     */
+    Members members(Class<?> clazz) {
+        Entry entry = entries.get(clazz.getName());
+        if (entry == null || !entry.isUpToDate(clazz)) {
+            return null;
+        }
+        Method[] declaredMethods = clazz.getDeclaredMethods();
+        Field[] declaredFields = clazz.getDeclaredFields();
+        if (declaredMethods.length != entry.declaredMethods
+                || declaredFields.length != entry.declaredFields) {
+            return null;
+        }
+        Method[] methods = new Method[entry.methods.size()];
+        for (Method each : declaredMethods) {
+            Integer position = entry.methodPositions.get(signature(each));
+            if (position != null) {
+                methods[position] = each;
+            }
+        }
+        Field[] fields = new Field[entry.fields.size()];
+        for (Field each : declaredFields) {
+            Integer position = entry.fieldPositions.get(each.getName());
+            if (position != null) {
+                fields[position] = each;
+            }
+        }
+        return contains(methods, null) || contains(fields, null)
+                ? null : new Members(methods, fields);
+    }
+
+    private static boolean contains(Object[] array, Object value) {
+        return Arrays.asList(array).contains(value);
+    }
+
+    private static class Entry {
+        final String stamp;
+
+        final int declaredMethods;
+
+        final int declaredFields;
+
+        final List<String> methods = new ArrayList<String>();
+
+        final Map<String, Integer> methodPositions = new HashMap<String, Integer>();
+
+        final List<String> fields = new ArrayList<String>();
+
+        final Map<String, Integer> fieldPositions = new HashMap<String, Integer>();
+
+        // Null until the stamp has been compared; comparing it twice on
+        // different threads is harmless
+        private volatile Boolean upToDate = null;
+
+        Entry(String stamp, int declaredMethods, int declaredFields) {
+            this.stamp = stamp;
+            this.declaredMethods = declaredMethods;
+            this.declaredFields = declaredFields;
+        }
+
+        boolean isUpToDate(Class<?> clazz) {
+            Boolean result = upToDate;
+            if (result == null) {
+                result = stamp.equals(stampOf(clazz));
+                upToDate = result;
+            }
+            return result;
+        }
+
+        void addMethod(String signature) {
+            methodPositions.put(signature, methods.size());
+            methods.add(signature);
+        }
+
+        void addField(String name) {
+            fieldPositions.put(name, fields.size());
+            fields.add(name);
+        }
+    }
+
+    private static class LoadedIndex {
+        // Weak, so the class loader of the last run can be garbage collected
+        final WeakReference<ClassLoader> classLoader;
+
+        final AnnotationIndex index;
+
+        LoadedIndex(ClassLoader classLoader, AnnotationIndex index) {
+            this.classLoader = new WeakReference<ClassLoader>(classLoader);
+            this.index = index;
+        }
+    }
+
+    /**
+     * The annotated methods of a class, in the order of
+     * {@link MethodSorter#getDeclaredMethods(Class)}, and its annotated
+     * fields, by name.
+     */
+    public static final class Members {
+        private final Method[] methods;
+
+        private final Field[] fields;
+
+        Members(Method[] methods, Field[] fields) {
+            this.methods = methods;
+            this.fields = fields;
+        }
+
+        public List<Method> getMethods() {
+            return Collections.unmodifiableList(Arrays.asList(methods));
+        }
+
+        public List<Field> getFields() {
+            return Collections.unmodifiableList(Arrays.asList(fields));
+        }
+    }
+}
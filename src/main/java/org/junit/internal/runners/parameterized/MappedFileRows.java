@@ -0,0 +1,432 @@
+package org.junit.internal.runners.parameterized;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * The rows of a CSV file or of a file of fixed-size binary records, as arrays
+ * of parameters of given types.
+ *
+ * <p>The file is not read when the rows are created. While the rows are
+ * iterated, a region of the file around the current row is mapped into
+ * memory, and each row is parsed from the mapped bytes when it is reached.
+ * Numbers are parsed from the bytes without creating strings, so the memory
+ * that is used does not depend on the size of the file.
+ *
+ * <p>Lines of a CSV file are separated by {@code \n} or {@code \r\n}, and
+ * blank lines are skipped. Values may be quoted with {@code "}, where
+ * {@code ""} stands for a quote; a quoted value cannot contain line breaks.
+ * Text is decoded as UTF-8. Values can be read as strings, primitives and
+ * their wrappers, {@link BigInteger}s, {@link BigDecimal}s and enums.
+ *
+ * <p>Binary records consist of one big-endian value for each parameter,
+ * {@code byte}, {@code short}, {@code char}, {@code int}, {@code long},
+ * {@code float}, {@code double} or {@code boolean} (one byte, true unless
+ * zero), or their wrappers.
+ *
+ * @since 4.13
+ */
+public final class MappedFileRows implements Iterable<Object> {
+    private static final int DEFAULT_WINDOW_SIZE = 64 * 1024 * 1024;
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    private final File file;
+
+    private final boolean binary;
+
+    private final byte delimiter;
+
+    private final boolean header;
+
+    private final Class<?>[] types;
+
+    private final int recordSize;
+
+    private final int windowSize;
+
+    /**
+     * @param file the file to read
+     * @param binary whether the file consists of binary records instead of
+     * lines of comma-separated values
+     * @param delimiter the ASCII character that separates the values of a line
+     * @param header whether the first line of a CSV file is skipped
+     * @param types the types of the parameters of each row
+     * @throws IllegalArgumentException if the file does not exist, or the
+     * values of the file cannot be read as {@code types}
+     */
+    public MappedFileRows(File file, boolean binary, char delimiter, boolean header,
+            Class<?>... types) {
+        this(file, binary, delimiter, header, types, DEFAULT_WINDOW_SIZE);
+    }
+
+    MappedFileRows(File file, boolean binary, char delimiter, boolean header,
+            Class<?>[] types, int windowSize) {
+        if (!file.isFile()) {
+            throw new IllegalArgumentException("File not found: " + file);
+        }
+        if (delimiter >= 0x80 || delimiter == '"' || delimiter == '\n' || delimiter == '\r') {
+            throw new IllegalArgumentException("Invalid delimiter: " + delimiter);
+        }
+        if (types.length == 0) {
+            throw new IllegalArgumentException("There must be at least one parameter");
+        }
+        int size = 0;
+        for (int i = 0; i < types.length; i++) {
+            if (binary ? binarySize(types[i]) == 0 : !isTextType(types[i])) {
+                throw new IllegalArgumentException("Cannot read parameter " + i + " of type "
+                        + types[i].getName() + " from " + (binary ? "a binary" : "a CSV") + " file");
+            }
+            size += binary ? binarySize(types[i]) : 0;
+        }
+        this.file = file;
+        this.binary = binary;
+        this.delimiter = (byte) delimiter;
+        this.header = header;
+        this.types = types.clone();
+        recordSize = size;
+        this.windowSize = Math.max(windowSize, recordSize);
+    }
+
+    private static boolean isTextType(Class<?> type) {
+        return type == String.class || type == Object.class || type == CharSequence.class
+                || type.isPrimitive() || type == Integer.class || type == Long.class
+                || type == Short.class || type == Byte.class || type == Double.class
+                || type == Float.class || type == Boolean.class || type == Character.class
+                || type == BigInteger.class || type == BigDecimal.class || type.isEnum();
+    }
+
+    private static int binarySize(Class<?> type) {
+        if (type == byte.class || type == Byte.class
+                || type == boolean.class || type == Boolean.class) {
+            return 1;
+        } else if (type == short.class || type == Short.class
+                || type == char.class || type == Character.class) {
+            return 2;
+        } else if (type == int.class || type == Integer.class
+                || type == float.class || type == Float.class) {
+            return 4;
+        } else if (type == long.class || type == Long.class
+                || type == double.class || type == Double.class) {
+            return 8;
+        }
+        return 0;
+    }
+
+    /**
+     * Returns an iterator over the rows, which are {@code Object[]}s. If a row
+     * cannot be read, {@code hasNext()} or {@code next()} throw an
+     * {@link IllegalArgumentException} that names the line or record.
+     */
+    public Iterator<Object> iterator() {
+        return new RowIterator();
+    }
+
+    private class RowIterator implements Iterator<Object> {
+        private final long length = file.length();
+
+        // The absolute position of the next row
+        private long position = 0;
+
+        private long row = 0;
+
+        private long windowStart = 0;
+
+        private ByteBuffer window;
+
+        private Object[] next;
+
+        public boolean hasNext() {
+            if (next == null) {
+                try {
+                    next = binary ? readRecord() : readLine();
+                } catch (IOException e) {
+                    throw new IllegalArgumentException("Cannot read " + file, e);
+                }
+            }
+            return next != null;
+        }
+
+        public Object next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Object[] result = next;
+            next = null;
+            return result;
+        }
+
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+
+        /**
+         * Maps the region of the file from {@code start} on, which is at
+         * most {@code size} bytes long.
+         */
+        private void map(long start, long size) throws IOException {
+            RandomAccessFile randomAccessFile = new RandomAccessFile(file, "r");
+            try {
+                // The mapping stays valid when the file is closed
+                window = randomAccessFile.getChannel().map(FileChannel.MapMode.READ_ONLY,
+                        start, Math.min(size, length - start));
+                windowStart = start;
+            } finally {
+                randomAccessFile.close();
+            }
+        }
+
+        private boolean isMapped(long start, long size) {
+            return window != null && start >= windowStart
+                    && start + size <= windowStart + window.limit();
+        }
+
+        private Object[] readRecord() throws IOException {
+            if (position == length) {
+                return null;
+            }
+            row++;
+            if (position + recordSize > length) {
+                throw new IllegalArgumentException("Record " + row + " of " + file
+                        + " is incomplete: " + (length - position) + " bytes");
+            }
+            if (!isMapped(position, recordSize)) {
+                map(position, windowSize - windowSize % recordSize);
+            }
+            int offset = (int) (position - windowStart);
+            Object[] result = new Object[types.length];
+            for (int i = 0; i < types.length; i++) {
+                result[i] = readBinary(offset, types[i]);
+                offset += binarySize(types[i]);
+            }
+            position += recordSize;
+            return result;
+        }
+
+        private Object readBinary(int offset, Class<?> type) {
+            if (type == byte.class || type == Byte.class) {
+                return window.get(offset);
+            } else if (type == boolean.class || type == Boolean.class) {
+                return window.get(offset) != 0;
+            } else if (type == short.class || type == Short.class) {
+                return window.getShort(offset);
+            } else if (type == char.class || type == Character.class) {
+                return window.getChar(offset);
+            } else if (type == int.class || type == Integer.class) {
+                return window.getInt(offset);
+            } else if (type == float.class || type == Float.class) {
+                return window.getFloat(offset);
+            } else if (type == long.class || type == Long.class) {
+                return window.getLong(offset);
+            } else {
+                return window.getDouble(offset);
+            }
+        }
+
+        private Object[] readLine() throws IOException {
+            while (position < length) {
+                row++;
+                if (!isMapped(position, 1)) {
+                    map(position, windowSize);
+                }
+                int start = (int) (position - windowStart);
+                int end = indexOfNewline(start);
+                long size = windowSize;
+                while (end == -1 && windowStart + window.limit() < length) {
+                    // The line does not fit into the mapped region
+                    if (size == Integer.MAX_VALUE) {
+                        throw new IllegalArgumentException("Line " + row + " of " + file
+                                + " is longer than " + Integer.MAX_VALUE + " bytes");
+                    }
+                    size = Math.min(2 * size, Integer.MAX_VALUE);
+                    map(position, size);
+                    start = 0;
+                    end = indexOfNewline(start);
+                }
+                if (end == -1) {
+                    // The last line has no line break
+                    end = window.limit();
+                }
+                position = windowStart + end + 1;
+                if (end > start && window.get(end - 1) == '\r') {
+                    end--;
+                }
+                if ((header && row == 1) || end == start) {
+                    continue;
+                }
+                return parseLine(start, end);
+            }
+            return null;
+        }
+
+        private int indexOfNewline(int from) {
+            for (int i = from; i < window.limit(); i++) {
+                if (window.get(i) == '\n') {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        private Object[] parseLine(int start, int end) {
+            Object[] result = new Object[types.length];
+            int column = 0;
+            int i = start;
+            while (true) {
+                if (column == types.length) {
+                    throw new IllegalArgumentException("Line " + row + " of " + file
+                            + " has more than " + types.length + " values");
+                }
+                int valueStart;
+                int valueEnd;
+                boolean escapedQuotes = false;
+                if (i < end && window.get(i) == '"') {
+                    valueStart = i + 1;
+                    int j = valueStart;
+                    while (true) {
+                        if (j >= end) {
+                            throw new IllegalArgumentException("Line " + row + " of " + file
+                                    + " has an unterminated quote");
+                        }
+                        if (window.get(j) == '"') {
+                            if (j + 1 < end && window.get(j + 1) == '"') {
+                                escapedQuotes = true;
+                                j += 2;
+                                continue;
+                            }
+                            break;
+                        }
+                        j++;
+                    }
+                    valueEnd = j;
+                    i = j + 1;
+                    if (i < end && window.get(i) != delimiter) {
+                        throw new IllegalArgumentException("Line " + row + " of " + file
+                                + " has text after a quoted value");
+                    }
+                } else {
+                    valueStart = i;
+                    while (i < end && window.get(i) != delimiter) {
+                        i++;
+                    }
+                    valueEnd = i;
+                }
+                result[column] = parseText(valueStart, valueEnd, escapedQuotes, column);
+                column++;
+                if (i >= end) {
+                    break;
+                }
+                i++;
+            }
+            if (column < types.length) {
+                throw new IllegalArgumentException("Line " + row + " of " + file + " has "
+                        + column + " values instead of " + types.length);
+            }
+            return result;
+        }
+
+        private Object parseText(int start, int end, boolean escapedQuotes, int column) {
+            Class<?> type = types[column];
+            if (type == String.class || type == Object.class || type == CharSequence.class) {
+                String value = decode(start, end);
+                return escapedQuotes ? value.replace("\"\"", "\"") : value;
+            }
+            while (start < end && window.get(start) == ' ') {
+                start++;
+            }
+            while (end > start && window.get(end - 1) == ' ') {
+                end--;
+            }
+            try {
+                if (type == int.class || type == Integer.class) {
+                    return (int) parseLong(start, end, Integer.MIN_VALUE, Integer.MAX_VALUE);
+                } else if (type == long.class || type == Long.class) {
+                    return parseLong(start, end, Long.MIN_VALUE, Long.MAX_VALUE);
+                } else if (type == short.class || type == Short.class) {
+                    return (short) parseLong(start, end, Short.MIN_VALUE, Short.MAX_VALUE);
+                } else if (type == byte.class || type == Byte.class) {
+                    return (byte) parseLong(start, end, Byte.MIN_VALUE, Byte.MAX_VALUE);
+                }
+                String value = decode(start, end);
+                if (type == double.class || type == Double.class) {
+                    return Double.valueOf(value);
+                } else if (type == float.class || type == Float.class) {
+                    return Float.valueOf(value);
+                } else if (type == boolean.class || type == Boolean.class) {
+                    return parseBoolean(value);
+                } else if (type == char.class || type == Character.class) {
+                    if (value.length() != 1) {
+                        throw new IllegalArgumentException();
+                    }
+                    return value.charAt(0);
+                } else if (type == BigInteger.class) {
+                    return new BigInteger(value);
+                } else if (type == BigDecimal.class) {
+                    return new BigDecimal(value);
+                } else {
+                    return enumValue(type, value);
+                }
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Cannot read \"" + decode(start, end)
+                        + "\" in line " + row + " of " + file + " as " + type.getName());
+            }
+        }
+
+        /**
+         * Parses a decimal number from the mapped bytes, without creating a
+         * string first.
+         */
+        private long parseLong(int start, int end, long min, long max) {
+            boolean negative = start < end && window.get(start) == '-';
+            int i = negative || (start < end && window.get(start) == '+') ? start + 1 : start;
+            if (i == end) {
+                throw new IllegalArgumentException();
+            }
+            // Accumulated negatively, as the minimum has the larger magnitude
+            long result = 0;
+            long limit = negative ? min : -max;
+            long multiplicationLimit = limit / 10;
+            for (; i < end; i++) {
+                int digit = window.get(i) - '0';
+                if (digit < 0 || digit > 9 || result < multiplicationLimit) {
+                    throw new IllegalArgumentException();
+                }
+                result *= 10;
+                if (result < limit + digit) {
+                    throw new IllegalArgumentException();
+                }
+                result -= digit;
+            }
+            return negative ? result : -result;
+        }
+
+        private Boolean parseBoolean(String value) {
+            if (value.equalsIgnoreCase("true")) {
+                return Boolean.TRUE;
+            } else if (value.equalsIgnoreCase("false")) {
+                return Boolean.FALSE;
+            }
+            throw new IllegalArgumentException();
+        }
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        private Object enumValue(Class<?> type, String value) {
+            return Enum.valueOf((Class) type, value);
+        }
+
+        private String decode(int start, int end) {
+            ByteBuffer value = window.duplicate();
+            value.limit(end);
+            value.position(start);
+            return UTF_8.decode(value).toString();
+        }
+    }
+}
@@ -0,0 +1,233 @@
+package org.junit.internal.runners.statements;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.internal.AssumptionViolatedException;
+import org.junit.runners.model.Statement;
+import org.junit.runners.model.TestTimedOutException;
+
+/**
+ * A point in time by which a class or suite and all of its children must have
+ * finished. The deadline of the class or suite that is running is the current
+ * deadline of the thread that runs it, and is passed on to the threads that run
+ * its children. Children that have not started by the deadline are skipped,
+ * and tests that are still running are interrupted.
+ *
+ * @since 4.13
+ */
+public final class Deadline {
+    private static final ThreadLocal<Deadline> CURRENT = new ThreadLocal<Deadline>();
+
+    // The interrupt that a statement on the thread has scheduled. Statements
+    // of the same deadline nested in it leave the interrupt to that statement,
+    // so each thread is interrupted only once per deadline.
+    private static final ThreadLocal<Interrupt> ARMED = new ThreadLocal<Interrupt>();
+
+    private final long nanoTime;
+
+    private final long budget;
+
+    private final TimeUnit unit;
+
+    private Deadline(long nanoTime, long budget, TimeUnit unit) {
+        this.nanoTime = nanoTime;
+        this.budget = budget;
+        this.unit = unit;
+    }
+
+    /**
+     * Returns the deadline of the class or suite that the calling thread is
+     * running, or {@code null} if it has none.
+     */
+    public static Deadline current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Returns a deadline that passes after {@code budget} has elapsed, or the
+     * current deadline if that passes earlier.
+     */
+    public static Deadline within(long budget, TimeUnit unit) {
+        Deadline deadline = new Deadline(System.nanoTime() + unit.toNanos(budget), budget, unit);
+        Deadline current = current();
+        return current != null && current.nanoTime - deadline.nanoTime < 0 ? current : deadline;
+    }
+
+    /**
+     * Returns {@code true} if this deadline has passed.
+     */
+    public boolean hasPassed() {
+        return remainingNanos() <= 0;
+    }
+
+    private long remainingNanos() {
+        return nanoTime - System.nanoTime();
+    }
+
+    /**
+     * Runs {@code runnable} with this deadline as the current deadline of the
+     * calling thread.
+     */
+    public void run(Runnable runnable) {
+        Deadline previous = CURRENT.get();
+        CURRENT.set(this);
+        try {
+            runnable.run();
+        } finally {
+            restore(previous);
+        }
+    }
+
+    /**
+     * Returns a statement that evaluates {@code statement} with this deadline
+     * as the current deadline, and interrupts it if it is still running when
+     * this deadline passes. If {@code statement} fails after it has been
+     * interrupted, or with an {@link InterruptedException} after this deadline
+     * has passed, it fails with a {@link TestTimedOutException}. Failed
+     * assumptions are reported unchanged.
+     */
+    public Statement apply(final Statement statement) {
+        return new Statement() {
+            @Override
+            public void evaluate() throws Throwable {
+                Deadline previous = CURRENT.get();
+                Interrupt previousArmed = ARMED.get();
+                CURRENT.set(Deadline.this);
+                try {
+                    if (previousArmed != null && previousArmed.deadline == Deadline.this) {
+                        // An enclosing statement interrupts this thread
+                        evaluateWithinDeadline(statement, previousArmed);
+                    } else {
+                        Interrupt interrupt = new Interrupt(Deadline.this, Thread.currentThread());
+                        ARMED.set(interrupt);
+                        evaluateWithInterrupt(statement, interrupt);
+                    }
+                } finally {
+                    restore(previous);
+                    restoreArmed(previousArmed);
+                }
+            }
+        };
+    }
+
+    private void evaluateWithInterrupt(Statement statement, Interrupt interrupt)
+            throws Throwable {
+        Watchdog.Entry entry = Watchdog.INSTANCE.schedule(
+                interrupt, remainingNanos(), TimeUnit.NANOSECONDS);
+        Throwable failure = null;
+        try {
+            evaluateWithinDeadline(statement, interrupt);
+        } catch (Throwable e) {
+            failure = e;
+        }
+        if (interrupt.finish()) {
+            // Clear the interrupt of the watchdog, it was meant for the test
+            Thread.interrupted();
+            if (failure == null) {
+                TestTimedOutException exception = new TestTimedOutException(budget, unit);
+                exception.setStackTrace(interrupt.getStackTrace());
+                throw exception;
+            }
+        } else {
+            Watchdog.INSTANCE.cancel(entry);
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private void evaluateWithinDeadline(Statement statement, Interrupt interrupt)
+            throws Throwable {
+        try {
+            statement.evaluate();
+        } catch (AssumptionViolatedException e) {
+            throw e;
+        } catch (TestTimedOutException e) {
+            throw e;
+        } catch (InterruptedException e) {
+            throw hasPassed() ? timedOut(e) : e;
+        } catch (Throwable e) {
+            // Failures after the interrupt are most likely caused by it
+            throw interrupt.hasFired() ? timedOut(e) : e;
+        }
+    }
+
+    private TestTimedOutException timedOut(Throwable failure) {
+        TestTimedOutException exception = new TestTimedOutException(budget, unit);
+        exception.setStackTrace(failure.getStackTrace());
+        if (!(failure instanceof TestTimedOutException)) {
+            exception.initCause(failure);
+        }
+        return exception;
+    }
+
+    private static void restoreArmed(Interrupt previous) {
+        if (previous == null) {
+            ARMED.remove();
+        } else {
+            ARMED.set(previous);
+        }
+    }
+
+    private static void restore(Deadline previous) {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+
+    /**
+     * Interrupts the thread that runs a statement of a deadline when the
+     * deadline passes, unless the statement has finished before.
+     */
+    private static final class Interrupt implements Runnable {
+        final Deadline deadline;
+
+        private final Thread thread;
+
+        // Guarded by this
+        private boolean finished = false;
+
+        // Guarded by this
+        private boolean fired = false;
+
+        // Guarded by this
+        private StackTraceElement[] stackTrace = new StackTraceElement[0];
+
+        Interrupt(Deadline deadline, Thread thread) {
+            this.deadline = deadline;
+            this.thread = thread;
+        }
+
+        public synchronized void run() {
+            if (!finished) {
+                fired = true;
+                try {
+                    stackTrace = thread.getStackTrace();
+                } catch (SecurityException e) {
+                    // Report the timeout without the stack trace of the test
+                }
+                thread.interrupt();
+            }
+        }
+
+        synchronized boolean hasFired() {
+            return fired;
+        }
+
+        /**
+         * Marks the statement as finished.
+         *
+         * @return {@code true} if the thread has been interrupted before
+         */
+        synchronized boolean finish() {
+            finished = true;
+            return fired;
+        }
+
+        synchronized StackTraceElement[] getStackTrace() {
+            return stackTrace;
+        }
+    }
+}
@@ -21,6 +21,10 @@ public class FailOnTimeout extends Statement {
     private final TimeUnit timeUnit;
     private final long timeout;
     private final boolean lookForStuckThread;
+    private final boolean runOnCallingThread;
+    private final boolean measureCpuTime;
+    private final boolean countSpawnedThreads;
+    private final int elapsedTimeFactor;
 
     /**
      * Returns a new builder for building an instance.
@@ -48,6 +52,10 @@ public class FailOnTimeout extends Statement {
         timeout = builder.timeout;
         timeUnit = builder.unit;
         lookForStuckThread = builder.lookForStuckThread;
+        runOnCallingThread = builder.runOnCallingThread;
+        measureCpuTime = builder.measureCpuTime || builder.countSpawnedThreads;
+        countSpawnedThreads = builder.countSpawnedThreads;
+        elapsedTimeFactor = builder.elapsedTimeFactor;
     }
 
     /**
@@ -57,6 +65,10 @@ public class FailOnTimeout extends Statement {
      */
     public static class Builder {
         private boolean lookForStuckThread = false;
+        private boolean runOnCallingThread = false;
+        private boolean measureCpuTime = false;
+        private boolean countSpawnedThreads = false;
+        private int elapsedTimeFactor = 10;
         private long timeout = 0;
         private TimeUnit unit = TimeUnit.SECONDS;
 
@@ -102,6 +114,86 @@ public class FailOnTimeout extends Statement {
             return this;
         }
 
+        /**
+         * Specifies whether to run the test on the thread that evaluates the
+         * statement instead of a new thread. If enabled, a watchdog thread that
+         * is shared by all such statements interrupts the test when it times
+         * out. A test that does not react to being interrupted keeps running
+         * until it completes, and is then reported as timed out.
+         *
+         * <p>Tests that look for a stuck thread, or that have a {@code timeout}
+         * of {@code 0}, are run as if this was not enabled.
+         *
+         * @param enable {@code true} to run the test on the calling thread
+         * @return {@code this} for method chaining.
+         * @since 4.13
+         */
+        public Builder withRunningOnCallingThread(boolean enable) {
+            this.runOnCallingThread = enable;
+            return this;
+        }
+
+        /**
+         * Specifies whether the timeout is measured in the CPU time that the
+         * thread that runs the test has consumed, instead of the time that has
+         * elapsed. A test whose thread is descheduled, for example because the
+         * machine is busy with other processes, does not use up its timeout.
+         *
+         * <p>A test that is blocked, sleeping, deadlocked or waiting for I/O
+         * uses no CPU time. So that such a test does not hang forever, it also
+         * times out once the elapsed time exceeds the timeout multiplied by
+         * the {@link #withCpuTimeElapsedFactor(int) elapsed time factor},
+         * which is {@code 10} by default.
+         *
+         * <p>If the JVM cannot measure the CPU time of threads, the timeout is
+         * measured in elapsed time. Tests that measure CPU time are run as if
+         * {@link #withRunningOnCallingThread(boolean)} was not enabled.
+         *
+         * @param enable {@code true} to measure the timeout in CPU time
+         * @return {@code this} for method chaining.
+         * @since 4.13
+         */
+        public Builder withCpuTime(boolean enable) {
+            this.measureCpuTime = enable;
+            return this;
+        }
+
+        /**
+         * Specifies whether the timeout is measured in the CPU time that the
+         * thread that runs the test and the threads that it has started have
+         * consumed together. Enabling this implies {@link #withCpuTime(boolean)}.
+         * The CPU time of started threads that have already terminated is not
+         * counted.
+         *
+         * @param enable {@code true} to count the CPU time of started threads
+         * @return {@code this} for method chaining.
+         * @since 4.13
+         */
+        public Builder withCpuTimeOfSpawnedThreads(boolean enable) {
+            this.countSpawnedThreads = enable;
+            return this;
+        }
+
+        /**
+         * Specifies how many times the timeout may elapse before a test whose
+         * timeout is measured in CPU time times out anyway, for example
+         * because it is blocked and therefore uses no CPU time. Has no effect
+         * unless {@link #withCpuTime(boolean)} is enabled. Defaults to
+         * {@code 10}.
+         *
+         * @param factor the multiple of the timeout that may elapse
+         * @return {@code this} for method chaining.
+         * @since 4.13
+         */
+        public Builder withCpuTimeElapsedFactor(int factor) {
+            if (factor <= 0) {
+                throw new IllegalArgumentException(
+                        "factor must be positive but was " + factor);
+            }
+            this.elapsedTimeFactor = factor;
+            return this;
+        }
+
         /**
          * Builds a {@link FailOnTimeout} instance using the values in this builder,
          * wrapping the given statement.
@@ -118,6 +210,10 @@ public class FailOnTimeout extends Statement {
 
     @Override
     public void evaluate() throws Throwable {
+        if (runOnCallingThread && timeout > 0 && !lookForStuckThread && !measureCpuTime) {
+            evaluateOnCallingThread();
+            return;
+        }
         CallableStatement callable = new CallableStatement();
         FutureTask<Throwable> task = new FutureTask<Throwable>(callable);
         ThreadGroup threadGroup = new ThreadGroup("FailOnTimeoutGroup");
@@ -131,6 +227,28 @@ public class FailOnTimeout extends Statement {
         }
     }
 
+    private void evaluateOnCallingThread() throws Throwable {
+        Interrupter interrupter = new Interrupter(Thread.currentThread());
+        Watchdog.Entry entry = Watchdog.INSTANCE.schedule(interrupter, timeout, timeUnit);
+        Throwable throwable = null;
+        try {
+            originalStatement.evaluate();
+        } catch (Throwable e) {
+            throwable = e;
+        }
+        if (interrupter.finish()) {
+            // Clear the interrupt of the watchdog, it was meant for the test
+            Thread.interrupted();
+            Exception timedOutException = new TestTimedOutException(timeout, timeUnit);
+            timedOutException.setStackTrace(interrupter.getStackTrace());
+            throw timedOutException;
+        }
+        Watchdog.INSTANCE.cancel(entry);
+        if (throwable != null) {
+            throw throwable;
+        }
+    }
+
     /**
      * Wait for the test task, returning the exception thrown by the test if the
      * test failed, an exception indicating a timeout if the test timed out, or
@@ -138,7 +256,9 @@ public class FailOnTimeout extends Statement {
      */
     private Throwable getResult(FutureTask<Throwable> task, Thread thread) {
         try {
-            if (timeout > 0) {
+            if (timeout > 0 && measureCpuTime) {
+                return getWithinCpuTime(task, thread);
+            } else if (timeout > 0) {
                 return task.get(timeout, timeUnit);
             } else {
                 return task.get();
@@ -149,14 +269,114 @@ public class FailOnTimeout extends Statement {
             // test failed; have caller re-throw the exception thrown by the test
             return e.getCause();
         } catch (TimeoutException e) {
-            return createTimeoutException(thread);
+            return createTimeoutException(thread, e instanceof ElapsedTimeExceededException);
         }
     }
 
-    private Exception createTimeoutException(Thread thread) {
+    /**
+     * Waits for the test task until the test has used up its timeout in CPU
+     * time, or in elapsed time if CPU time cannot be measured. Throws an
+     * {@link ElapsedTimeExceededException} if the test uses too little CPU
+     * time to ever use up its timeout but keeps running.
+     */
+    private Throwable getWithinCpuTime(FutureTask<Throwable> task, Thread thread)
+            throws InterruptedException, ExecutionException, TimeoutException {
+        ThreadMXBean mxBean = ManagementFactory.getThreadMXBean();
+        long budget = timeUnit.toNanos(timeout);
+        long elapsedLimit = multiplyByElapsedTimeFactor(budget);
+        long start = System.nanoTime();
+        long cpuTimeAtStart = cpuTimeOfTest(mxBean, thread);
+        while (true) {
+            long cpuTime = cpuTimeOfTest(mxBean, thread);
+            long elapsed = System.nanoTime() - start;
+            long used = cpuTimeAtStart < 0 || cpuTime < 0
+                    ? elapsed : cpuTime - cpuTimeAtStart;
+            long remaining = budget - used;
+            if (remaining <= 0) {
+                throw new TimeoutException();
+            }
+            long remainingElapsed = elapsedLimit - elapsed;
+            if (remainingElapsed <= 0) {
+                throw new ElapsedTimeExceededException();
+            }
+            // The threads of the test cannot use up more than their share of
+            // the remaining CPU time before the next check
+            ThreadGroup group = thread.getThreadGroup();
+            int threadCount = countSpawnedThreads && group != null
+                    ? Math.max(group.activeCount(), 1) : 1;
+            long wait = Math.max(Math.min(remaining / threadCount, remainingElapsed),
+                    TimeUnit.MILLISECONDS.toNanos(1));
+            try {
+                return task.get(wait, TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                // check the CPU time again
+            }
+        }
+    }
+
+    private long multiplyByElapsedTimeFactor(long value) {
+        return value > Long.MAX_VALUE / elapsedTimeFactor
+                ? Long.MAX_VALUE : value * elapsedTimeFactor;
+    }
+
+    /**
+     * Signals that a test whose timeout is measured in CPU time has exceeded
+     * the elapsed time limit.
+     */
+    private static class ElapsedTimeExceededException extends TimeoutException {
+        private static final long serialVersionUID = 1L;
+    }
+
+    /**
+     * Returns the CPU time used by the thread of the test, and the threads it
+     * has started if these are counted, or {@code -1} if it cannot be
+     * determined.
+     */
+    private long cpuTimeOfTest(ThreadMXBean mxBean, Thread thread) {
+        if (!mxBean.isThreadCpuTimeSupported()) {
+            return -1;
+        }
+        ThreadGroup group = thread.getThreadGroup();
+        if (!countSpawnedThreads || group == null) {
+            return cpuTimeOrMinusOne(mxBean, thread);
+        }
+        long total = 0;
+        for (Thread each : getThreadsInGroup(group)) {
+            long cpuTime = cpuTimeOrMinusOne(mxBean, each);
+            if (cpuTime < 0 && each == thread) {
+                return -1;
+            }
+            // Threads that have terminated in the meantime are not counted
+            total += Math.max(cpuTime, 0);
+        }
+        return total;
+    }
+
+    private long cpuTimeOrMinusOne(ThreadMXBean mxBean, Thread thread) {
+        try {
+            return mxBean.getThreadCpuTime(thread.getId());
+        } catch (UnsupportedOperationException e) {
+            return -1;
+        }
+    }
+
+    private Exception createTimeoutException(Thread thread, boolean elapsedTimeExceeded) {
         StackTraceElement[] stackTrace = thread.getStackTrace();
         final Thread stuckThread = lookForStuckThread ? getStuckThread(thread) : null;
-        Exception currThreadException = new TestTimedOutException(timeout, timeUnit);
+        String unitName = timeUnit.name().toLowerCase();
+        Exception currThreadException;
+        if (elapsedTimeExceeded) {
+            currThreadException = new TestTimedOutException(String.format(
+                    "test did not complete within %d %s although it used less than %d %s of CPU time",
+                    multiplyByElapsedTimeFactor(timeout), unitName, timeout, unitName),
+                    timeout, timeUnit);
+        } else if (measureCpuTime) {
+            currThreadException = new TestTimedOutException(String.format(
+                    "test used more than %d %s of CPU time", timeout, unitName),
+                    timeout, timeUnit);
+        } else {
+            currThreadException = new TestTimedOutException(timeout, timeUnit);
+        }
         if (stackTrace != null) {
             currThreadException.setStackTrace(stackTrace);
             thread.interrupt();
@@ -265,6 +485,53 @@ public class FailOnTimeout extends Statement {
         return 0;
     }
 
+    /**
+     * Interrupts a test that runs on the calling thread when it times out,
+     * unless the test has finished before.
+     */
+    private static class Interrupter implements Runnable {
+        private final Thread thread;
+
+        // Guarded by this
+        private boolean finished = false;
+
+        // Guarded by this
+        private boolean timedOut = false;
+
+        // Guarded by this
+        private StackTraceElement[] stackTrace = new StackTraceElement[0];
+
+        Interrupter(Thread thread) {
+            this.thread = thread;
+        }
+
+        public synchronized void run() {
+            if (!finished) {
+                timedOut = true;
+                try {
+                    stackTrace = thread.getStackTrace();
+                } catch (SecurityException e) {
+                    // Report the timeout without the stack trace of the test
+                }
+                thread.interrupt();
+            }
+        }
+
+        /**
+         * Marks the test as finished.
+         *
+         * @return {@code true} if the test has timed out before
+         */
+        synchronized boolean finish() {
+            finished = true;
+            return timedOut;
+        }
+
+        synchronized StackTraceElement[] getStackTrace() {
+            return stackTrace;
+        }
+    }
+
     private class CallableStatement implements Callable<Throwable> {
         private final CountDownLatch startLatch = new CountDownLatch(1);
 
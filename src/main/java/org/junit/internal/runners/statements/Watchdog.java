@@ -0,0 +1,131 @@
+package org.junit.internal.runners.statements;
+
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A single daemon thread that runs actions when their deadlines have passed.
+ * It is shared by all {@link FailOnTimeout} statements that run their tests on
+ * the calling thread and by all {@link Deadline deadlines}, so these tests do
+ * not need a thread each. The thread is
+ * started when the first action is scheduled and stops after it has been idle
+ * for {@link #IDLE_MILLIS}.
+ */
+final class Watchdog {
+    static final long IDLE_MILLIS = 1000;
+
+    static final Watchdog INSTANCE = new Watchdog();
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    // Guarded by this
+    private final SortedSet<Entry> entries = new TreeSet<Entry>();
+
+    // Guarded by this
+    private Thread thread = null;
+
+    /**
+     * Runs {@code action} on the watchdog thread after {@code timeout} has
+     * elapsed, unless it is cancelled before.
+     */
+    synchronized Entry schedule(Runnable action, long timeout, TimeUnit unit) {
+        Entry entry = new Entry(action, System.nanoTime() + unit.toNanos(timeout),
+                sequence.getAndIncrement());
+        entries.add(entry);
+        if (thread == null) {
+            thread = new Thread(new Runnable() {
+                public void run() {
+                    watch();
+                }
+            }, "FailOnTimeout-watchdog");
+            thread.setDaemon(true);
+            thread.start();
+        } else if (entries.first() == entry) {
+            notifyAll();
+        }
+        return entry;
+    }
+
+    /**
+     * Removes {@code entry} if its action has not been run yet.
+     */
+    synchronized void cancel(Entry entry) {
+        entries.remove(entry);
+    }
+
+    private void watch() {
+        while (true) {
+            Entry due;
+            synchronized (this) {
+                due = nextDueEntry();
+                if (due == null) {
+                    thread = null;
+                    return;
+                }
+                entries.remove(due);
+            }
+            try {
+                due.action.run();
+            } catch (Throwable e) {
+                // The watchdog must survive a failing action
+                e.printStackTrace(System.err);
+            }
+        }
+    }
+
+    /**
+     * Waits for the first entry to become due. Returns {@code null} if there
+     * has been nothing to do for {@link #IDLE_MILLIS}.
+     */
+    private Entry nextDueEntry() {
+        long idleSince = System.nanoTime();
+        while (true) {
+            long now = System.nanoTime();
+            long waitNanos;
+            if (entries.isEmpty()) {
+                waitNanos = TimeUnit.MILLISECONDS.toNanos(IDLE_MILLIS) - (now - idleSince);
+                if (waitNanos <= 0) {
+                    return null;
+                }
+            } else {
+                Entry first = entries.first();
+                waitNanos = first.deadline - now;
+                if (waitNanos <= 0) {
+                    return first;
+                }
+                idleSince = now;
+            }
+            try {
+                TimeUnit.NANOSECONDS.timedWait(this, waitNanos);
+            } catch (InterruptedException e) {
+                // Nobody interrupts the watchdog thread; keep watching
+            }
+        }
+    }
+
+    static final class Entry implements Comparable<Entry> {
+        final Runnable action;
+
+        final long deadline;
+
+        final long sequenceNumber;
+
+        Entry(Runnable action, long deadline, long sequenceNumber) {
+            this.action = action;
+            this.deadline = deadline;
+            this.sequenceNumber = sequenceNumber;
+        }
+
+        public int compareTo(Entry other) {
+            // Deadlines of System.nanoTime() must be compared by difference
+            long difference = deadline - other.deadline;
+            if (difference != 0) {
+                return difference < 0 ? -1 : 1;
+            }
+            return sequenceNumber < other.sequenceNumber ? -1
+                    : (sequenceNumber == other.sequenceNumber ? 0 : 1);
+        }
+    }
+}
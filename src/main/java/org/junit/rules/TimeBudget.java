@@ -0,0 +1,82 @@
+package org.junit.rules;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.internal.runners.statements.Deadline;
+import org.junit.runner.Description;
+import org.junit.runners.model.Statement;
+
+/**
+ * The TimeBudget Rule limits the time that a class or suite may take as a
+ * whole, including its class-level fixtures:
+ * <pre>
+ * &#064;RunWith(Suite.class)
+ * &#064;SuiteClasses({DatabaseTest.class, ServerTest.class})
+ * public class IntegrationTests {
+ *
+ *  &#064;ClassRule
+ *  public static TimeBudget budget = TimeBudget.minutes(10);
+ * }
+ * </pre>
+ * <p>
+ * The budget is passed on to the children of the class or suite as a deadline.
+ * Children that have not started when the deadline passes are reported as
+ * ignored, and tests and class-level fixtures that are still running are
+ * interrupted via {@link Thread#interrupt()} and fail with a
+ * {@link org.junit.runners.model.TestTimedOutException}. A budget of a
+ * nested class or suite ends no later than the budget of its parent.
+ * <p>
+ * Tests are run on the threads that run them anyway, and a single watchdog
+ * thread interrupts them. A test that does not react to being interrupted keeps
+ * running until it completes.
+ *
+ * @since 4.13
+ */
+public class TimeBudget implements TestRule {
+    private final long budget;
+    private final TimeUnit timeUnit;
+
+    /**
+     * Create a {@code TimeBudget} instance with the budget specified at the
+     * granularity of the provided {@code TimeUnit}.
+     *
+     * @param budget the maximum time that the class or suite may take
+     * @param timeUnit the time unit for the {@code budget}
+     * @throws IllegalArgumentException if {@code budget} is not positive
+     */
+    public TimeBudget(long budget, TimeUnit timeUnit) {
+        if (budget <= 0) {
+            throw new IllegalArgumentException("budget must be positive but was " + budget);
+        }
+        if (timeUnit == null) {
+            throw new NullPointerException("TimeUnit cannot be null");
+        }
+        this.budget = budget;
+        this.timeUnit = timeUnit;
+    }
+
+    /**
+     * Creates a {@link TimeBudget} of the given duration, in seconds.
+     */
+    public static TimeBudget seconds(long seconds) {
+        return new TimeBudget(seconds, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Creates a {@link TimeBudget} of the given duration, in minutes.
+     */
+    public static TimeBudget minutes(long minutes) {
+        // TimeUnit.MINUTES does not exist in Java 5
+        return new TimeBudget(minutes * 60, TimeUnit.SECONDS);
+    }
+
+    public Statement apply(final Statement base, Description description) {
+        return new Statement() {
+            @Override
+            public void evaluate() throws Throwable {
+                // The budget starts when the class or suite starts
+                Deadline.within(budget, timeUnit).apply(base).evaluate();
+            }
+        };
+    }
+}
@@ -31,6 +31,9 @@ import java.util.concurrent.TimeUnit;
  * This happens in interruptable I/O and locks, and methods in {@link Object}
  * and {@link Thread} throwing {@link InterruptedException}.
  * <p>
+ * With {@link Builder#withRunningOnCallingThread(boolean)}, the tests are run
+ * on the calling thread instead, and a single watchdog thread interrupts them.
+ * <p>
  * A specified timeout of 0 will be interpreted as not set, however tests will
  * still launch from separate threads. This can be useful for disabling timeouts
  * in environments where they are dynamically set based on some property.
@@ -41,6 +44,10 @@ public class Timeout implements TestRule {
     private final long timeout;
     private final TimeUnit timeUnit;
     private final boolean lookForStuckThread;
+    private final boolean runOnCallingThread;
+    private final boolean measureCpuTime;
+    private final boolean countSpawnedThreads;
+    private final int elapsedTimeFactor;
 
     /**
      * Returns a new builder for building an instance.
@@ -81,6 +88,10 @@ public class Timeout implements TestRule {
         this.timeout = timeout;
         this.timeUnit = timeUnit;
         lookForStuckThread = false;
+        runOnCallingThread = false;
+        measureCpuTime = false;
+        countSpawnedThreads = false;
+        elapsedTimeFactor = 10;
     }
 
     /**
@@ -93,6 +104,10 @@ public class Timeout implements TestRule {
         timeout = builder.getTimeout();
         timeUnit = builder.getTimeUnit();
         lookForStuckThread = builder.getLookingForStuckThread();
+        runOnCallingThread = builder.getRunningOnCallingThread();
+        measureCpuTime = builder.getCpuTime();
+        countSpawnedThreads = builder.getCpuTimeOfSpawnedThreads();
+        elapsedTimeFactor = builder.getCpuTimeElapsedFactor();
     }
 
     /**
@@ -134,6 +149,44 @@ public class Timeout implements TestRule {
         return lookForStuckThread;
     }
 
+    /**
+     * Gets whether this {@code Timeout} runs the tests on the calling thread.
+     *
+     * @since 4.13
+     */
+    protected final boolean getRunningOnCallingThread() {
+        return runOnCallingThread;
+    }
+
+    /**
+     * Gets whether this {@code Timeout} is measured in CPU time.
+     *
+     * @since 4.13
+     */
+    protected final boolean getCpuTime() {
+        return measureCpuTime;
+    }
+
+    /**
+     * Gets whether this {@code Timeout} counts the CPU time of the threads
+     * that a test starts.
+     *
+     * @since 4.13
+     */
+    protected final boolean getCpuTimeOfSpawnedThreads() {
+        return countSpawnedThreads;
+    }
+
+    /**
+     * Gets how many times the timeout may elapse before a test whose timeout
+     * is measured in CPU time times out anyway.
+     *
+     * @since 4.13
+     */
+    protected final int getCpuTimeElapsedFactor() {
+        return elapsedTimeFactor;
+    }
+
     /**
      * Creates a {@link Statement} that will run the given
      * {@code statement}, and timeout the operation based
@@ -147,6 +200,10 @@ public class Timeout implements TestRule {
         return FailOnTimeout.builder()
             .withTimeout(timeout, timeUnit)
             .withLookingForStuckThread(lookForStuckThread)
+            .withRunningOnCallingThread(runOnCallingThread)
+            .withCpuTime(measureCpuTime)
+            .withCpuTimeOfSpawnedThreads(countSpawnedThreads)
+            .withCpuTimeElapsedFactor(elapsedTimeFactor)
             .build(statement);
     }
 
@@ -169,6 +226,10 @@ public class Timeout implements TestRule {
      */
     public static class Builder {
         private boolean lookForStuckThread = false;
+        private boolean runOnCallingThread = false;
+        private boolean measureCpuTime = false;
+        private boolean countSpawnedThreads = false;
+        private int elapsedTimeFactor = 10;
         private long timeout = 0;
         private TimeUnit timeUnit = TimeUnit.SECONDS;
 
@@ -222,6 +283,98 @@ public class Timeout implements TestRule {
             return lookForStuckThread;
         }
 
+        /**
+         * Specifies whether to run the tests on the thread that runs them
+         * anyway instead of a new thread for each test. If enabled, a single
+         * watchdog thread interrupts the tests that time out, so a class with
+         * many tests does not start a thread for each of them. A test that does
+         * not react to being interrupted keeps running until it completes, and
+         * is then reported as timed out.
+         *
+         * <p>Rules that look for a stuck thread, or that have a timeout of
+         * {@code 0}, still run each test on a new thread.
+         *
+         * @param enable {@code true} to run the tests on the calling thread
+         * @return {@code this} for method chaining.
+         * @since 4.13
+         */
+        public Builder withRunningOnCallingThread(boolean enable) {
+            this.runOnCallingThread = enable;
+            return this;
+        }
+
+        protected boolean getRunningOnCallingThread() {
+            return runOnCallingThread;
+        }
+
+        /**
+         * Specifies whether the timeout is measured in the CPU time that the
+         * thread that runs a test has consumed, instead of the time that has
+         * elapsed. Tests whose threads are descheduled on a busy machine do
+         * not use up their timeout, so timeouts can be tight enough to catch
+         * tests that have become slower.
+         *
+         * <p>Tests that are blocked, sleeping, deadlocked or waiting for I/O
+         * use no CPU time. They time out once the elapsed time exceeds the
+         * timeout multiplied by the
+         * {@link #withCpuTimeElapsedFactor(int) elapsed time factor}, which is
+         * {@code 10} by default.
+         *
+         * <p>If the JVM cannot measure the CPU time of threads, the timeout is
+         * measured in elapsed time. Tests are run on a new thread even if
+         * {@link #withRunningOnCallingThread(boolean)} is enabled.
+         *
+         * @param enable {@code true} to measure the timeout in CPU time
+         * @return {@code this} for method chaining.
+         * @since 4.13
+         */
+        public Builder withCpuTime(boolean enable) {
+            this.measureCpuTime = enable;
+            return this;
+        }
+
+        protected boolean getCpuTime() {
+            return measureCpuTime;
+        }
+
+        /**
+         * Specifies whether the CPU time of the threads that a test starts is
+         * added to the CPU time of the test. Enabling this implies
+         * {@link #withCpuTime(boolean)}. The CPU time of started threads that
+         * have already terminated is not counted.
+         *
+         * @param enable {@code true} to count the CPU time of started threads
+         * @return {@code this} for method chaining.
+         * @since 4.13
+         */
+        public Builder withCpuTimeOfSpawnedThreads(boolean enable) {
+            this.countSpawnedThreads = enable;
+            return this;
+        }
+
+        protected boolean getCpuTimeOfSpawnedThreads() {
+            return countSpawnedThreads;
+        }
+
+        /**
+         * Specifies how many times the timeout may elapse before a test whose
+         * timeout is measured in CPU time times out anyway, for example
+         * because it is blocked and therefore uses no CPU time. Has no effect
+         * unless {@link #withCpuTime(boolean)} is enabled. Defaults to
+         * {@code 10}.
+         *
+         * @param factor the multiple of the timeout that may elapse
+         * @return {@code this} for method chaining.
+         * @since 4.13
+         */
+        public Builder withCpuTimeElapsedFactor(int factor) {
+            this.elapsedTimeFactor = factor;
+            return this;
+        }
+
+        protected int getCpuTimeElapsedFactor() {
+            return elapsedTimeFactor;
+        }
 
         /**
          * Builds a {@link Timeout} instance using the values in this builder.,
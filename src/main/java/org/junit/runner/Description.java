@@ -1,5 +1,7 @@
 package org.junit.runner;
 
+import java.io.IOException;
+import java.io.ObjectOutputStream;
 import java.io.Serializable;
 import java.lang.annotation.Annotation;
 import java.util.ArrayList;
@@ -152,11 +154,12 @@ public class Description implements Serializable {
      * serialization compatibility. 
      * See https://github.com/junit-team/junit4/issues/976
      */
-    private final Collection<Description> fChildren = new ConcurrentLinkedQueue<Description>();
+    private volatile /* created on first use */ Collection<Description> fChildren = null;
     private final String fDisplayName;
     private final Serializable fUniqueId;
     private final Annotation[] fAnnotations;
     private volatile /* write-once */ Class<?> fTestClass;
+    private int fDeferredTestCount = 0;
 
     private Description(Class<?> clazz, String displayName, Annotation... annotations) {
         this(clazz, displayName, displayName, annotations);
@@ -190,7 +193,19 @@ public class Description implements Serializable {
      * @param description the soon-to-be child.
      */
     public void addChild(Description description) {
-        fChildren.add(description);
+        Collection<Description> children = fChildren;
+        if (children == null) {
+            synchronized (this) {
+                children = fChildren;
+                if (children == null) {
+                    // Most descriptions are tests, so the queue is only
+                    // created for suites
+                    children = new ConcurrentLinkedQueue<Description>();
+                    fChildren = children;
+                }
+            }
+        }
+        children.add(description);
     }
 
     /**
@@ -198,7 +213,9 @@ public class Description implements Serializable {
      * Returns an empty list if there are no children.
      */
     public ArrayList<Description> getChildren() {
-        return new ArrayList<Description>(fChildren);
+        Collection<Description> children = fChildren;
+        return children == null ? new ArrayList<Description>()
+                : new ArrayList<Description>(children);
     }
 
     /**
@@ -212,13 +229,20 @@ public class Description implements Serializable {
      * @return <code>true</code> if the receiver is an atomic test
      */
     public boolean isTest() {
-        return fChildren.isEmpty();
+        if (fDeferredTestCount > 0) {
+            return false;
+        }
+        Collection<Description> children = fChildren;
+        return children == null || children.isEmpty();
     }
 
     /**
      * @return the total number of atomic tests in the receiver
      */
     public int testCount() {
+        if (fDeferredTestCount > 0) {
+            return fDeferredTestCount;
+        }
         if (isTest()) {
             return 1;
         }
@@ -263,6 +287,21 @@ public class Description implements Serializable {
         return new Description(fTestClass, fDisplayName, fAnnotations);
     }
 
+    /**
+     * Returns a copy of this description for a suite whose tests have not been
+     * described yet. The copy has no children, but it is a suite of
+     * {@code testCount} tests. Runners use it to report a suite without
+     * describing all of its tests up front.
+     *
+     * @param testCount the number of tests in the suite
+     * @since 4.13
+     */
+    public Description deferredCopy(int testCount) {
+        Description copy = new Description(fTestClass, fDisplayName, fUniqueId, fAnnotations);
+        copy.fDeferredTestCount = testCount;
+        return copy;
+    }
+
     /**
      * @return the annotation of type annotationType that is attached to this description node,
      *         or null if none exists
@@ -319,6 +358,21 @@ public class Description implements Serializable {
         return methodAndClassNamePatternGroupOrDefault(1, null);
     }
 
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        // Older versions expect every description to have a collection of
+        // children
+        ObjectOutputStream.PutField fields = out.putFields();
+        Collection<Description> children = fChildren;
+        fields.put("fChildren", children == null
+                ? new ConcurrentLinkedQueue<Description>() : children);
+        fields.put("fDisplayName", fDisplayName);
+        fields.put("fUniqueId", fUniqueId);
+        fields.put("fAnnotations", fAnnotations);
+        fields.put("fTestClass", fTestClass);
+        fields.put("fDeferredTestCount", fDeferredTestCount);
+        out.writeFields();
+    }
+
     private String methodAndClassNamePatternGroupOrDefault(int group,
             String defaultString) {
         Matcher matcher = METHOD_AND_CLASS_NAME_PATTERN.matcher(toString());
@@ -0,0 +1,215 @@
+package org.junit.runner;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.runner.notification.Failure;
+import org.junit.runner.notification.RunListener;
+import org.junit.runner.notification.RunNotifier;
+import org.junit.runner.notification.StoppedByUserException;
+
+/**
+ * Runs a {@link Runner} until a number of tests have failed. The runner
+ * reports to a notifier of its own, whose events are forwarded to the
+ * notifier of the {@link JUnitCore}. When the limit is reached, that notifier
+ * is asked to stop, so that children that have not started yet are skipped,
+ * and the threads that are running other tests are interrupted.
+ *
+ * <p>If the runner has not returned a grace period later, the thread that
+ * runs it is interrupted, which makes the schedulers stop waiting for their
+ * children. Tests that are still running then are reported as finished and
+ * their later events are dropped.
+ */
+class FailFastRun {
+    private final RunNotifier notifier;
+
+    private final int maxFailures;
+
+    private final long gracePeriodMillis;
+
+    private final RunNotifier runNotifier = new RunNotifier();
+
+    // Guarded by this
+    private final Map<Thread, Description> runningTests = new HashMap<Thread, Description>();
+
+    private Thread runThread;
+
+    private Thread watchdog;
+
+    private int failures = 0;
+
+    private boolean stopped = false;
+
+    private boolean finished = false;
+
+    private boolean runThreadInterrupted = false;
+
+    FailFastRun(RunNotifier notifier, int maxFailures, long gracePeriodMillis) {
+        this.notifier = notifier;
+        this.maxFailures = maxFailures;
+        this.gracePeriodMillis = gracePeriodMillis;
+        runNotifier.setLazyDescriptions(notifier.usesLazyDescriptions());
+        runNotifier.addListener(new Forwarder());
+    }
+
+    /**
+     * Runs {@code runner} and returns when it has finished, or when the grace
+     * period after the last allowed failure is over.
+     */
+    void run(Runner runner) {
+        synchronized (this) {
+            runThread = Thread.currentThread();
+        }
+        try {
+            runner.run(runNotifier);
+        } catch (StoppedByUserException e) {
+            synchronized (this) {
+                if (!stopped) {
+                    throw e;
+                }
+            }
+        } finally {
+            finish();
+        }
+    }
+
+    private void finish() {
+        List<Description> abandonedTests;
+        synchronized (this) {
+            finished = true;
+            if (watchdog != null) {
+                watchdog.interrupt();
+            }
+            if (runThreadInterrupted) {
+                Thread.interrupted();
+            }
+            abandonedTests = new ArrayList<Description>(runningTests.values());
+            runningTests.clear();
+        }
+        for (Description each : abandonedTests) {
+            notifier.fireTestFinished(each);
+        }
+    }
+
+    private synchronized boolean testStarted(Description description) {
+        if (finished) {
+            return false;
+        }
+        runningTests.put(Thread.currentThread(), description);
+        return true;
+    }
+
+    private synchronized boolean testFinished(Description description) {
+        if (finished) {
+            return false;
+        }
+        if (description.equals(runningTests.get(Thread.currentThread()))) {
+            runningTests.remove(Thread.currentThread());
+        } else {
+            // Reported by another thread than the one that started it
+            runningTests.values().remove(description);
+        }
+        return true;
+    }
+
+    private synchronized boolean testFailed() {
+        if (finished) {
+            return false;
+        }
+        failures++;
+        if (failures == maxFailures) {
+            stop();
+        }
+        return true;
+    }
+
+    private void stop() {
+        stopped = true;
+        runNotifier.pleaseStop();
+        for (Thread each : runningTests.keySet()) {
+            // The run thread is only interrupted after the grace period, as
+            // that makes its schedulers stop waiting for the other threads
+            if (each != Thread.currentThread() && each != runThread) {
+                each.interrupt();
+            }
+        }
+        watchdog = new Thread("FailFastRun-watchdog") {
+            @Override
+            public void run() {
+                try {
+                    Thread.sleep(gracePeriodMillis);
+                } catch (InterruptedException e) {
+                    return;
+                }
+                interruptRunThread();
+            }
+        };
+        watchdog.setDaemon(true);
+        watchdog.start();
+    }
+
+    private synchronized void interruptRunThread() {
+        if (!finished) {
+            runThreadInterrupted = true;
+            runThread.interrupt();
+        }
+    }
+
+    private synchronized boolean isFinished() {
+        return finished;
+    }
+
+    @RunListener.ThreadSafe
+    private class Forwarder extends RunListener {
+        @Override
+        public void testSuiteStarted(Description description) {
+            if (!isFinished()) {
+                notifier.fireTestSuiteStarted(description);
+            }
+        }
+
+        @Override
+        public void testSuiteFinished(Description description) {
+            if (!isFinished()) {
+                notifier.fireTestSuiteFinished(description);
+            }
+        }
+
+        @Override
+        public void testStarted(Description description) {
+            if (FailFastRun.this.testStarted(description)) {
+                notifier.fireTestStarted(description);
+            }
+        }
+
+        @Override
+        public void testFinished(Description description) {
+            if (FailFastRun.this.testFinished(description)) {
+                notifier.fireTestFinished(description);
+            }
+        }
+
+        @Override
+        public void testFailure(Failure failure) {
+            if (testFailed()) {
+                notifier.fireTestFailure(failure);
+            }
+        }
+
+        @Override
+        public void testAssumptionFailure(Failure failure) {
+            if (!isFinished()) {
+                notifier.fireTestAssumptionFailed(failure);
+            }
+        }
+
+        @Override
+        public void testIgnored(Description description) {
+            if (!isFinished()) {
+                notifier.fireTestIgnored(description);
+            }
+        }
+    }
+}
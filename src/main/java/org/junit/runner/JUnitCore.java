@@ -1,5 +1,9 @@
 package org.junit.runner;
 
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
 import junit.runner.Version;
 import org.junit.internal.JUnitSystem;
 import org.junit.internal.RealSystem;
@@ -24,6 +28,12 @@ import org.junit.runner.notification.RunNotifier;
 public class JUnitCore {
     private final RunNotifier notifier = new RunNotifier();
 
+    private int maxFailures = 0;
+
+    private long gracePeriodMillis = 0;
+
+    private final Set<RunListener> listenersRequiringDescriptionTree = new HashSet<RunListener>();
+
     /**
      * Run the tests contained in the classes named in the <code>args</code>.
      * If all tests run successfully, exit with a status of 0. Otherwise exit with a status of 1.
@@ -133,8 +143,12 @@ public class JUnitCore {
         RunListener listener = result.createListener();
         notifier.addFirstListener(listener);
         try {
-            notifier.fireTestRunStarted(runner.getDescription());
-            runner.run(notifier);
+            notifier.fireTestRunStarted(describe(runner));
+            if (maxFailures == 0) {
+                runner.run(notifier);
+            } else {
+                new FailFastRun(notifier, maxFailures, gracePeriodMillis).run(runner);
+            }
             notifier.fireTestRunFinished(result);
         } finally {
             removeListener(listener);
@@ -142,6 +156,59 @@ public class JUnitCore {
         return result;
     }
 
+    private Description describe(Runner runner) {
+        if (notifier.usesLazyDescriptions() && listenersRequiringDescriptionTree.isEmpty()) {
+            return runner.getLazyDescription();
+        }
+        return runner.getDescription();
+    }
+
+    /**
+     * Describes the tests of later runs lazily. Suites are then reported with
+     * descriptions that count their tests but do not contain them, and each
+     * class is described when it runs, so the descriptions of a large suite
+     * are never all in memory at the same time. Listeners that need the
+     * descriptions of all tests when the run starts can be annotated with
+     * {@link RunListener.RequiresDescriptionTree}.
+     *
+     * @param lazyDescriptions whether to describe tests lazily
+     * @since 4.13
+     */
+    public void setLazyDescriptions(boolean lazyDescriptions) {
+        notifier.setLazyDescriptions(lazyDescriptions);
+    }
+
+    /**
+     * Stops later runs as soon as {@code maxFailures} tests have failed. Tests
+     * that have not started yet are skipped, including their
+     * {@code @BeforeClass} methods, and tests that are running on other
+     * threads, for example with a {@link org.junit.experimental.ParallelComputer},
+     * are interrupted. If the run has not ended {@code gracePeriod} after the
+     * last allowed failure, it returns anyway: tests that are still running
+     * are reported as finished, and their later events are not reported.
+     *
+     * <p>The returned {@link Result} describes the tests that were run until
+     * then.
+     *
+     * @param maxFailures the number of failures after which a run is stopped,
+     *         or {@code 0} to never stop a run because of failures
+     * @param gracePeriod the time that running tests are given to end
+     * @param unit the unit of {@code gracePeriod}
+     * @since 4.13
+     */
+    public void setFailFast(int maxFailures, long gracePeriod, TimeUnit unit) {
+        if (maxFailures < 0) {
+            throw new IllegalArgumentException(
+                    "maxFailures must not be negative but was " + maxFailures);
+        }
+        if (gracePeriod < 0) {
+            throw new IllegalArgumentException(
+                    "gracePeriod must not be negative but was " + gracePeriod);
+        }
+        this.maxFailures = maxFailures;
+        this.gracePeriodMillis = unit.toMillis(gracePeriod);
+    }
+
     /**
      * Add a listener to be notified as the tests run.
      *
@@ -150,6 +217,9 @@ public class JUnitCore {
      */
     public void addListener(RunListener listener) {
         notifier.addListener(listener);
+        if (listener.getClass().isAnnotationPresent(RunListener.RequiresDescriptionTree.class)) {
+            listenersRequiringDescriptionTree.add(listener);
+        }
     }
 
     /**
@@ -159,6 +229,7 @@ public class JUnitCore {
      */
     public void removeListener(RunListener listener) {
         notifier.removeListener(listener);
+        listenersRequiringDescriptionTree.remove(listener);
     }
 
     static Computer defaultComputer() {
@@ -26,6 +26,20 @@ public abstract class Runner implements Describable {
      */
     public abstract Description getDescription();
 
+    /**
+     * Returns a description of this runner for a run in which tests are
+     * described lazily, see {@link JUnitCore#setLazyDescriptions(boolean)}.
+     * Runners of suites may return a {@link Description#deferredCopy(int)
+     * deferred} description and leave it to their children to describe
+     * themselves when they run. The default implementation returns
+     * {@link #getDescription()}.
+     *
+     * @since 4.13
+     */
+    public Description getLazyDescription() {
+        return getDescription();
+    }
+
     /**
      * Run the tests for this runner.
      *
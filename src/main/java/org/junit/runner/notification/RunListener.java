@@ -165,4 +165,20 @@ public class RunListener {
     @Retention(RetentionPolicy.RUNTIME)
     public @interface ThreadSafe {
     }
+
+    /**
+     * Indicates a {@code RunListener} that needs the descriptions of all tests
+     * when the run starts. {@link org.junit.runner.JUnitCore} then passes the
+     * complete tree of descriptions to {@link #testRunStarted(Description)},
+     * even if it has been asked to
+     * {@link org.junit.runner.JUnitCore#setLazyDescriptions(boolean) describe
+     * tests lazily}.
+     *
+     * @since 4.13
+     */
+    @Documented
+    @Target(ElementType.TYPE)
+    @Retention(RetentionPolicy.RUNTIME)
+    public @interface RequiresDescriptionTree {
+    }
 }
@@ -4,7 +4,6 @@ import static java.util.Arrays.asList;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.concurrent.CopyOnWriteArrayList;
 
 import org.junit.runner.Description;
 import org.junit.runner.Result;
@@ -19,8 +18,14 @@ import org.junit.runner.Result;
  * @since 4.0
  */
 public class RunNotifier {
-    private final List<RunListener> listeners = new CopyOnWriteArrayList<RunListener>();
+    private static final RunListener[] NO_LISTENERS = new RunListener[0];
+
+    // Replaced on every change, so that events can be dispatched to a
+    // snapshot without copying or iterating a list
+    private volatile RunListener[] listeners = NO_LISTENERS;
+    private final Object listenersLock = new Object();
     private volatile boolean pleaseStop = false;
+    private volatile boolean lazyDescriptions = false;
 
     /**
      * Internal use only
@@ -29,7 +34,13 @@ public class RunNotifier {
         if (listener == null) {
             throw new NullPointerException("Cannot add a null listener");
         }
-        listeners.add(wrapIfNotThreadSafe(listener));
+        RunListener wrapped = wrapIfNotThreadSafe(listener);
+        synchronized (listenersLock) {
+            RunListener[] newListeners = new RunListener[listeners.length + 1];
+            System.arraycopy(listeners, 0, newListeners, 0, listeners.length);
+            newListeners[listeners.length] = wrapped;
+            listeners = newListeners;
+        }
     }
 
     /**
@@ -39,7 +50,18 @@ public class RunNotifier {
         if (listener == null) {
             throw new NullPointerException("Cannot remove a null listener");
         }
-        listeners.remove(wrapIfNotThreadSafe(listener));
+        RunListener wrapped = wrapIfNotThreadSafe(listener);
+        synchronized (listenersLock) {
+            for (int i = 0; i < listeners.length; i++) {
+                if (wrapped.equals(listeners[i])) {
+                    RunListener[] newListeners = new RunListener[listeners.length - 1];
+                    System.arraycopy(listeners, 0, newListeners, 0, i);
+                    System.arraycopy(listeners, i + 1, newListeners, i, newListeners.length - i);
+                    listeners = newListeners;
+                    return;
+                }
+            }
+        }
     }
 
     /**
@@ -51,58 +73,121 @@ public class RunNotifier {
                 listener : new SynchronizedRunListener(listener, this);
     }
 
+    /**
+     * An event that is dispatched to listeners. There is one instance per
+     * kind of event, so dispatching an event allocates nothing.
+     */
+    private enum Event {
+        TEST_RUN_STARTED {
+            @Override
+            void notifyListener(RunListener listener, Object argument) throws Exception {
+                listener.testRunStarted((Description) argument);
+            }
+        },
+        TEST_RUN_FINISHED {
+            @Override
+            void notifyListener(RunListener listener, Object argument) throws Exception {
+                listener.testRunFinished((Result) argument);
+            }
+        },
+        TEST_SUITE_STARTED {
+            @Override
+            void notifyListener(RunListener listener, Object argument) throws Exception {
+                listener.testSuiteStarted((Description) argument);
+            }
+        },
+        TEST_SUITE_FINISHED {
+            @Override
+            void notifyListener(RunListener listener, Object argument) throws Exception {
+                listener.testSuiteFinished((Description) argument);
+            }
+        },
+        TEST_STARTED {
+            @Override
+            void notifyListener(RunListener listener, Object argument) throws Exception {
+                listener.testStarted((Description) argument);
+            }
+        },
+        TEST_FAILURE {
+            @Override
+            void notifyListener(RunListener listener, Object argument) throws Exception {
+                listener.testFailure((Failure) argument);
+            }
+        },
+        TEST_FAILURES {
+            @Override
+            @SuppressWarnings("unchecked")
+            void notifyListener(RunListener listener, Object argument) throws Exception {
+                for (Failure each : (List<Failure>) argument) {
+                    listener.testFailure(each);
+                }
+            }
+        },
+        TEST_ASSUMPTION_FAILED {
+            @Override
+            void notifyListener(RunListener listener, Object argument) throws Exception {
+                listener.testAssumptionFailure((Failure) argument);
+            }
+        },
+        TEST_IGNORED {
+            @Override
+            void notifyListener(RunListener listener, Object argument) throws Exception {
+                listener.testIgnored((Description) argument);
+            }
+        },
+        TEST_FINISHED {
+            @Override
+            void notifyListener(RunListener listener, Object argument) throws Exception {
+                listener.testFinished((Description) argument);
+            }
+        };
 
-    private abstract class SafeNotifier {
-        private final List<RunListener> currentListeners;
-
-        SafeNotifier() {
-            this(listeners);
-        }
-
-        SafeNotifier(List<RunListener> currentListeners) {
-            this.currentListeners = currentListeners;
-        }
+        abstract void notifyListener(RunListener listener, Object argument) throws Exception;
+    }
 
-        void run() {
-            int capacity = currentListeners.size();
-            List<RunListener> safeListeners = new ArrayList<RunListener>(capacity);
-            List<Failure> failures = new ArrayList<Failure>(capacity);
-            for (RunListener listener : currentListeners) {
-                try {
-                    notifyListener(listener);
+    /**
+     * Notifies all {@code currentListeners} of {@code event}. Listeners that
+     * throw an exception are reported to the other listeners as failures of
+     * {@link Description#TEST_MECHANISM}. Nothing is allocated unless a
+     * listener throws.
+     */
+    private static void fire(RunListener[] currentListeners, Event event, Object argument) {
+        List<RunListener> safeListeners = null;
+        List<Failure> failures = null;
+        for (int i = 0; i < currentListeners.length; i++) {
+            RunListener listener = currentListeners[i];
+            try {
+                event.notifyListener(listener, argument);
+                if (safeListeners != null) {
                     safeListeners.add(listener);
-                } catch (Exception e) {
-                    failures.add(new Failure(Description.TEST_MECHANISM, e));
                 }
+            } catch (Exception e) {
+                if (safeListeners == null) {
+                    safeListeners = new ArrayList<RunListener>(currentListeners.length);
+                    safeListeners.addAll(asList(currentListeners).subList(0, i));
+                    failures = new ArrayList<Failure>(currentListeners.length);
+                }
+                failures.add(new Failure(Description.TEST_MECHANISM, e));
             }
-            fireTestFailures(safeListeners, failures);
         }
-
-        abstract protected void notifyListener(RunListener each) throws Exception;
+        if (failures != null) {
+            fire(safeListeners.toArray(new RunListener[safeListeners.size()]),
+                    Event.TEST_FAILURES, failures);
+        }
     }
 
     /**
      * Do not invoke.
      */
-    public void fireTestRunStarted(final Description description) {
-        new SafeNotifier() {
-            @Override
-            protected void notifyListener(RunListener each) throws Exception {
-                each.testRunStarted(description);
-            }
-        }.run();
+    public void fireTestRunStarted(Description description) {
+        fire(listeners, Event.TEST_RUN_STARTED, description);
     }
 
     /**
      * Do not invoke.
      */
-    public void fireTestRunFinished(final Result result) {
-        new SafeNotifier() {
-            @Override
-            protected void notifyListener(RunListener each) throws Exception {
-                each.testRunFinished(result);
-            }
-        }.run();
+    public void fireTestRunFinished(Result result) {
+        fire(listeners, Event.TEST_RUN_FINISHED, result);
     }
 
     /**
@@ -114,13 +199,8 @@ public class RunNotifier {
      * @param description the description of the suite test (generally a class name)
      * @since 4.13
      */
-    public void fireTestSuiteStarted(final Description description) {
-        new SafeNotifier() {
-            @Override
-            protected void notifyListener(RunListener each) throws Exception {
-                each.testSuiteStarted(description);
-            }
-        }.run();
+    public void fireTestSuiteStarted(Description description) {
+        fire(listeners, Event.TEST_SUITE_STARTED, description);
     }
 
     /**
@@ -131,13 +211,8 @@ public class RunNotifier {
      * @param description the description of the suite test (generally a class name)
      * @since 4.13
      */
-    public void fireTestSuiteFinished(final Description description) {
-        new SafeNotifier() {
-            @Override
-            protected void notifyListener(RunListener each) throws Exception {
-                each.testSuiteFinished(description);
-            }
-        }.run();
+    public void fireTestSuiteFinished(Description description) {
+        fire(listeners, Event.TEST_SUITE_FINISHED, description);
     }
 
     /**
@@ -146,16 +221,11 @@ public class RunNotifier {
      * @param description the description of the atomic test (generally a class and method name)
      * @throws StoppedByUserException thrown if a user has requested that the test run stop
      */
-    public void fireTestStarted(final Description description) throws StoppedByUserException {
+    public void fireTestStarted(Description description) throws StoppedByUserException {
         if (pleaseStop) {
             throw new StoppedByUserException();
         }
-        new SafeNotifier() {
-            @Override
-            protected void notifyListener(RunListener each) throws Exception {
-                each.testStarted(description);
-            }
-        }.run();
+        fire(listeners, Event.TEST_STARTED, description);
     }
 
     /**
@@ -164,21 +234,7 @@ public class RunNotifier {
      * @param failure the description of the test that failed and the exception thrown
      */
     public void fireTestFailure(Failure failure) {
-        fireTestFailures(listeners, asList(failure));
-    }
-
-    private void fireTestFailures(List<RunListener> listeners,
-            final List<Failure> failures) {
-        if (!failures.isEmpty()) {
-            new SafeNotifier(listeners) {
-                @Override
-                protected void notifyListener(RunListener listener) throws Exception {
-                    for (Failure each : failures) {
-                        listener.testFailure(each);
-                    }
-                }
-            }.run();
-        }
+        fire(listeners, Event.TEST_FAILURE, failure);
     }
 
     /**
@@ -188,13 +244,8 @@ public class RunNotifier {
      * @param failure the description of the test that failed and the
      * {@link org.junit.AssumptionViolatedException} thrown
      */
-    public void fireTestAssumptionFailed(final Failure failure) {
-        new SafeNotifier() {
-            @Override
-            protected void notifyListener(RunListener each) throws Exception {
-                each.testAssumptionFailure(failure);
-            }
-        }.run();
+    public void fireTestAssumptionFailed(Failure failure) {
+        fire(listeners, Event.TEST_ASSUMPTION_FAILED, failure);
     }
 
     /**
@@ -202,13 +253,8 @@ public class RunNotifier {
      *
      * @param description the description of the ignored test
      */
-    public void fireTestIgnored(final Description description) {
-        new SafeNotifier() {
-            @Override
-            protected void notifyListener(RunListener each) throws Exception {
-                each.testIgnored(description);
-            }
-        }.run();
+    public void fireTestIgnored(Description description) {
+        fire(listeners, Event.TEST_IGNORED, description);
     }
 
     /**
@@ -218,13 +264,8 @@ public class RunNotifier {
      *
      * @param description the description of the test that finished
      */
-    public void fireTestFinished(final Description description) {
-        new SafeNotifier() {
-            @Override
-            protected void notifyListener(RunListener each) throws Exception {
-                each.testFinished(description);
-            }
-        }.run();
+    public void fireTestFinished(Description description) {
+        fire(listeners, Event.TEST_FINISHED, description);
     }
 
     /**
@@ -237,6 +278,36 @@ public class RunNotifier {
         pleaseStop = true;
     }
 
+    /**
+     * Returns whether {@link #pleaseStop()} has been invoked. Runners can use
+     * this to skip the children that they have not started yet.
+     *
+     * @since 4.13
+     */
+    public boolean isStopRequested() {
+        return pleaseStop;
+    }
+
+    /**
+     * Internal use only. Asks runners to report suites with the descriptions
+     * returned by {@link org.junit.runner.Runner#getLazyDescription()}.
+     *
+     * @since 4.13
+     */
+    public void setLazyDescriptions(boolean lazyDescriptions) {
+        this.lazyDescriptions = lazyDescriptions;
+    }
+
+    /**
+     * Internal use only.
+     *
+     * @return whether runners report suites with lazy descriptions
+     * @since 4.13
+     */
+    public boolean usesLazyDescriptions() {
+        return lazyDescriptions;
+    }
+
     /**
      * Internal use only. The Result's listener must be first.
      */
@@ -244,6 +315,12 @@ public class RunNotifier {
         if (listener == null) {
             throw new NullPointerException("Cannot add a null listener");
         }
-        listeners.add(0, wrapIfNotThreadSafe(listener));
+        RunListener wrapped = wrapIfNotThreadSafe(listener);
+        synchronized (listenersLock) {
+            RunListener[] newListeners = new RunListener[listeners.length + 1];
+            newListeners[0] = wrapped;
+            System.arraycopy(listeners, 0, newListeners, 1, listeners.length);
+            listeners = newListeners;
+        }
     }
 }
@@ -3,6 +3,7 @@ package org.junit.runners;
 import static org.junit.internal.runners.rules.RuleMemberValidator.RULE_METHOD_VALIDATOR;
 import static org.junit.internal.runners.rules.RuleMemberValidator.RULE_VALIDATOR;
 
+import java.lang.reflect.InvocationTargetException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.ConcurrentHashMap;
@@ -15,7 +16,7 @@ import org.junit.Ignore;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.Test.None;
-import org.junit.internal.runners.model.ReflectiveCallable;
+import org.junit.internal.runners.statements.Deadline;
 import org.junit.internal.runners.statements.ExpectException;
 import org.junit.internal.runners.statements.Fail;
 import org.junit.internal.runners.statements.FailOnTimeout;
@@ -65,6 +66,15 @@ public class BlockJUnit4ClassRunner extends ParentRunner<FrameworkMethod> {
 
     private final ConcurrentMap<FrameworkMethod, Description> methodDescriptions = new ConcurrentHashMap<FrameworkMethod, Description>();
 
+    // Computed on first use, because subclasses may not be fully constructed
+    // before; computing it twice on different threads is harmless
+    private volatile MethodBlockPlan methodBlockPlan;
+
+    private volatile boolean methodBlockPlanComputed = false;
+
+    // Overriding describeChild() is a property of the runner's class
+    private final boolean describesMethodsAsTests = computeDescribesMethodsAsTests();
+
     /**
      * Creates a BlockJUnit4ClassRunner to run {@code testClass}
      *
@@ -100,6 +110,10 @@ public class BlockJUnit4ClassRunner extends ParentRunner<FrameworkMethod> {
                     methodBlock(method).evaluate();
                 }
             };
+            Deadline deadline = Deadline.current();
+            if (deadline != null) {
+                statement = deadline.apply(statement);
+            }
             runLeaf(statement, description, notifier);
         }
     }
@@ -126,6 +140,37 @@ public class BlockJUnit4ClassRunner extends ParentRunner<FrameworkMethod> {
         return description;
     }
 
+    @Override
+    int countTests(FrameworkMethod method) {
+        // Counts without creating and caching a description for each method
+        return describesMethodsAsTests ? 1 : super.countTests(method);
+    }
+
+    private boolean computeDescribesMethodsAsTests() {
+        for (Class<?> each = getClass(); each != BlockJUnit4ClassRunner.class;
+                each = each.getSuperclass()) {
+            try {
+                each.getDeclaredMethod("describeChild", FrameworkMethod.class);
+                return false;
+            } catch (NoSuchMethodException e) {
+                // not overridden by this class
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void run(RunNotifier notifier) {
+        try {
+            super.run(notifier);
+        } finally {
+            if (notifier.usesLazyDescriptions()) {
+                // Release the descriptions of the tests once they have run
+                methodDescriptions.clear();
+            }
+        }
+    }
+
     @Override
     protected List<FrameworkMethod> getChildren() {
         return computeTestMethods();
@@ -300,19 +345,28 @@ public class BlockJUnit4ClassRunner extends ParentRunner<FrameworkMethod> {
      * This can be overridden in subclasses, either by overriding this method,
      * or the implementations creating each sub-statement.
      */
-    protected Statement methodBlock(final FrameworkMethod method) {
+    protected Statement methodBlock(FrameworkMethod method) {
         Object test;
         try {
-            test = new ReflectiveCallable() {
-                @Override
-                protected Object runReflectiveCall() throws Throwable {
-                    return createTest(method);
-                }
-            }.run();
+            test = createTest(method);
+        } catch (InvocationTargetException e) {
+            return new Fail(e.getTargetException());
         } catch (Throwable e) {
             return new Fail(e);
         }
 
+        MethodBlockPlan plan = getMethodBlockPlan();
+        if (plan != null) {
+            Statement body = null;
+            if (MethodBlockPlan.needsBody(method)) {
+                body = methodInvoker(method, test);
+                body = possiblyExpectingExceptions(method, test, body);
+                body = withPotentialTimeout(method, test, body);
+            }
+            Statement statement = plan.statement(method, test, body);
+            return plan.hasRules() ? withRules(method, test, statement) : statement;
+        }
+
         Statement statement = methodInvoker(method, test);
         statement = possiblyExpectingExceptions(method, test, statement);
         statement = withPotentialTimeout(method, test, statement);
@@ -322,6 +376,14 @@ public class BlockJUnit4ClassRunner extends ParentRunner<FrameworkMethod> {
         return statement;
     }
 
+    private MethodBlockPlan getMethodBlockPlan() {
+        if (!methodBlockPlanComputed) {
+            methodBlockPlan = MethodBlockPlan.of(this);
+            methodBlockPlanComputed = true;
+        }
+        return methodBlockPlan;
+    }
+
     //
     // Statement builders
     //
@@ -0,0 +1,166 @@
+package org.junit.runners;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.MethodRule;
+import org.junit.rules.TestRule;
+import org.junit.runners.model.FrameworkMethod;
+import org.junit.runners.model.MultipleFailureException;
+import org.junit.runners.model.Statement;
+import org.junit.runners.model.TestClass;
+
+/**
+ * The parts of {@link BlockJUnit4ClassRunner#methodBlock(FrameworkMethod)}
+ * that are the same for all tests of a class. Instead of a chain of
+ * {@code InvokeMethod}, {@code RunBefores} and {@code RunAfters} statements,
+ * each test gets a single statement that runs the befores, the test method and
+ * the afters with the same semantics as that chain. Rules are only collected
+ * if the class has any.
+ *
+ * <p>A plan is only used if the runner does not override any of the
+ * statement builders that it replaces.
+ *
+ * @since 4.13
+ */
+final class MethodBlockPlan {
+    private final FrameworkMethod[] befores;
+
+    private final FrameworkMethod[] afters;
+
+    private final boolean hasRules;
+
+    private MethodBlockPlan(TestClass testClass, boolean collectsOwnRules) {
+        befores = toArray(testClass.getAnnotatedMethods(Before.class));
+        afters = toArray(testClass.getAnnotatedMethods(After.class));
+        hasRules = collectsOwnRules
+                || !testClass.getAnnotatedFields(Rule.class).isEmpty()
+                || !testClass.getAnnotatedMethods(Rule.class).isEmpty();
+    }
+
+    private static FrameworkMethod[] toArray(List<FrameworkMethod> methods) {
+        return methods.toArray(new FrameworkMethod[methods.size()]);
+    }
+
+    /**
+     * Returns the plan for the tests of {@code runner}, or {@code null} if
+     * the runner overrides how the statement of a test is built.
+     */
+    static MethodBlockPlan of(BlockJUnit4ClassRunner runner) {
+        if (runner.getTestClass().getClass() != TestClass.class
+                || overrides(runner, "methodInvoker", FrameworkMethod.class, Object.class)
+                || overrides(runner, "possiblyExpectingExceptions",
+                        FrameworkMethod.class, Object.class, Statement.class)
+                || overrides(runner, "withPotentialTimeout",
+                        FrameworkMethod.class, Object.class, Statement.class)
+                || overrides(runner, "withBefores",
+                        FrameworkMethod.class, Object.class, Statement.class)
+                || overrides(runner, "withAfters",
+                        FrameworkMethod.class, Object.class, Statement.class)) {
+            return null;
+        }
+        return new MethodBlockPlan(runner.getTestClass(),
+                overrides(runner, "rules", Object.class)
+                        || overrides(runner, "getTestRules", Object.class));
+    }
+
+    private static boolean overrides(BlockJUnit4ClassRunner runner, String name,
+            Class<?>... parameterTypes) {
+        for (Class<?> each = runner.getClass(); each != BlockJUnit4ClassRunner.class;
+                each = each.getSuperclass()) {
+            try {
+                each.getDeclaredMethod(name, parameterTypes);
+                return true;
+            } catch (NoSuchMethodException e) {
+                // not overridden by this class
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns {@code true} if the rules of each test have to be collected,
+     * because the class has {@link MethodRule}s or {@link TestRule}s or the
+     * runner collects them itself.
+     */
+    boolean hasRules() {
+        return hasRules;
+    }
+
+    /**
+     * Returns a statement that runs the befores, then {@code body}, and then
+     * the afters on {@code test}. If {@code body} is {@code null},
+     * {@code method} is invoked instead.
+     */
+    Statement statement(FrameworkMethod method, Object test, Statement body) {
+        return new RunTest(method, test, body);
+    }
+
+    /**
+     * Returns {@code true} if the statement of {@code method} needs more than
+     * invoking the method, because it expects an exception or has a timeout.
+     */
+    static boolean needsBody(FrameworkMethod method) {
+        Test annotation = method.getAnnotation(Test.class);
+        return annotation != null
+                && (annotation.expected() != Test.None.class || annotation.timeout() > 0);
+    }
+
+    private final class RunTest extends Statement {
+        private final FrameworkMethod method;
+
+        private final Object test;
+
+        private final Statement body;
+
+        RunTest(FrameworkMethod method, Object test, Statement body) {
+            this.method = method;
+            this.test = test;
+            this.body = body;
+        }
+
+        @Override
+        public void evaluate() throws Throwable {
+            if (afters.length == 0) {
+                runBeforesAndBody();
+                return;
+            }
+            List<Throwable> errors = null;
+            try {
+                runBeforesAndBody();
+            } catch (Throwable e) {
+                errors = new ArrayList<Throwable>();
+                errors.add(e);
+            } finally {
+                for (FrameworkMethod each : afters) {
+                    try {
+                        each.invokeExplosively(test);
+                    } catch (Throwable e) {
+                        if (errors == null) {
+                            errors = new ArrayList<Throwable>();
+                        }
+                        errors.add(e);
+                    }
+                }
+            }
+            if (errors != null) {
+                MultipleFailureException.assertEmpty(errors);
+            }
+        }
+
+        private void runBeforesAndBody() throws Throwable {
+            for (FrameworkMethod each : befores) {
+                each.invokeExplosively(test);
+            }
+            if (body == null) {
+                method.invokeExplosively(test);
+            } else {
+                body.evaluate();
+            }
+        }
+    }
+}
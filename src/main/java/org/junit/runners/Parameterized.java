@@ -1,5 +1,6 @@
 package org.junit.runners;
 
+import java.io.File;
 import java.lang.annotation.Annotation;
 import java.lang.annotation.ElementType;
 import java.lang.annotation.Inherited;
@@ -7,19 +8,38 @@ import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
 import java.text.MessageFormat;
+import java.util.AbstractSequentialList;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
+import java.util.ListIterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.junit.internal.AssumptionViolatedException;
+import org.junit.internal.runners.ErrorReportingRunner;
+import org.junit.internal.runners.parameterized.MappedFileRows;
+import org.junit.runner.Describable;
 import org.junit.runner.Description;
 import org.junit.runner.Runner;
+import org.junit.runner.manipulation.Filter;
+import org.junit.runner.manipulation.NoTestsRemainException;
+import org.junit.runner.manipulation.Sorter;
 import org.junit.runner.notification.Failure;
 import org.junit.runner.notification.RunNotifier;
+import org.junit.runners.model.FrameworkField;
 import org.junit.runners.model.FrameworkMethod;
 import org.junit.runners.model.InvalidTestClassError;
+import org.junit.runners.model.RunnerScheduler;
+import org.junit.runners.model.Statement;
 import org.junit.runners.model.TestClass;
 import org.junit.runners.parameterized.BlockJUnit4ClassRunnerWithParametersFactory;
 import org.junit.runners.parameterized.ParametersRunnerFactory;
@@ -154,6 +174,61 @@ import org.junit.runners.parameterized.TestWithParameters;
  * }
  * </pre>
  *
+ * <h3>Streaming parameters</h3>
+ * <p>
+ * By default all parameters are read, and a runner is created for each set of
+ * parameters, before the first test runs. If there are too many parameters
+ * for that, set {@code streaming} to {@code true}. The runners are then
+ * created while the parameters are iterated and can be released as soon as
+ * they have run, so that the memory use does not depend on the number of
+ * parameters.
+ * <pre>
+ * &#064;Parameters(streaming = true)
+ * public static Iterable&lt;Object[]&gt; data() {
+ *     return new CsvRows(&quot;huge.csv&quot;);
+ * }
+ * </pre>
+ * <p>
+ * The {@code @Parameters} method is then called each time the parameters are
+ * iterated, for example to count, filter or run the tests, and must return
+ * the same parameters each time. The description of the runner contains every
+ * test, so it should only be created if needed: run the tests with
+ * {@link org.junit.runner.JUnitCore#setLazyDescriptions(boolean) lazy descriptions}.
+ * Sorting the tests reads all parameters.
+ *
+ * <h3>Running parameter sets in parallel</h3>
+ * <p>
+ * The sets of parameters run one after the other by default. To run up to
+ * {@code n} sets at the same time, each on a thread of its own, set
+ * {@code parallelism} to {@code n}. The tests of a set still run one after the
+ * other, between the {@code @BeforeParam} and {@code @AfterParam} methods of
+ * that set, so these methods must not share state between sets.
+ * <pre>
+ * &#064;Parameters(parallelism = 8)
+ * public static Iterable&lt;Object[]&gt; data() {
+ *     ...
+ * }
+ * </pre>
+ *
+ * <h3>Reading parameters from a file</h3>
+ * <p>
+ * Instead of a method, a large table of parameters can be provided by a CSV
+ * file or a file of binary records, which is named by the annotation
+ * {@link FileParameters}. The file is mapped into memory and read while the
+ * tests run, and its values are converted to the types of the parameters.
+ * <pre>
+ * &#064;RunWith(Parameterized.class)
+ * &#064;FileParameters(value = "src/test/resources/fibonacci.csv", header = true)
+ * public class FibonacciTest {
+ *     &#064;Parameter(0)
+ *     public int fInput;
+ *
+ *     &#064;Parameter(1)
+ *     public long fExpected;
+ *     ...
+ * }
+ * </pre>
+ *
  * <h3>Create different runners</h3>
  * <p>
  * By default the {@code Parameterized} runner creates a slightly modified
@@ -214,6 +289,29 @@ public class Parameterized extends Suite {
          * @see MessageFormat
          */
         String name() default "{index}";
+
+        /**
+         * Optional flag to create the runner for each set of parameters only
+         * when it is needed, instead of reading all parameters when the test
+         * class is set up.
+         * <p>
+         * Default value is {@code false}.
+         *
+         * @return whether the parameters are streamed
+         * @since 4.13
+         */
+        boolean streaming() default false;
+
+        /**
+         * Optional maximum number of sets of parameters whose tests run at
+         * the same time.
+         * <p>
+         * Default value is 1.
+         *
+         * @return the number of sets that may run in parallel
+         * @since 4.13
+         */
+        int parallelism() default 1;
     }
 
     /**
@@ -237,6 +335,74 @@ public class Parameterized extends Suite {
         int value() default 0;
     }
 
+    /**
+     * Annotation for a test class whose parameters are read from a file
+     * instead of being provided by a method annotated with
+     * <code>Parameters</code>. The parameters are always streamed: the file
+     * is memory-mapped region by region while the tests run, and each line or
+     * record is parsed when it is reached, so neither the time to set up the
+     * test class nor the memory that is used depends on the size of the file.
+     * <p>
+     * Each line or record holds the parameters of one test, which are
+     * converted to the types of the fields annotated with
+     * <code>Parameter</code>, or else of the parameters of the constructor.
+     *
+     * @since 4.13
+     */
+    @Retention(RetentionPolicy.RUNTIME)
+    @Target(ElementType.TYPE)
+    public @interface FileParameters {
+        /**
+         * @return the path of the file, relative to the working directory
+         */
+        String value();
+
+        /**
+         * @return the format of the file; default is {@link Format#CSV}
+         */
+        Format format() default Format.CSV;
+
+        /**
+         * @return the character that separates the values of a line of a CSV
+         *         file; default is {@code ','}
+         */
+        char delimiter() default ',';
+
+        /**
+         * @return whether the first line of a CSV file is skipped; default is
+         *         {@code false}
+         */
+        boolean header() default false;
+
+        /**
+         * @return the pattern to derive the test's name from the parameters,
+         *         as in {@link Parameters#name()}
+         */
+        String name() default "{index}";
+
+        /**
+         * @return the number of sets of parameters that may run in parallel,
+         *         as in {@link Parameters#parallelism()}
+         */
+        int parallelism() default 1;
+
+        /**
+         * The formats of parameter files.
+         */
+        enum Format {
+            /**
+             * Lines of values separated by a delimiter, which may be quoted
+             * with {@code "}. Text is decoded as UTF-8.
+             */
+            CSV,
+
+            /**
+             * Records of one big-endian primitive value for each parameter.
+             */
+            BINARY
+        }
+    }
+
     /**
      * Add this annotation to your test class if you want to generate a special
      * runner. You have to specify a {@link ParametersRunnerFactory} class that
@@ -280,6 +446,12 @@ public class Parameterized extends Suite {
     public @interface AfterParam {
     }
 
+    // Null unless the parameters are streamed and the runners are not sorted
+    private RunnersFactory.StreamingRunners streamingRunners;
+
+    // Null unless the sets of parameters run in parallel
+    private final ParameterSetScheduler parameterSetScheduler;
+
     /**
      * Only called reflectively. Do not use programmatically.
      */
@@ -289,7 +461,51 @@ public class Parameterized extends Suite {
 
     private Parameterized(Class<?> klass, RunnersFactory runnersFactory) throws Exception {
         super(klass, runnersFactory.createRunners());
+        streamingRunners = runnersFactory.streamingRunners;
         validateBeforeParamAndAfterParamMethods(runnersFactory.parameterCount);
+        if (runnersFactory.parallelism > 1) {
+            parameterSetScheduler = new ParameterSetScheduler(runnersFactory.parallelism, getName());
+            setScheduler(parameterSetScheduler);
+        } else {
+            parameterSetScheduler = null;
+        }
+    }
+
+    @Override
+    protected Statement childrenInvoker(final RunNotifier notifier) {
+        final Statement children = super.childrenInvoker(notifier);
+        if (parameterSetScheduler == null) {
+            return children;
+        }
+        return new Statement() {
+            @Override
+            public void evaluate() throws Throwable {
+                try {
+                    children.evaluate();
+                } finally {
+                    for (Description each : parameterSetScheduler.takeSkippedSets()) {
+                        notifier.fireTestIgnored(each);
+                    }
+                }
+            }
+        };
+    }
+
+    @Override
+    public void filter(Filter filter) throws NoTestsRemainException {
+        if (streamingRunners == null) {
+            super.filter(filter);
+        } else {
+            streamingRunners.filter(filter);
+        }
+    }
+
+    @Override
+    public void sort(Sorter sorter) {
+        // Sorting reads all parameters, after which filters are applied to
+        // the sorted runners
+        streamingRunners = null;
+        super.sort(sorter);
     }
 
     private void validateBeforeParamAndAfterParamMethods(Integer parameterCount)
@@ -341,22 +557,143 @@ public class Parameterized extends Suite {
         }
     }
 
+    /**
+     * Runs the runners for the sets of parameters on a fixed number of
+     * threads. Runners are only handed to the threads when one of them is
+     * free, so that streamed runners are not all created at once. If the
+     * calling thread is interrupted, the sets that have not been handed out
+     * are skipped, and {@link #finished()} still waits for the running ones,
+     * so that all their events are reported within the suite.
+     */
+    private static class ParameterSetScheduler implements RunnerScheduler {
+        private final int parallelism;
+        private final String name;
+        private final Semaphore freeThreads;
+        private final AtomicInteger threadNumber = new AtomicInteger();
+        private final AtomicReference<Throwable> failure = new AtomicReference<Throwable>();
+        private ExecutorService executor;
+        // Only used by the thread that schedules the sets
+        private final List<Description> skippedSets = new ArrayList<Description>();
+
+        ParameterSetScheduler(int parallelism, String name) {
+            this.parallelism = parallelism;
+            this.name = name;
+            freeThreads = new Semaphore(parallelism);
+        }
+
+        public void schedule(final Runnable childStatement) {
+            if (executor == null) {
+                executor = Executors.newFixedThreadPool(parallelism, new ThreadFactory() {
+                    public Thread newThread(Runnable r) {
+                        Thread thread = new Thread(r, "Parameterized-" + name
+                                + "-" + threadNumber.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    }
+                });
+            }
+            try {
+                freeThreads.acquire();
+            } catch (InterruptedException e) {
+                // Stop handing out sets, for example when the run is stopped;
+                // the runner reports them as ignored
+                Thread.currentThread().interrupt();
+                if (childStatement instanceof Describable) {
+                    skippedSets.add(((Describable) childStatement).getDescription());
+                }
+                return;
+            }
+            executor.execute(new Runnable() {
+                public void run() {
+                    try {
+                        childStatement.run();
+                    } catch (Throwable e) {
+                        failure.compareAndSet(null, e);
+                    } finally {
+                        freeThreads.release();
+                    }
+                }
+            });
+        }
+
+        public void finished() {
+            if (executor == null) {
+                return;
+            }
+            executor.shutdown();
+            executor = null;
+            // Keeps the interrupt flag, but the running sets still report
+            // their events before the suite finishes
+            freeThreads.acquireUninterruptibly(parallelism);
+            freeThreads.release(parallelism);
+            Throwable e = failure.getAndSet(null);
+            if (e instanceof RuntimeException) {
+                throw (RuntimeException) e;
+            } else if (e instanceof Error) {
+                throw (Error) e;
+            } else if (e != null) {
+                throw new RuntimeException(e);
+            }
+        }
+
+        /**
+         * Returns the descriptions of the sets that were skipped since the
+         * last call.
+         */
+        List<Description> takeSkippedSets() {
+            List<Description> result = new ArrayList<Description>(skippedSets);
+            skippedSets.clear();
+            return result;
+        }
+    }
+
     private static class RunnersFactory {
         private static final ParametersRunnerFactory DEFAULT_FACTORY = new BlockJUnit4ClassRunnerWithParametersFactory();
 
         private final TestClass testClass;
         private final FrameworkMethod parametersMethod;
+        private final MappedFileRows fileRows;
+        private final String namePattern;
+        private final boolean streaming;
         private final List<Object> allParameters;
         private final int parameterCount;
         private final Runner runnerOverride;
+        private final int parallelism;
+        private StreamingRunners streamingRunners;
 
         private RunnersFactory(Class<?> klass) throws Throwable {
             testClass = new TestClass(klass);
-            parametersMethod = getParametersMethod(testClass);
+            FileParameters fileParameters = testClass.getAnnotation(FileParameters.class);
+            if (fileParameters == null) {
+                parametersMethod = getParametersMethod(testClass);
+                fileRows = null;
+                Parameters parameters = parametersMethod.getAnnotation(Parameters.class);
+                namePattern = parameters.name();
+                streaming = parameters.streaming();
+                parallelism = parameters.parallelism();
+            } else {
+                if (!testClass.getAnnotatedMethods(Parameters.class).isEmpty()) {
+                    throw new Exception("Class " + testClass.getName()
+                            + " must not have both @FileParameters and a parameters method");
+                }
+                parametersMethod = null;
+                fileRows = new MappedFileRows(new File(fileParameters.value()),
+                        fileParameters.format() == FileParameters.Format.BINARY,
+                        fileParameters.delimiter(), fileParameters.header(),
+                        parameterTypes(testClass));
+                namePattern = fileParameters.name();
+                streaming = true;
+                parallelism = fileParameters.parallelism();
+            }
+            if (parallelism < 1) {
+                throw new Exception("parallelism must be positive but was " + parallelism);
+            }
             List<Object> allParametersResult;
             AssumptionViolationRunner assumptionViolationRunner = null;
             try {
-                allParametersResult = allParameters(testClass, parametersMethod);
+                allParametersResult = streaming
+                        ? firstParameters()
+                        : allParameters(testClass, parametersMethod);
             } catch (AssumptionViolatedException e) {
                 allParametersResult = Collections.emptyList();
                 assumptionViolationRunner = new AssumptionViolationRunner(testClass,
@@ -372,9 +709,13 @@ public class Parameterized extends Suite {
             if (runnerOverride != null) {
                 return Collections.singletonList(runnerOverride);
             }
-            Parameters parameters = parametersMethod.getAnnotation(Parameters.class);
+            if (streaming) {
+                streamingRunners = new StreamingRunners(namePattern,
+                        getParametersRunnerFactory());
+                return streamingRunners;
+            }
             return Collections.unmodifiableList(createRunnersForParameters(
-                    allParameters, parameters.name(),
+                    allParameters, namePattern,
                     getParametersRunnerFactory()));
         }
 
@@ -423,6 +764,53 @@ public class Parameterized extends Suite {
             }
         }
 
+        /**
+         * Returns the first set of parameters only, so that the parameters
+         * are not all read when the test class is set up.
+         */
+        private List<Object> firstParameters() throws Throwable {
+            Iterator<Object> parameters = parametersIterator();
+            return parameters.hasNext()
+                    ? Collections.singletonList(parameters.next())
+                    : Collections.emptyList();
+        }
+
+        @SuppressWarnings("unchecked")
+        private Iterator<Object> parametersIterator() throws Throwable {
+            if (fileRows != null) {
+                return fileRows.iterator();
+            }
+            Object parameters = parametersMethod.invokeExplosively(null);
+            if (parameters instanceof Iterable) {
+                return ((Iterable<Object>) parameters).iterator();
+            } else if (parameters instanceof Object[]) {
+                return Arrays.asList((Object[]) parameters).iterator();
+            } else {
+                throw parametersMethodReturnedWrongType(testClass, parametersMethod);
+            }
+        }
+
+        /**
+         * Returns the types of the fields annotated with {@code Parameter}
+         * by index, or else the types of the parameters of the constructor.
+         */
+        private static Class<?>[] parameterTypes(TestClass testClass) throws Exception {
+            List<FrameworkField> fields = testClass.getAnnotatedFields(Parameter.class);
+            if (fields.isEmpty()) {
+                return testClass.getOnlyConstructor().getParameterTypes();
+            }
+            Class<?>[] types = new Class<?>[fields.size()];
+            for (FrameworkField each : fields) {
+                int index = each.getField().getAnnotation(Parameter.class).value();
+                if (index < 0 || index >= types.length || types[index] != null) {
+                    throw new Exception("@Parameter fields must have the indices 0 to "
+                            + (types.length - 1) + " to read parameters from a file");
+                }
+                types[index] = each.getType();
+            }
+            return types;
+        }
+
         private static FrameworkMethod getParametersMethod(TestClass testClass) throws Exception {
             List<FrameworkMethod> methods = testClass
                     .getAnnotatedMethods(Parameters.class);
@@ -475,6 +863,148 @@ public class Parameterized extends Suite {
             return new Exception(message);
         }
 
+        /**
+         * The runners for the parameters, which are created while the
+         * parameters are iterated. Iterating calls the parameters method
+         * again. Errors that happen while iterating are reported by the
+         * runner for the parameters that caused them.
+         */
+        class StreamingRunners extends AbstractSequentialList<Runner> {
+            private final String namePattern;
+            private final ParametersRunnerFactory runnerFactory;
+            private final List<Filter> filters = new ArrayList<Filter>();
+            private int size = -1;
+
+            StreamingRunners(String namePattern, ParametersRunnerFactory runnerFactory) {
+                this.namePattern = namePattern;
+                this.runnerFactory = runnerFactory;
+            }
+
+            void filter(Filter filter) throws NoTestsRemainException {
+                filters.add(filter);
+                size = -1;
+                if (isEmpty()) {
+                    throw new NoTestsRemainException();
+                }
+            }
+
+            @Override
+            public boolean isEmpty() {
+                return !iterator().hasNext();
+            }
+
+            @Override
+            public int size() {
+                if (size == -1) {
+                    int result = 0;
+                    Iterator<Runner> iterator = iterator();
+                    while (iterator.hasNext()) {
+                        iterator.next();
+                        result++;
+                    }
+                    size = result;
+                }
+                return size;
+            }
+
+            @Override
+            public ListIterator<Runner> listIterator(int index) {
+                ListIterator<Runner> iterator = new RunnerIterator();
+                for (int i = 0; i < index; i++) {
+                    iterator.next();
+                }
+                return iterator;
+            }
+
+            private class RunnerIterator implements ListIterator<Runner> {
+                private Iterator<Object> parameters;
+                private int parametersIndex = 0;
+                private int index = 0;
+                private Runner next;
+
+                public boolean hasNext() {
+                    if (next == null) {
+                        next = computeNext();
+                    }
+                    return next != null;
+                }
+
+                public Runner next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    Runner result = next;
+                    next = null;
+                    index++;
+                    return result;
+                }
+
+                private Runner computeNext() {
+                    try {
+                        if (parameters == null) {
+                            parameters = parametersIterator();
+                        }
+                        while (parameters.hasNext()) {
+                            Runner runner = runnerFactory.createRunnerForTestWithParameters(
+                                    createTestWithNotNormalizedParameters(namePattern,
+                                            parametersIndex++, parameters.next()));
+                            if (passesFilters(runner)) {
+                                return runner;
+                            }
+                        }
+                        return null;
+                    } catch (Throwable e) {
+                        // Ends the iteration, as the parameters cannot be read
+                        // any further
+                        parameters = Collections.<Object>emptyList().iterator();
+                        return new ErrorReportingRunner(testClass.getJavaClass(), e);
+                    }
+                }
+
+                private boolean passesFilters(Runner runner) {
+                    for (Filter each : filters) {
+                        if (!each.shouldRun(runner.getDescription())) {
+                            return false;
+                        }
+                        try {
+                            each.apply(runner);
+                        } catch (NoTestsRemainException e) {
+                            return false;
+                        }
+                    }
+                    return true;
+                }
+
+                public int nextIndex() {
+                    return index;
+                }
+
+                public boolean hasPrevious() {
+                    throw new UnsupportedOperationException();
+                }
+
+                public Runner previous() {
+                    throw new UnsupportedOperationException();
+                }
+
+                public int previousIndex() {
+                    return index - 1;
+                }
+
+                public void remove() {
+                    throw new UnsupportedOperationException();
+                }
+
+                public void set(Runner runner) {
+                    throw new UnsupportedOperationException();
+                }
+
+                public void add(Runner runner) {
+                    throw new UnsupportedOperationException();
+                }
+            }
+        }
+
         private TestWithParameters createTestWithParameters(
                 TestClass testClass, String pattern, int index,
                 Object[] parameters) {
@@ -23,10 +23,12 @@ import org.junit.Ignore;
 import org.junit.Rule;
 import org.junit.internal.AssumptionViolatedException;
 import org.junit.internal.runners.model.EachTestNotifier;
+import org.junit.internal.runners.statements.Deadline;
 import org.junit.internal.runners.statements.RunAfters;
 import org.junit.internal.runners.statements.RunBefores;
 import org.junit.rules.RunRules;
 import org.junit.rules.TestRule;
+import org.junit.runner.Describable;
 import org.junit.runner.Description;
 import org.junit.runner.Runner;
 import org.junit.runner.manipulation.Filter;
@@ -68,6 +70,9 @@ public abstract class ParentRunner<T> extends Runner implements Filterable,
     private final Lock childrenLock = new ReentrantLock();
     private final TestClass testClass;
 
+    // Overriding getDescription() is a property of the runner's class
+    private final boolean hasDefaultDescription = computeHasDefaultDescription();
+
     // Guarded by childrenLock
     private volatile Collection<T> filteredChildren = null;
 
@@ -305,12 +310,8 @@ public abstract class ParentRunner<T> extends Runner implements Filterable,
     private void runChildren(final RunNotifier notifier) {
         final RunnerScheduler currentScheduler = scheduler;
         try {
-            for (final T each : getFilteredChildren()) {
-                currentScheduler.schedule(new Runnable() {
-                    public void run() {
-                        ParentRunner.this.runChild(each, notifier);
-                    }
-                });
+            for (T each : getFilteredChildren()) {
+                currentScheduler.schedule(new ChildStatement(each, notifier));
             }
         } finally {
             currentScheduler.finished();
@@ -367,26 +368,79 @@ public abstract class ParentRunner<T> extends Runner implements Filterable,
 
     @Override
     public Description getDescription() {
+        Description description = createSuiteDescription();
+        for (T child : getFilteredChildren()) {
+            description.addChild(describeChild(child));
+        }
+        return description;
+    }
+
+    /**
+     * Creates the description of this runner, without its children.
+     */
+    Description createSuiteDescription() {
         Class<?> clazz = getTestClass().getJavaClass();
-        Description description;
         // if subclass overrides `getName()` then we should use it
         // to maintain backwards compatibility with JUnit 4.12
         if (clazz == null || !clazz.getName().equals(getName())) {
-            description = Description.createSuiteDescription(getName(), getRunnerAnnotations());
+            return Description.createSuiteDescription(getName(), getRunnerAnnotations());
         } else {
-            description = Description.createSuiteDescription(clazz, getRunnerAnnotations());
+            return Description.createSuiteDescription(clazz, getRunnerAnnotations());
         }
+    }
 
-        for (T child : getFilteredChildren()) {
-            description.addChild(describeChild(child));
+    /**
+     * Returns whether {@link #getDescription()} is not overridden, so that
+     * the description can be derived from the children.
+     */
+    boolean hasDefaultDescription() {
+        return hasDefaultDescription;
+    }
+
+    private boolean computeHasDefaultDescription() {
+        try {
+            return getClass().getMethod("getDescription").getDeclaringClass()
+                    == ParentRunner.class;
+        } catch (NoSuchMethodException e) {
+            return false;
         }
-        return description;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Children that are runners count their own tests, so suites are
+     * counted without describing all of their tests.
+     */
+    @Override
+    public int testCount() {
+        if (!hasDefaultDescription()) {
+            return super.testCount();
+        }
+        Collection<T> children = getFilteredChildren();
+        if (children.isEmpty()) {
+            // A description without children counts as one test
+            return 1;
+        }
+        int result = 0;
+        for (T each : children) {
+            result += countTests(each);
+        }
+        return result;
+    }
+
+    /**
+     * Returns the number of tests of {@code child}.
+     */
+    int countTests(T child) {
+        return child instanceof Runner
+                ? ((Runner) child).testCount() : describeChild(child).testCount();
     }
 
     @Override
     public void run(final RunNotifier notifier) {
         EachTestNotifier testNotifier = new EachTestNotifier(notifier,
-                getDescription());
+                notifier.usesLazyDescriptions() ? getLazyDescription() : getDescription());
         testNotifier.fireTestSuiteStarted();
         try {
             Statement statement = classBlock(notifier);
@@ -491,6 +545,47 @@ public abstract class ParentRunner<T> extends Runner implements Filterable,
         this.scheduler = scheduler;
     }
 
+    /**
+     * Runs a single child. Schedulers can use its {@link Description} to decide
+     * when to run it.
+     */
+    private class ChildStatement implements Runnable, Describable {
+        private final T child;
+
+        private final RunNotifier notifier;
+
+        // The deadline of the runner, which the child may run on another thread
+        private final Deadline deadline = Deadline.current();
+
+        ChildStatement(T child, RunNotifier notifier) {
+            this.child = child;
+            this.notifier = notifier;
+        }
+
+        public void run() {
+            // Skip children that a scheduler has queued before the run was
+            // stopped, including their class-level fixtures
+            if (notifier.isStopRequested()) {
+                throw new StoppedByUserException();
+            }
+            if (deadline == null) {
+                runChild(child, notifier);
+            } else if (deadline.hasPassed()) {
+                notifier.fireTestIgnored(describeChild(child));
+            } else {
+                deadline.run(new Runnable() {
+                    public void run() {
+                        runChild(child, notifier);
+                    }
+                });
+            }
+        }
+
+        public Description getDescription() {
+            return describeChild(child);
+        }
+    }
+
     private static class ClassRuleCollector implements MemberValueConsumer<TestRule> {
         final List<RuleContainer.RuleEntry> entries = new ArrayList<RuleContainer.RuleEntry>();
 
@@ -123,6 +123,20 @@ public class Suite extends ParentRunner<Runner> {
         return child.getDescription();
     }
 
+    /**
+     * Returns a description of this suite without the descriptions of its
+     * children, which describe themselves when they run.
+     *
+     * @since 4.13
+     */
+    @Override
+    public Description getLazyDescription() {
+        if (!hasDefaultDescription()) {
+            return getDescription();
+        }
+        return createSuiteDescription().deferredCopy(testCount());
+    }
+
     @Override
     protected void runChild(Runner runner, final RunNotifier notifier) {
         runner.run(notifier);
@@ -6,8 +6,6 @@ import java.lang.reflect.Method;
 import java.lang.reflect.Type;
 import java.util.List;
 
-import org.junit.internal.runners.model.ReflectiveCallable;
-
 /**
  * Represents a method on a test class to be invoked at the appropriate point in
  * test execution. These methods are usually marked with an annotation (such as
@@ -51,14 +49,17 @@ public class FrameworkMethod extends FrameworkMember<FrameworkMethod> {
      * parameters {@code params}. {@link InvocationTargetException}s thrown are
      * unwrapped, and their causes rethrown.
      */
-    public Object invokeExplosively(final Object target, final Object... params)
+    public Object invokeExplosively(Object target, Object... params)
             throws Throwable {
-        return new ReflectiveCallable() {
-            @Override
-            protected Object runReflectiveCall() throws Throwable {
-                return method.invoke(target, params);
-            }
-        }.run();
+        // Unwraps without a ReflectiveCallable, because this runs for every
+        // test and fixture method. There is no MethodHandle path: compiled for
+        // Java 5, JUnit could only call a handle reflectively or through
+        // MethodHandleProxies, and both are slower than Method.invoke.
+        try {
+            return method.invoke(target, params);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
     }
 
     /**
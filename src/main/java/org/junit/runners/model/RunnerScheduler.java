@@ -10,7 +10,10 @@ package org.junit.runners.model;
  */
 public interface RunnerScheduler {
     /**
-     * Schedule a child statement to run
+     * Schedule a child statement to run. Statements scheduled by
+     * {@link org.junit.runners.ParentRunner} implement
+     * {@link org.junit.runner.Describable}, which allows the scheduler to
+     * take the child's {@link org.junit.runner.Description} into account.
      */
     void schedule(Runnable childStatement);
 
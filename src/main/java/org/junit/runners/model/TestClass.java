@@ -4,6 +4,7 @@ import static java.lang.reflect.Modifier.isStatic;
 import static org.junit.internal.MethodSorter.NAME_ASCENDING;
 
 import java.lang.annotation.Annotation;
+import java.lang.ref.WeakReference;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
@@ -17,11 +18,13 @@ import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.WeakHashMap;
 
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.BeforeClass;
 import org.junit.internal.MethodSorter;
+import org.junit.internal.runners.model.AnnotationIndex;
 
 /**
  * Wraps a class to be run, providing method validation and annotation searching
@@ -32,15 +35,38 @@ public class TestClass implements Annotatable {
     private static final FieldComparator FIELD_COMPARATOR = new FieldComparator();
     private static final MethodComparator METHOD_COMPARATOR = new MethodComparator();
 
+    private static final int STRIPES = 32;
+
+    /**
+     * The annotated members of the classes that have been scanned, in
+     * stripes that are locked separately. The members refer to their classes,
+     * so they are only weakly referenced: they are shared while a runner or
+     * {@code TestClass} uses them, and let the classes and their class loaders
+     * be garbage collected afterwards.
+     */
+    private static final List<Map<Class<?>, WeakReference<AnnotatedMembers>>> SCANNED_CLASSES =
+            new ArrayList<Map<Class<?>, WeakReference<AnnotatedMembers>>>();
+
+    static {
+        for (int i = 0; i < STRIPES; i++) {
+            SCANNED_CLASSES.add(Collections.synchronizedMap(
+                    new WeakHashMap<Class<?>, WeakReference<AnnotatedMembers>>()));
+        }
+    }
+
     private final Class<?> clazz;
     private final Map<Class<? extends Annotation>, List<FrameworkMethod>> methodsForAnnotations;
     private final Map<Class<? extends Annotation>, List<FrameworkField>> fieldsForAnnotations;
+    // Keeps the cached members of the class while this instance is used
+    private final AnnotatedMembers members;
 
     /**
-     * Creates a {@code TestClass} wrapping {@code clazz}. Each time this
-     * constructor executes, the class is scanned for annotations, which can be
-     * an expensive process (we hope in future JDK's it will not be.) Therefore,
-     * try to share instances of {@code TestClass} where possible.
+     * Creates a {@code TestClass} wrapping {@code clazz}. The class is scanned
+     * for annotations, which can be an expensive process (we hope in future
+     * JDK's it will not be.) The annotated members that a {@code TestClass}
+     * found are shared by later instances for the same class, unless they are
+     * instances of subclasses, which may scan classes differently. Still, try
+     * to share instances of {@code TestClass} where possible.
      */
     public TestClass(Class<?> clazz) {
         this.clazz = clazz;
@@ -49,25 +75,54 @@ public class TestClass implements Annotatable {
                     "Test class can only have one constructor");
         }
 
-        Map<Class<? extends Annotation>, List<FrameworkMethod>> methodsForAnnotations =
-                new LinkedHashMap<Class<? extends Annotation>, List<FrameworkMethod>>();
-        Map<Class<? extends Annotation>, List<FrameworkField>> fieldsForAnnotations =
-                new LinkedHashMap<Class<? extends Annotation>, List<FrameworkField>>();
+        boolean cacheable = clazz != null && getClass() == TestClass.class;
+        AnnotatedMembers members = cacheable ? scannedMembers(clazz) : null;
+        if (members == null) {
+            Map<Class<? extends Annotation>, List<FrameworkMethod>> methodsForAnnotations =
+                    new LinkedHashMap<Class<? extends Annotation>, List<FrameworkMethod>>();
+            Map<Class<? extends Annotation>, List<FrameworkField>> fieldsForAnnotations =
+                    new LinkedHashMap<Class<? extends Annotation>, List<FrameworkField>>();
+
+            scanAnnotatedMembers(methodsForAnnotations, fieldsForAnnotations);
+
+            members = new AnnotatedMembers(makeDeeplyUnmodifiable(methodsForAnnotations),
+                    makeDeeplyUnmodifiable(fieldsForAnnotations));
+            if (cacheable) {
+                scannedClassesStripe(clazz).put(clazz, new WeakReference<AnnotatedMembers>(members));
+            }
+        }
+        this.members = members;
+        this.methodsForAnnotations = members.methodsForAnnotations;
+        this.fieldsForAnnotations = members.fieldsForAnnotations;
+    }
 
-        scanAnnotatedMembers(methodsForAnnotations, fieldsForAnnotations);
+    private static AnnotatedMembers scannedMembers(Class<?> clazz) {
+        WeakReference<AnnotatedMembers> reference = scannedClassesStripe(clazz).get(clazz);
+        return reference == null ? null : reference.get();
+    }
 
-        this.methodsForAnnotations = makeDeeplyUnmodifiable(methodsForAnnotations);
-        this.fieldsForAnnotations = makeDeeplyUnmodifiable(fieldsForAnnotations);
+    private static Map<Class<?>, WeakReference<AnnotatedMembers>> scannedClassesStripe(
+            Class<?> clazz) {
+        return SCANNED_CLASSES.get((System.identityHashCode(clazz) & Integer.MAX_VALUE) % STRIPES);
     }
 
     protected void scanAnnotatedMembers(Map<Class<? extends Annotation>, List<FrameworkMethod>> methodsForAnnotations, Map<Class<? extends Annotation>, List<FrameworkField>> fieldsForAnnotations) {
         for (Class<?> eachClass : getSuperClasses(clazz)) {
-            for (Method eachMethod : MethodSorter.getDeclaredMethods(eachClass)) {
+            // Members without annotations are not added, so only the annotated
+            // members of an indexed class are needed
+            AnnotationIndex.Members indexedMembers = AnnotationIndex.indexedMembers(eachClass);
+            List<Method> methods = indexedMembers == null
+                    ? Arrays.asList(MethodSorter.getDeclaredMethods(eachClass))
+                    : indexedMembers.getMethods();
+            for (Method eachMethod : methods) {
                 addToAnnotationLists(new FrameworkMethod(eachMethod), methodsForAnnotations);
             }
             // ensuring fields are sorted to make sure that entries are inserted
             // and read from fieldForAnnotations in a deterministic order
-            for (Field eachField : getSortedDeclaredFields(eachClass)) {
+            List<Field> fields = indexedMembers == null
+                    ? Arrays.asList(getSortedDeclaredFields(eachClass))
+                    : indexedMembers.getFields();
+            for (Field eachField : fields) {
                 addToAnnotationLists(new FrameworkField(eachField), fieldsForAnnotations);
             }
         }
@@ -327,6 +382,20 @@ public class TestClass implements Annotatable {
         return clazz == other.clazz;
     }
 
+    /**
+     * The annotated methods and fields of a class, by annotation.
+     */
+    private static class AnnotatedMembers {
+        final Map<Class<? extends Annotation>, List<FrameworkMethod>> methodsForAnnotations;
+        final Map<Class<? extends Annotation>, List<FrameworkField>> fieldsForAnnotations;
+
+        AnnotatedMembers(Map<Class<? extends Annotation>, List<FrameworkMethod>> methodsForAnnotations,
+                Map<Class<? extends Annotation>, List<FrameworkField>> fieldsForAnnotations) {
+            this.methodsForAnnotations = methodsForAnnotations;
+            this.fieldsForAnnotations = fieldsForAnnotations;
+        }
+    }
+
     /**
      * Compares two fields by its name.
      */
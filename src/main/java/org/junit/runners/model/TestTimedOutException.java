@@ -28,6 +28,20 @@ public class TestTimedOutException extends Exception {
         this.timeout = timeout;
     }
 
+    /**
+     * Creates exception with the given message.
+     *
+     * @param message the message of the exception
+     * @param timeout the amount of time passed before the test was interrupted
+     * @param timeUnit the time unit for the timeout value
+     * @since 4.13
+     */
+    public TestTimedOutException(String message, long timeout, TimeUnit timeUnit) {
+        super(message);
+        this.timeUnit = timeUnit;
+        this.timeout = timeout;
+    }
+
     /**
      * Gets the time passed before the test was interrupted
      */
@@ -0,0 +1,14 @@
+package org.junit.experimental.impact;
+
+import org.junit.runner.RunWith;
+import org.junit.runners.Suite;
+import org.junit.runners.Suite.SuiteClasses;
+
+@RunWith(Suite.class)
+@SuiteClasses({
+        ClassDependenciesTest.class,
+        ImpactCoreTest.class,
+        ResultCacheTest.class
+})
+public class AllImpactTests {
+}
@@ -0,0 +1,93 @@
+package org.junit.experimental.impact;
+
+import static org.hamcrest.CoreMatchers.hasItem;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.Test;
+
+public class ClassDependenciesTest {
+    public static class Helper {
+    }
+
+    public static class Other {
+        static void use() {
+        }
+    }
+
+    @Deprecated
+    public static class Example {
+        Helper[] fHelpers;
+
+        void callOther() {
+            Other.use();
+        }
+    }
+
+    private final ClassDependencies dependencies
+            = new ClassDependencies(ClassDependenciesTest.class.getClassLoader());
+
+    @Test
+    public void findsClassesNamedInDescriptorsAndInstructions() throws IOException {
+        Set<String> references = ClassDependencies.references(bytesOf(Example.class));
+
+        assertThat(references, hasItem(internalName(Helper.class)));
+        assertThat(references, hasItem(internalName(Other.class)));
+        assertThat(references, hasItem("java/lang/Deprecated"));
+    }
+
+    @Test
+    public void followsDependenciesTransitively() {
+        Map<String, String> hashes = dependencies.dependencyHashes(Example.class.getName());
+
+        assertThat(hashes.get(Example.class.getName()), is(notNullValue()));
+        assertThat(hashes.get(Helper.class.getName()), is(notNullValue()));
+        // Through the enclosing class
+        assertThat(hashes.get(ClassDependenciesTest.class.getName()), is(notNullValue()));
+        assertThat(hashes.get(Test.class.getName()), is(notNullValue()));
+    }
+
+    @Test
+    public void leavesOutPlatformClasses() {
+        Map<String, String> hashes = dependencies.dependencyHashes(Example.class.getName());
+
+        assertThat(hashes.keySet(), not(hasItem("java.lang.Object")));
+        assertThat(dependencies.hashOf("java.lang.Object"), is(nullValue()));
+    }
+
+    @Test
+    public void hashesDifferForDifferentClassFiles() {
+        assertThat(dependencies.hashOf(Helper.class.getName()),
+                is(not(dependencies.hashOf(Other.class.getName()))));
+        assertThat(dependencies.hashOf("no.such.Class"), is(nullValue()));
+    }
+
+    private static String internalName(Class<?> type) {
+        return type.getName().replace('.', '/');
+    }
+
+    static byte[] bytesOf(Class<?> type) throws IOException {
+        InputStream stream = type.getClassLoader().getResourceAsStream(
+                internalName(type) + ".class");
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = stream.read(buffer)) != -1) {
+                bytes.write(buffer, 0, read);
+            }
+            return bytes.toByteArray();
+        } finally {
+            stream.close();
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package org.junit.experimental.impact;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.InputStream;
+
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.Request;
+import org.junit.runner.Result;
+
+public class ImpactCoreTest {
+    private static boolean fSetUpFails;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    public static class Helper {
+    }
+
+    public static class Passing {
+        @Test
+        public void one() {
+            new Helper();
+        }
+
+        @Test
+        public void two() {
+        }
+    }
+
+    public static class OneFailing {
+        @Test
+        public void fails() {
+            fail();
+        }
+
+        @Test
+        public void succeeds() {
+        }
+    }
+
+    public static class FailingSetUp {
+        @BeforeClass
+        public static void setUpClass() {
+            if (fSetUpFails) {
+                fail();
+            }
+        }
+
+        @Test
+        public void succeeds() {
+        }
+    }
+
+    private ImpactCore core() {
+        return ImpactCore.storedLocally(new File(folder.getRoot(), "impact.ser"));
+    }
+
+    @Test
+    public void unchangedTestsAreNotRunAgain() {
+        assertThat(core().run(Passing.class).getRunCount(), is(2));
+
+        Result result = core().run(Passing.class);
+
+        assertThat(result.getRunCount(), is(0));
+        assertTrue(result.wasSuccessful());
+    }
+
+    @Test
+    public void failedTestsAreRunAgain() {
+        core().run(OneFailing.class);
+
+        Result result = core().run(OneFailing.class);
+
+        assertThat(result.getRunCount(), is(1));
+        assertThat(result.getFailureCount(), is(1));
+    }
+
+    @Test
+    public void classesWithFailedFixturesAreRunAgain() {
+        fSetUpFails = true;
+        try {
+            core().run(FailingSetUp.class);
+        } finally {
+            fSetUpFails = false;
+        }
+
+        assertThat(core().run(FailingSetUp.class).getRunCount(), is(1));
+        assertThat(core().run(FailingSetUp.class).getRunCount(), is(0));
+    }
+
+    @Test
+    public void newTestsAreRun() {
+        core().run(Request.method(Passing.class, "one"));
+
+        assertThat(core().run(Passing.class).getRunCount(), is(1));
+    }
+
+    @Test
+    public void changedDependencySelectsTestsAgain() {
+        core().run(Passing.class);
+
+        Result result = runWithClassFile(Helper.class, new byte[]{1, 2, 3});
+
+        assertThat(result.getRunCount(), is(2));
+    }
+
+    @Test
+    public void removedDependencySelectsTestsAgain() {
+        core().run(Passing.class);
+
+        Result result = runWithClassFile(Helper.class, null);
+
+        assertThat(result.getRunCount(), is(2));
+    }
+
+    @Test
+    public void testsPassedAgainstOtherClassFilesAreRunAfterPartialRun() {
+        core().run(Passing.class);
+        runWithClassFile(Helper.class, new byte[]{1, 2, 3});
+        // Only "one" ran against the changed class file
+        core().run(Request.method(Passing.class, "one"));
+
+        assertThat(core().run(Passing.class).getRunCount(), is(1));
+    }
+
+    private Result runWithClassFile(Class<?> type, byte[] classFile) {
+        Thread thread = Thread.currentThread();
+        ClassLoader contextClassLoader = thread.getContextClassLoader();
+        thread.setContextClassLoader(new ClassFileReplacingLoader(type, classFile));
+        try {
+            return core().run(Passing.class);
+        } finally {
+            thread.setContextClassLoader(contextClassLoader);
+        }
+    }
+
+    static class ClassFileReplacingLoader extends ClassLoader {
+        private final String resourceName;
+
+        private final byte[] classFile;
+
+        ClassFileReplacingLoader(Class<?> type, byte[] classFile) {
+            super(type.getClassLoader());
+            resourceName = type.getName().replace('.', '/') + ".class";
+            this.classFile = classFile;
+        }
+
+        @Override
+        public InputStream getResourceAsStream(String name) {
+            if (name.equals(resourceName)) {
+                return classFile == null ? null : new ByteArrayInputStream(classFile);
+            }
+            return super.getResourceAsStream(name);
+        }
+    }
+}
@@ -0,0 +1,204 @@
+package org.junit.experimental.impact;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Ignore;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.impact.ImpactCoreTest.ClassFileReplacingLoader;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.JUnitCore;
+import org.junit.runner.Request;
+import org.junit.runner.Description;
+import org.junit.runner.Result;
+import org.junit.runner.notification.RunListener;
+
+public class ResultCacheTest {
+    private static final String PROPERTY = "ResultCacheTest.property";
+
+    private static int fRuns;
+
+    private static int fOtherRuns;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Before
+    public void reset() {
+        fRuns = 0;
+        fOtherRuns = 0;
+    }
+
+    public static class Helper {
+    }
+
+    public static class Counting {
+        @Test
+        public void one() {
+            new Helper();
+            fRuns++;
+        }
+
+        @Test
+        @Ignore
+        public void ignored() {
+        }
+    }
+
+    public static class OtherCounting {
+        @Test
+        public void one() {
+            fOtherRuns++;
+        }
+    }
+
+    public static class Failing {
+        @Test
+        public void fails() {
+            fRuns++;
+            fail();
+        }
+    }
+
+    private ResultCache cache() {
+        return ResultCache.inDirectory(folder.getRoot(), 1000 * 1000, PROPERTY);
+    }
+
+    private Result run(ResultCache cache, Class<?>... classes) {
+        return new JUnitCore().run(cache.cached(Request.classes(classes)));
+    }
+
+    @Test
+    public void passedClassIsReportedFromCache() {
+        run(cache(), Counting.class);
+
+        Result result = run(cache(), Counting.class);
+
+        assertThat(fRuns, is(1));
+        assertThat(result.getRunCount(), is(1));
+        assertThat(result.getIgnoreCount(), is(1));
+        assertTrue(result.wasSuccessful());
+    }
+
+    @Test
+    public void failedClassIsRunAgain() {
+        run(cache(), Failing.class);
+
+        Result result = run(cache(), Failing.class);
+
+        assertThat(fRuns, is(2));
+        assertThat(result.getFailureCount(), is(1));
+    }
+
+    @Test
+    public void onlyClassesThatAreNotCachedAreRun() {
+        run(cache(), Counting.class);
+
+        Result result = run(cache(), Counting.class, OtherCounting.class);
+
+        assertThat(fRuns, is(1));
+        assertThat(fOtherRuns, is(1));
+        assertThat(result.getRunCount(), is(2));
+    }
+
+    @Test
+    public void cachedClassIsReportedAtItsPlaceInTheSuite() {
+        run(cache(), OtherCounting.class);
+        final List<String> events = new ArrayList<String>();
+        JUnitCore core = new JUnitCore();
+        core.addListener(new RunListener() {
+            @Override
+            public void testSuiteStarted(Description description) {
+                events.add("started " + description.getDisplayName());
+            }
+
+            @Override
+            public void testSuiteFinished(Description description) {
+                events.add("finished " + description.getDisplayName());
+            }
+        });
+
+        core.run(cache().cached(Request.classes(Counting.class, OtherCounting.class,
+                Failing.class)));
+
+        assertThat(fOtherRuns, is(1));
+        // Within the suite of the request
+        assertThat(events.size(), is(8));
+        assertThat(events.subList(1, events.size() - 1), is(Arrays.asList(
+                "started " + Counting.class.getName(),
+                "finished " + Counting.class.getName(),
+                "started " + OtherCounting.class.getName(),
+                "finished " + OtherCounting.class.getName(),
+                "started " + Failing.class.getName(),
+                "finished " + Failing.class.getName())));
+    }
+
+    @Test
+    public void classIsRunAgainIfDependencyChanged() {
+        run(cache(), Counting.class);
+
+        Thread thread = Thread.currentThread();
+        ClassLoader contextClassLoader = thread.getContextClassLoader();
+        thread.setContextClassLoader(
+                new ClassFileReplacingLoader(Helper.class, new byte[]{1, 2, 3}));
+        try {
+            run(cache(), Counting.class);
+        } finally {
+            thread.setContextClassLoader(contextClassLoader);
+        }
+
+        assertThat(fRuns, is(2));
+    }
+
+    @Test
+    public void classIsRunAgainIfSystemPropertyChanged() {
+        try {
+            System.setProperty(PROPERTY, "a");
+            run(cache(), Counting.class);
+            System.setProperty(PROPERTY, "b");
+            run(cache(), Counting.class);
+        } finally {
+            System.clearProperty(PROPERTY);
+        }
+
+        assertThat(fRuns, is(2));
+    }
+
+    @Test
+    public void cacheCanBeDisabled() {
+        run(cache(), Counting.class);
+
+        try {
+            System.setProperty(ResultCache.NO_CACHE_PROPERTY, "true");
+            run(cache(), Counting.class);
+        } finally {
+            System.clearProperty(ResultCache.NO_CACHE_PROPERTY);
+        }
+
+        assertThat(fRuns, is(2));
+    }
+
+    @Test
+    public void entriesThatDoNotFitAreEvicted() {
+        ResultCache cache = ResultCache.inDirectory(folder.getRoot(), 1);
+        run(cache, Counting.class);
+
+        run(cache, Counting.class);
+
+        assertThat(fRuns, is(2));
+        assertThat(folder.getRoot().list().length, is(0));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsNonPositiveSize() {
+        ResultCache.inDirectory(folder.getRoot(), 0);
+    }
+}
@@ -4,6 +4,8 @@ import org.junit.internal.builders.AnnotatedBuilderTest;
 import org.junit.internal.matchers.StacktracePrintingMatcherTest;
 import org.junit.internal.matchers.ThrowableCauseMatcherTest;
 import org.junit.internal.runners.ErrorReportingRunnerTest;
+import org.junit.internal.runners.model.AnnotationIndexTest;
+import org.junit.internal.runners.parameterized.MappedFileRowsTest;
 import org.junit.internal.runners.statements.ExpectExceptionTest;
 import org.junit.internal.runners.statements.FailOnTimeoutTest;
 import org.junit.runner.RunWith;
@@ -13,10 +15,12 @@ import org.junit.runners.Suite.SuiteClasses;
 @RunWith(Suite.class)
 @SuiteClasses({
         AnnotatedBuilderTest.class,
+        AnnotationIndexTest.class,
         ChecksTest.class,
         ErrorReportingRunnerTest.class,
         ExpectExceptionTest.class,
         FailOnTimeoutTest.class,
+        MappedFileRowsTest.class,
         MethodSorterTest.class,
         StacktracePrintingMatcherTest.class,
         StackTracesTest.class,
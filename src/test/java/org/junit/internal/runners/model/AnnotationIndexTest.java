@@ -0,0 +1,269 @@
+package org.junit.internal.runners.model;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.internal.MethodSorter;
+import org.junit.rules.TemporaryFolder;
+import org.junit.rules.TestName;
+
+public class AnnotationIndexTest {
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    public static class Indexed {
+        @Rule
+        public TestName name = new TestName();
+
+        public String notAnnotated;
+
+        @Before
+        public void setUp() {
+        }
+
+        @Test
+        public void test() {
+        }
+
+        @Deprecated
+        public void withParameters(int number, String[] strings, List<String> list) {
+        }
+
+        public void notAnnotated() {
+        }
+    }
+
+    public static class Version1 {
+        public void setUp() {
+        }
+
+        @Test
+        public void test() {
+        }
+    }
+
+    // Version1 after @Before has been added to setUp
+    public static class Version2 {
+        @Before
+        public void setUp() {
+        }
+
+        @Test
+        public void test() {
+        }
+    }
+
+    /**
+     * Loads one class and its class file from a directory, even if the
+     * parent has it.
+     */
+    private static class ChildFirstLoader extends URLClassLoader {
+        private final String className;
+
+        ChildFirstLoader(File directory, String className) throws IOException {
+            super(new URL[]{directory.toURI().toURL()}, AnnotationIndexTest.class.getClassLoader());
+            this.className = className;
+        }
+
+        @Override
+        protected synchronized Class<?> loadClass(String name, boolean resolve)
+                throws ClassNotFoundException {
+            if (!name.equals(className)) {
+                return super.loadClass(name, resolve);
+            }
+            Class<?> loaded = findLoadedClass(name);
+            return loaded != null ? loaded : findClass(name);
+        }
+
+        @Override
+        public URL getResource(String name) {
+            return name.equals(className.replace('.', '/') + ".class")
+                    ? findResource(name) : super.getResource(name);
+        }
+    }
+
+    private static File writeClassFile(File directory, String className, byte[] content)
+            throws IOException {
+        File file = new File(directory, className.replace('.', '/') + ".class");
+        file.getParentFile().mkdirs();
+        FileOutputStream stream = new FileOutputStream(file);
+        try {
+            stream.write(content);
+        } finally {
+            stream.close();
+        }
+        return file;
+    }
+
+    private static byte[] classFile(Class<?> clazz) throws IOException {
+        InputStream stream = clazz.getClassLoader().getResourceAsStream(
+                clazz.getName().replace('.', '/') + ".class");
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            int count;
+            while ((count = stream.read(buffer)) != -1) {
+                bytes.write(buffer, 0, count);
+            }
+            return bytes.toByteArray();
+        } finally {
+            stream.close();
+        }
+    }
+
+    private static String written(AnnotationIndex index) throws IOException {
+        StringWriter writer = new StringWriter();
+        index.write(writer);
+        return writer.toString();
+    }
+
+    private static AnnotationIndex read(String text) throws IOException {
+        AnnotationIndex result = new AnnotationIndex();
+        result.read(new StringReader(text));
+        return result;
+    }
+
+    private static AnnotationIndex readBack(AnnotationIndex index) throws IOException {
+        return read(written(index));
+    }
+
+    @Test
+    public void findsAnnotatedMembersInOrderOfReflection() throws Exception {
+        AnnotationIndex index = new AnnotationIndex();
+        index.add(Indexed.class);
+
+        AnnotationIndex.Members members = readBack(index).members(Indexed.class);
+
+        List<Method> annotatedMethods = new ArrayList<Method>();
+        for (Method each : MethodSorter.getDeclaredMethods(Indexed.class)) {
+            if (each.getAnnotations().length > 0) {
+                annotatedMethods.add(each);
+            }
+        }
+        assertThat(members.getMethods(), is(annotatedMethods));
+        assertThat(members.getFields(),
+                is(Arrays.asList(Indexed.class.getDeclaredField("name"))));
+    }
+
+    @Test
+    public void ignoresIndexOfClassWithOtherNumberOfMembers() throws Exception {
+        AnnotationIndex index = new AnnotationIndex();
+        index.add(Indexed.class);
+        int declaredMethods = Indexed.class.getDeclaredMethods().length;
+        int declaredFields = Indexed.class.getDeclaredFields().length;
+        String changedIndex = written(index).replace(
+                " " + declaredMethods + " " + declaredFields + "\n",
+                " " + (declaredMethods + 1) + " " + declaredFields + "\n");
+
+        assertThat(read(changedIndex).members(Indexed.class), is(nullValue()));
+    }
+
+    @Test
+    public void ignoresIndexOfClassWhoseMemberHasBeenAnnotatedSince() throws Exception {
+        File directory = folder.newFolder();
+        String className = Version1.class.getName();
+        File file = writeClassFile(directory, className, classFile(Version1.class));
+        AnnotationIndex index = new AnnotationIndex();
+        index.add(new ChildFirstLoader(directory, className).loadClass(className));
+        long indexedAt = file.lastModified();
+        // Both names have the same length, so the class file stays valid
+        byte[] recompiled = new String(classFile(Version2.class), "ISO-8859-1")
+                .replace("Version2", "Version1").getBytes("ISO-8859-1");
+        writeClassFile(directory, className, recompiled);
+        file.setLastModified(indexedAt + 2000);
+
+        Class<?> annotated = new ChildFirstLoader(directory, className).loadClass(className);
+
+        assertThat(annotated.getMethod("setUp").getAnnotation(Before.class), is(notNullValue()));
+        assertThat(annotated.getDeclaredMethods().length,
+                is(Version1.class.getDeclaredMethods().length));
+        assertThat(readBack(index).members(annotated), is(nullValue()));
+    }
+
+    @Test
+    public void ignoresClassThatIsNotIndexed() throws Exception {
+        AnnotationIndex index = new AnnotationIndex();
+        index.add(Indexed.class);
+
+        assertThat(readBack(index).members(AnnotationIndexTest.class), is(nullValue()));
+    }
+
+    @Test
+    public void ignoresIndexWithMembersThatDoNotExist() throws Exception {
+        AnnotationIndex index = new AnnotationIndex();
+        index.add(Indexed.class);
+        String changedIndex = written(index).replace("M setUp", "M tearDown");
+
+        assertThat(read(changedIndex).members(Indexed.class), is(nullValue()));
+    }
+
+    @Test
+    public void writesIndexOfDirectory() throws Exception {
+        File directory = folder.newFolder();
+        File packageDirectory = new File(directory, "org/junit/internal/runners/model");
+        packageDirectory.mkdirs();
+        FileOutputStream stream = new FileOutputStream(new File(packageDirectory,
+                "AnnotationIndexTest$Indexed.class"));
+        try {
+            stream.write(classFile(Indexed.class));
+        } finally {
+            stream.close();
+        }
+
+        AnnotationIndex.main(directory.getPath());
+
+        File indexFile = new File(directory, AnnotationIndex.RESOURCE);
+        AnnotationIndex index = new AnnotationIndex();
+        FileInputStream input = new FileInputStream(indexFile);
+        try {
+            index.read(new InputStreamReader(input, "UTF-8"));
+        } finally {
+            input.close();
+        }
+        assertThat(index.members(Indexed.class), is(notNullValue()));
+        assertThat(written(index), containsString(
+                "C org.junit.internal.runners.model.AnnotationIndexTest$Indexed "));
+    }
+
+    @Test
+    public void writesParameterTypesOfMethods() throws Exception {
+        AnnotationIndex index = new AnnotationIndex();
+        index.add(Indexed.class);
+
+        assertThat(written(index), containsString(
+                "M withParameters int [Ljava.lang.String; java.util.List\n"));
+    }
+
+    @Test
+    public void doesNotIndexFieldsWithoutAnnotations() throws Exception {
+        AnnotationIndex index = new AnnotationIndex();
+        index.add(Indexed.class);
+
+        List<Field> fields = readBack(index).members(Indexed.class).getFields();
+
+        assertThat(fields.size(), is(1));
+    }
+}
@@ -0,0 +1,210 @@
+package org.junit.internal.runners.parameterized;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.fail;
+
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class MappedFileRowsTest {
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    private enum Color {
+        RED, GREEN
+    }
+
+    private File csv(String content) throws IOException {
+        File file = folder.newFile();
+        FileOutputStream stream = new FileOutputStream(file);
+        try {
+            stream.write(content.getBytes("UTF-8"));
+        } finally {
+            stream.close();
+        }
+        return file;
+    }
+
+    private static List<Object[]> rows(MappedFileRows rows) {
+        List<Object[]> result = new ArrayList<Object[]>();
+        for (Object each : rows) {
+            result.add((Object[]) each);
+        }
+        return result;
+    }
+
+    @Test
+    public void readsValuesOfAllTypes() throws IOException {
+        File file = csv("1,-2,3.5,true,x,1.25,RED,text\n");
+        List<Object[]> rows = rows(new MappedFileRows(file, false, ',', false,
+                int.class, Long.class, double.class, boolean.class, char.class,
+                BigDecimal.class, Color.class, String.class));
+
+        assertThat(rows.size(), is(1));
+        assertArrayEquals(new Object[]{1, -2L, 3.5, true, 'x', new BigDecimal("1.25"),
+                Color.RED, "text"}, rows.get(0));
+    }
+
+    @Test
+    public void skipsHeaderAndBlankLines() throws IOException {
+        File file = csv("a;b\r\n1;one\r\n\r\n2;two");
+        List<Object[]> rows = rows(new MappedFileRows(file, false, ';', true,
+                int.class, String.class));
+
+        assertThat(rows.size(), is(2));
+        assertArrayEquals(new Object[]{1, "one"}, rows.get(0));
+        assertArrayEquals(new Object[]{2, "two"}, rows.get(1));
+    }
+
+    @Test
+    public void readsQuotedValues() throws IOException {
+        File file = csv("\"a,b\",\"say \"\"hi\"\"\",\"\"\n");
+        List<Object[]> rows = rows(new MappedFileRows(file, false, ',', false,
+                String.class, String.class, String.class));
+
+        assertArrayEquals(new Object[]{"a,b", "say \"hi\"", ""}, rows.get(0));
+    }
+
+    @Test
+    public void decodesUtf8() throws IOException {
+        File file = csv("gr\u00fc\u00df,\u20ac\n");
+        List<Object[]> rows = rows(new MappedFileRows(file, false, ',', false,
+                String.class, char.class));
+
+        assertArrayEquals(new Object[]{"gr\u00fc\u00df", '\u20ac'}, rows.get(0));
+    }
+
+    @Test
+    public void readsLinesAcrossRegions() throws IOException {
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 100; i++) {
+            content.append(i).append(",value number ").append(i).append('\n');
+        }
+        List<Object[]> rows = rows(new MappedFileRows(csv(content.toString()), false, ',',
+                false, new Class<?>[]{int.class, String.class}, 8));
+
+        assertThat(rows.size(), is(100));
+        for (int i = 0; i < 100; i++) {
+            assertArrayEquals(new Object[]{i, "value number " + i}, rows.get(i));
+        }
+    }
+
+    @Test
+    public void readsBinaryRecords() throws IOException {
+        File file = folder.newFile();
+        DataOutputStream stream = new DataOutputStream(new FileOutputStream(file));
+        try {
+            for (int i = 0; i < 10; i++) {
+                stream.writeInt(i);
+                stream.writeDouble(i / 2.0);
+                stream.writeBoolean(i % 2 == 0);
+            }
+        } finally {
+            stream.close();
+        }
+        List<Object[]> rows = rows(new MappedFileRows(file, true, ',', false,
+                new Class<?>[]{int.class, Double.class, boolean.class}, 20));
+
+        assertThat(rows.size(), is(10));
+        for (int i = 0; i < 10; i++) {
+            assertArrayEquals(new Object[]{i, i / 2.0, i % 2 == 0}, rows.get(i));
+        }
+    }
+
+    @Test
+    public void reportsIncompleteBinaryRecord() throws IOException {
+        Iterator<Object> rows = new MappedFileRows(csv("12345"), true, ',', false,
+                int.class).iterator();
+        rows.next();
+        try {
+            rows.hasNext();
+            fail("expected IllegalArgumentException");
+        } catch (IllegalArgumentException e) {
+            assertThat(e.getMessage(), containsString("Record 2"));
+        }
+    }
+
+    @Test
+    public void reportsValueThatCannotBeConverted() throws IOException {
+        assertReadFails("1\n2\nthree\n", "Cannot read \"three\" in line 3", int.class);
+    }
+
+    @Test
+    public void reportsOverflow() throws IOException {
+        assertReadFails("2147483648\n", "Cannot read \"2147483648\" in line 1", int.class);
+    }
+
+    @Test
+    public void readsExtremeValues() throws IOException {
+        List<Object[]> rows = rows(new MappedFileRows(
+                csv("-2147483648,9223372036854775807,-128\n"), false, ',', false,
+                int.class, long.class, byte.class));
+
+        assertArrayEquals(new Object[]{Integer.MIN_VALUE, Long.MAX_VALUE, (byte) -128},
+                rows.get(0));
+    }
+
+    @Test
+    public void reportsWrongNumberOfValues() throws IOException {
+        assertReadFails("1,2,3\n", "has more than 2 values", int.class, int.class);
+        assertReadFails("1\n", "has 1 values instead of 2", int.class, int.class);
+    }
+
+    @Test
+    public void reportsUnterminatedQuote() throws IOException {
+        assertReadFails("\"abc\n", "unterminated quote", String.class);
+    }
+
+    @Test
+    public void doesNotReadFileWhenCreated() throws IOException {
+        Iterator<Object> rows = new MappedFileRows(csv("x\n"), false, ',', false,
+                int.class).iterator();
+        try {
+            rows.next();
+            fail("expected IllegalArgumentException");
+        } catch (IllegalArgumentException e) {
+            assertThat(e.getMessage(), containsString("line 1"));
+        }
+    }
+
+    @Test
+    public void iteratesEmptyFile() throws IOException {
+        assertFalse(new MappedFileRows(csv(""), false, ',', false, int.class)
+                .iterator().hasNext());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsMissingFile() {
+        new MappedFileRows(new File(folder.getRoot(), "missing.csv"), false, ',', false,
+                int.class);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsUnsupportedBinaryType() throws IOException {
+        new MappedFileRows(csv(""), true, ',', false, String.class);
+    }
+
+    private void assertReadFails(String content, String message, Class<?>... types)
+            throws IOException {
+        try {
+            rows(new MappedFileRows(csv(content), false, ',', false, types));
+            fail("expected IllegalArgumentException");
+        } catch (IllegalArgumentException e) {
+            assertThat(e.getMessage(), containsString(message));
+        }
+    }
+}
@@ -11,11 +11,14 @@ import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertThrows;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
+import static org.junit.Assume.assumeTrue;
 import static org.junit.internal.runners.statements.FailOnTimeout.builder;
 
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 
 import org.junit.Test;
+import org.junit.internal.management.ManagementFactory;
 import org.junit.function.ThrowingRunnable;
 import org.junit.runners.model.Statement;
 import org.junit.runners.model.TestTimedOutException;
@@ -86,6 +89,154 @@ public class FailOnTimeoutTest {
         assertEquals(TimeUnit.MILLISECONDS, e.getTimeUnit());
     }
 
+    @Test
+    public void runsStatementOnCallingThreadIfEnabled() throws Throwable {
+        final Thread[] threadOfStatement = new Thread[1];
+        builder().withTimeout(TIMEOUT, MILLISECONDS).withRunningOnCallingThread(true)
+                .build(new Statement() {
+                    @Override
+                    public void evaluate() {
+                        threadOfStatement[0] = Thread.currentThread();
+                    }
+                }).evaluate();
+        assertSame(Thread.currentThread(), threadOfStatement[0]);
+    }
+
+    @Test
+    public void interruptsStatementOnCallingThreadThatTimesOut() {
+        FailOnTimeout onCallingThread = builder().withTimeout(TIMEOUT, MILLISECONDS)
+                .withRunningOnCallingThread(true).build(statement);
+        statement.nextException = null;
+        statement.waitDuration = DURATION_THAT_EXCEEDS_TIMEOUT;
+        try {
+            onCallingThread.evaluate();
+            fail("TestTimedOutException expected");
+        } catch (TestTimedOutException e) {
+            assertEquals("test timed out after 100 milliseconds", e.getMessage());
+            assertEquals("sleep", e.getStackTrace()[0].getMethodName());
+        } catch (Throwable e) {
+            fail("TestTimedOutException expected but was " + e);
+        }
+        assertFalse("calling thread is still interrupted", Thread.currentThread().isInterrupted());
+    }
+
+    @Test
+    public void sendUpExceptionThrownByStatementOnCallingThread() {
+        RuntimeException exception = new RuntimeException();
+        statement.nextException = exception;
+        statement.waitDuration = 0;
+        try {
+            builder().withTimeout(TIMEOUT, MILLISECONDS).withRunningOnCallingThread(true)
+                    .build(statement).evaluate();
+            fail("RuntimeException expected");
+        } catch (Throwable e) {
+            assertSame(exception, e);
+        }
+    }
+
+    @Test
+    public void sleepingStatementDoesNotUseUpCpuTime() throws Throwable {
+        assumeTrue(ManagementFactory.getThreadMXBean().isThreadCpuTimeSupported());
+        statement.nextException = null;
+        statement.waitDuration = 3 * TIMEOUT;
+        builder().withTimeout(TIMEOUT, MILLISECONDS).withCpuTime(true)
+                .build(statement).evaluate();
+    }
+
+    @Test
+    public void busyStatementTimesOutInCpuTime() {
+        assumeTrue(ManagementFactory.getThreadMXBean().isThreadCpuTimeSupported());
+        FailOnTimeout cpuTimeout = builder().withTimeout(TIMEOUT, MILLISECONDS)
+                .withCpuTime(true).build(new BusyStatement());
+        try {
+            cpuTimeout.evaluate();
+            fail("TestTimedOutException expected");
+        } catch (TestTimedOutException e) {
+            assertEquals("test used more than 100 milliseconds of CPU time", e.getMessage());
+        } catch (Throwable e) {
+            fail("TestTimedOutException expected but was " + e);
+        }
+    }
+
+    @Test
+    public void countsCpuTimeOfSpawnedThreads() {
+        assumeTrue(ManagementFactory.getThreadMXBean().isThreadCpuTimeSupported());
+        FailOnTimeout cpuTimeout = builder().withTimeout(TIMEOUT, MILLISECONDS)
+                .withCpuTimeOfSpawnedThreads(true).build(new Statement() {
+                    @Override
+                    public void evaluate() throws Throwable {
+                        Thread busyThread = new Thread() {
+                            @Override
+                            public void run() {
+                                try {
+                                    new BusyStatement().evaluate();
+                                } catch (Throwable e) {
+                                    // stopped
+                                }
+                            }
+                        };
+                        busyThread.start();
+                        try {
+                            busyThread.join();
+                        } finally {
+                            busyThread.interrupt();
+                        }
+                    }
+                });
+        try {
+            cpuTimeout.evaluate();
+            fail("TestTimedOutException expected");
+        } catch (TestTimedOutException e) {
+            assertEquals("test used more than 100 milliseconds of CPU time", e.getMessage());
+        } catch (Throwable e) {
+            fail("TestTimedOutException expected but was " + e);
+        }
+    }
+
+    @Test
+    public void blockedStatementTimesOutInElapsedTimeWhenMeasuringCpuTime() {
+        FailOnTimeout cpuTimeout = builder().withTimeout(TIMEOUT, MILLISECONDS)
+                .withCpuTime(true).withCpuTimeElapsedFactor(3).build(new Statement() {
+                    @Override
+                    public void evaluate() throws Throwable {
+                        new CountDownLatch(1).await();
+                    }
+                });
+        long start = currentTimeMillis();
+        try {
+            cpuTimeout.evaluate();
+            fail("TestTimedOutException expected");
+        } catch (TestTimedOutException e) {
+            if (ManagementFactory.getThreadMXBean().isThreadCpuTimeSupported()) {
+                assertEquals("test did not complete within 300 milliseconds"
+                        + " although it used less than 100 milliseconds of CPU time",
+                        e.getMessage());
+                assertTrue(currentTimeMillis() - start >= 3 * TIMEOUT);
+            }
+        } catch (Throwable e) {
+            fail("TestTimedOutException expected but was " + e);
+        }
+    }
+
+    @Test
+    public void elapsedFactorMustBePositive() {
+        try {
+            builder().withCpuTimeElapsedFactor(0);
+            fail("IllegalArgumentException expected");
+        } catch (IllegalArgumentException e) {
+            assertEquals("factor must be positive but was 0", e.getMessage());
+        }
+    }
+
+    private static final class BusyStatement extends Statement {
+        @Override
+        public void evaluate() {
+            while (!Thread.currentThread().isInterrupted()) {
+                atan(currentTimeMillis());
+            }
+        }
+    }
+
     private ThrowingRunnable evaluateWithException(final Exception exception) {
         return new ThrowingRunnable() {
             public void run() throws Throwable {
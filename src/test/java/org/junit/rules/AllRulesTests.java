@@ -24,6 +24,7 @@ import org.junit.runners.Suite.SuiteClasses;
         TestWatcherTest.class,
         TestWatchmanTest.class,
         TestWatchmanTest.class,
+        TimeBudgetTest.class,
         TimeoutRuleTest.class,
         VerifierRuleTest.class
 })
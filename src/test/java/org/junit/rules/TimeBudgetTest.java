@@ -0,0 +1,199 @@
+package org.junit.rules;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+import static org.junit.Assume.assumeTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.ClassRule;
+import org.junit.FixMethodOrder;
+import org.junit.Test;
+import org.junit.internal.AssumptionViolatedException;
+import org.junit.runner.JUnitCore;
+import org.junit.runner.Result;
+import org.junit.runner.RunWith;
+import org.junit.runner.notification.Failure;
+import org.junit.runner.notification.RunListener;
+import org.junit.runners.MethodSorters;
+import org.junit.runners.Suite;
+import org.junit.runners.Suite.SuiteClasses;
+import org.junit.runners.model.TestTimedOutException;
+
+public class TimeBudgetTest {
+    private static final long ONE_HOUR = 60 * 60 * 1000;
+
+    private static List<String> fLog;
+
+    @Before
+    public void clearLog() {
+        fLog = Collections.synchronizedList(new ArrayList<String>());
+    }
+
+    @FixMethodOrder(MethodSorters.NAME_ASCENDING)
+    public static class SlowTests {
+        @Test
+        public void a() {
+            fLog.add("a");
+        }
+
+        @Test
+        public void b() throws InterruptedException {
+            fLog.add("b");
+            Thread.sleep(ONE_HOUR);
+        }
+
+        @Test
+        public void c() {
+            fLog.add("c");
+        }
+    }
+
+    public static class SlowTestsWithBudget extends SlowTests {
+        @ClassRule
+        public static final TimeBudget budget = new TimeBudget(200, TimeUnit.MILLISECONDS);
+    }
+
+    @Test
+    public void interruptsRunningTestAndSkipsRemainingTests() {
+        Result result = JUnitCore.runClasses(SlowTestsWithBudget.class);
+        assertThat(fLog, is(Arrays.asList("a", "b")));
+        assertThat(result.getIgnoreCount(), is(1));
+        assertThat(result.getFailures().get(0).getException(),
+                instanceOf(TestTimedOutException.class));
+    }
+
+    public static class HangingBeforeClass {
+        @ClassRule
+        public static final TimeBudget budget = new TimeBudget(200, TimeUnit.MILLISECONDS);
+
+        @BeforeClass
+        public static void hang() throws InterruptedException {
+            Thread.sleep(ONE_HOUR);
+        }
+
+        @Test
+        public void test() {
+            fLog.add("test");
+        }
+    }
+
+    @Test
+    public void interruptsHangingClassFixture() {
+        Result result = JUnitCore.runClasses(HangingBeforeClass.class);
+        assertThat(result.getFailureCount(), is(1));
+        assertThat(result.getFailures().get(0).getException(),
+                instanceOf(TestTimedOutException.class));
+        assertThat(fLog.isEmpty(), is(true));
+    }
+
+    public static class AssumptionFailingAfterDeadline {
+        @ClassRule
+        public static final TimeBudget budget = new TimeBudget(200, TimeUnit.MILLISECONDS);
+
+        @Test
+        public void test() {
+            long end = System.currentTimeMillis() + 400;
+            while (System.currentTimeMillis() < end) {
+                try {
+                    Thread.sleep(10);
+                } catch (InterruptedException e) {
+                    // keep running past the deadline
+                }
+            }
+            assumeTrue(false);
+        }
+    }
+
+    @Test
+    public void reportsFailedAssumptionAfterDeadlineUnchanged() {
+        final List<Failure> assumptionFailures = new ArrayList<Failure>();
+        JUnitCore core = new JUnitCore();
+        core.addListener(new RunListener() {
+            @Override
+            public void testAssumptionFailure(Failure failure) {
+                assumptionFailures.add(failure);
+            }
+        });
+        Result result = core.run(AssumptionFailingAfterDeadline.class);
+        assertThat(assumptionFailures.size(), is(1));
+        assertThat(assumptionFailures.get(0).getException(),
+                instanceOf(AssumptionViolatedException.class));
+        for (Failure each : result.getFailures()) {
+            assertThat(each.getDescription().isTest(), is(false));
+        }
+    }
+
+    public static class Later {
+        @Test
+        public void test() {
+            fLog.add("later");
+        }
+    }
+
+    @RunWith(Suite.class)
+    @SuiteClasses({SlowTests.class, Later.class})
+    public static class SuiteWithBudget {
+        @ClassRule
+        public static final TimeBudget budget = new TimeBudget(200, TimeUnit.MILLISECONDS);
+    }
+
+    @Test
+    public void passesDeadlineOfSuiteToItsChildren() {
+        Result result = JUnitCore.runClasses(SuiteWithBudget.class);
+        assertThat(fLog, is(Arrays.asList("a", "b")));
+        // Test c and class Later
+        assertThat(result.getIgnoreCount(), is(2));
+    }
+
+    @RunWith(Suite.class)
+    @SuiteClasses({SlowTestsWithBudget.class})
+    public static class SuiteWithLargerBudget {
+        @ClassRule
+        public static final TimeBudget budget = TimeBudget.minutes(10);
+    }
+
+    @Test
+    public void budgetOfChildIsNotExtendedByParent() {
+        long start = System.currentTimeMillis();
+        JUnitCore.runClasses(SuiteWithLargerBudget.class);
+        assertThat(fLog, is(Arrays.asList("a", "b")));
+        assertThat(System.currentTimeMillis() - start < ONE_HOUR, is(true));
+    }
+
+    public static class FastTests extends SlowTests {
+        @ClassRule
+        public static final TimeBudget budget = TimeBudget.seconds(10);
+
+        @Override
+        public void b() {
+            fLog.add("b");
+        }
+    }
+
+    @Test
+    public void doesNotChangeTestsThatFinishInTime() {
+        Result result = JUnitCore.runClasses(FastTests.class);
+        assertThat(result.wasSuccessful(), is(true));
+        assertThat(result.getIgnoreCount(), is(0));
+        assertThat(fLog, is(Arrays.asList("a", "b", "c")));
+    }
+
+    @Test
+    public void budgetMustBePositive() {
+        try {
+            new TimeBudget(0, TimeUnit.SECONDS);
+            fail("IllegalArgumentException expected");
+        } catch (IllegalArgumentException e) {
+            assertThat(e.getMessage(), is("budget must be positive but was 0"));
+        }
+    }
+}
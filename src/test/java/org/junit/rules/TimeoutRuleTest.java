@@ -1,6 +1,7 @@
 package org.junit.rules;
 
 import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.instanceOf;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertThat;
 
@@ -10,6 +11,9 @@ import java.io.InterruptedIOException;
 import java.io.RandomAccessFile;
 import java.nio.ByteBuffer;
 import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Random;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.ReentrantLock;
@@ -21,6 +25,7 @@ import org.junit.Test;
 import org.junit.runner.JUnitCore;
 import org.junit.runner.Result;
 import org.junit.runner.notification.Failure;
+import org.junit.runners.model.TestTimedOutException;
 
 public class TimeoutRuleTest {
     private static final ReentrantLock run1Lock = new ReentrantLock();
@@ -110,6 +115,27 @@ public class TimeoutRuleTest {
         }
     }
 
+    public static class HasTimeoutOnCallingThread {
+        public static final List<Thread> threads = new ArrayList<Thread>();
+
+        @Rule
+        public final TestRule globalTimeout = Timeout.builder()
+                .withTimeout(100, TimeUnit.MILLISECONDS)
+                .withRunningOnCallingThread(true)
+                .build();
+
+        @Test
+        public void passes() {
+            threads.add(Thread.currentThread());
+        }
+
+        @Test
+        public void sleepsTooLong() throws InterruptedException {
+            threads.add(Thread.currentThread());
+            Thread.sleep(60 * 60 * 1000);
+        }
+    }
+
     @Before
     public void before() {
         run4done = false;
@@ -149,6 +175,17 @@ public class TimeoutRuleTest {
         assertThat(HasGlobalLongTimeout.logger.toString(), containsString("run6"));
     }
 
+    @Test
+    public void runsTestsOnCallingThread() {
+        HasTimeoutOnCallingThread.threads.clear();
+        Result result = JUnitCore.runClasses(HasTimeoutOnCallingThread.class);
+        assertEquals(1, result.getFailureCount());
+        assertThat(result.getFailures().get(0).getException(),
+                instanceOf(TestTimedOutException.class));
+        assertEquals(Arrays.asList(Thread.currentThread(), Thread.currentThread()),
+                HasTimeoutOnCallingThread.threads);
+    }
+
     @Test
     public void nullTimeUnit() {
         Result result = JUnitCore.runClasses(HasNullTimeUnit.class);
@@ -8,10 +8,13 @@ import org.junit.runners.Suite.SuiteClasses;
 @RunWith(Suite.class)
 @SuiteClasses({
         AllNotificationTests.class,
+        FailFastTest.class,
         FilterFactoriesTest.class,
         FilterOptionIntegrationTest.class,
         JUnitCommandLineParseResultTest.class,
-        JUnitCoreTest.class, RequestTest.class
+        JUnitCoreTest.class,
+        LazyDescriptionsTest.class,
+        RequestTest.class
 })
 public class AllRunnerTests {
 }
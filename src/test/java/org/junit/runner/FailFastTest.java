@@ -0,0 +1,157 @@
+package org.junit.runner;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.number.OrderingComparison.lessThan;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.fail;
+
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.FixMethodOrder;
+import org.junit.Test;
+import org.junit.experimental.ParallelComputer;
+import org.junit.runners.MethodSorters;
+
+public class FailFastTest {
+    private static volatile boolean fLaterSetUp;
+    private static volatile boolean fReleased;
+    private static volatile CountDownLatch fStarted;
+
+    @Before
+    public void reset() {
+        fLaterSetUp = false;
+        fReleased = false;
+        fStarted = new CountDownLatch(1);
+    }
+
+    @FixMethodOrder(MethodSorters.NAME_ASCENDING)
+    public static class TwoFailures {
+        @Test
+        public void a() {
+            fail();
+        }
+
+        @Test
+        public void b() {
+            fail();
+        }
+
+        @Test
+        public void c() {
+        }
+    }
+
+    public static class Later {
+        @BeforeClass
+        public static void setUpClass() {
+            fLaterSetUp = true;
+        }
+
+        @Test
+        public void succeeds() {
+        }
+    }
+
+    public static class FailsWhileOtherTestRuns {
+        @Test
+        public void fails() throws InterruptedException {
+            fStarted.await();
+            fail();
+        }
+    }
+
+    public static class Sleeping {
+        @Test
+        public void sleeps() throws InterruptedException {
+            fStarted.countDown();
+            Thread.sleep(60 * 1000);
+        }
+    }
+
+    public static class IgnoresInterrupts {
+        @Test
+        public void spins() {
+            fStarted.countDown();
+            while (!fReleased) {
+                try {
+                    Thread.sleep(10);
+                } catch (InterruptedException e) {
+                    // keep running
+                }
+            }
+        }
+    }
+
+    private static JUnitCore failFast(int maxFailures, long gracePeriodMillis) {
+        JUnitCore core = new JUnitCore();
+        core.setFailFast(maxFailures, gracePeriodMillis, MILLISECONDS);
+        return core;
+    }
+
+    @Test
+    public void firstFailureSkipsRemainingTestsAndClasses() {
+        Result result = failFast(1, 1000).run(TwoFailures.class, Later.class);
+
+        assertThat(result.getRunCount(), is(1));
+        assertThat(result.getFailureCount(), is(1));
+        assertFalse(fLaterSetUp);
+    }
+
+    @Test
+    public void stopsAfterGivenNumberOfFailures() {
+        Result result = failFast(2, 1000).run(TwoFailures.class, Later.class);
+
+        assertThat(result.getRunCount(), is(2));
+        assertThat(result.getFailureCount(), is(2));
+    }
+
+    @Test
+    public void doesNotStopWithoutFailFast() {
+        Result result = new JUnitCore().run(TwoFailures.class, Later.class);
+
+        assertThat(result.getRunCount(), is(4));
+    }
+
+    @Test
+    public void interruptsTestsRunningOnOtherThreads() {
+        long start = System.nanoTime();
+        Result result = failFast(1, 10 * 1000).run(new ParallelComputer(true, false, 1),
+                Sleeping.class, FailsWhileOtherTestRuns.class);
+
+        assertThat(System.nanoTime() - start, is(lessThan(SECONDS.toNanos(10))));
+        assertThat(result.getRunCount(), is(2));
+        assertThat(result.getFailureCount(), is(2));
+    }
+
+    @Test
+    public void returnsAfterGracePeriodIfTestIgnoresInterrupt() {
+        try {
+            Result result = failFast(1, 200).run(new ParallelComputer(true, false, 1),
+                    IgnoresInterrupts.class, FailsWhileOtherTestRuns.class);
+
+            assertThat(result.getRunCount(), is(2));
+            assertThat(result.getFailureCount(), is(1));
+            assertFalse(Thread.currentThread().isInterrupted());
+        } finally {
+            fReleased = true;
+        }
+    }
+
+    @Test
+    public void canRunAgainAfterStopping() {
+        JUnitCore core = failFast(1, 1000);
+        core.run(TwoFailures.class);
+
+        assertThat(core.run(Later.class).getRunCount(), is(1));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsNegativeMaxFailures() {
+        new JUnitCore().setFailFast(-1, 1, SECONDS);
+    }
+}
@@ -0,0 +1,142 @@
+package org.junit.runner;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+import org.junit.runner.notification.RunListener;
+import org.junit.runners.Suite;
+import org.junit.runners.Suite.SuiteClasses;
+
+public class LazyDescriptionsTest {
+    public static class OneTest {
+        @Test
+        public void one() {
+        }
+    }
+
+    public static class TwoTests {
+        @Test
+        public void one() {
+        }
+
+        @Test
+        public void two() {
+        }
+    }
+
+    @RunWith(Suite.class)
+    @SuiteClasses({OneTest.class, TwoTests.class})
+    public static class Nested {
+    }
+
+    public static class RecordingListener extends RunListener {
+        Description runDescription;
+        final List<Description> suites = new ArrayList<Description>();
+
+        @Override
+        public void testRunStarted(Description description) {
+            runDescription = description;
+        }
+
+        @Override
+        public void testSuiteStarted(Description description) {
+            suites.add(description);
+        }
+    }
+
+    @RunListener.RequiresDescriptionTree
+    public static class TreeListener extends RecordingListener {
+    }
+
+    @Test
+    public void suiteCountsTestsLikeItsDescription() {
+        Runner runner = Request.classes(OneTest.class, TwoTests.class, Nested.class).getRunner();
+
+        assertThat(runner.testCount(), is(runner.getDescription().testCount()));
+        assertThat(runner.testCount(), is(6));
+    }
+
+    @Test
+    public void lazyRunReportsSuitesWithoutTheirTests() {
+        JUnitCore core = new JUnitCore();
+        core.setLazyDescriptions(true);
+        RecordingListener listener = new RecordingListener();
+        core.addListener(listener);
+
+        Result result = core.run(OneTest.class, Nested.class);
+
+        assertThat(result.getRunCount(), is(4));
+        assertTrue(listener.runDescription.isSuite());
+        assertThat(listener.runDescription.testCount(), is(4));
+        assertTrue(listener.runDescription.getChildren().isEmpty());
+        Description nested = listener.suites.get(2);
+        assertThat(nested, is(Description.createSuiteDescription(Nested.class)));
+        assertTrue(nested.getChildren().isEmpty());
+        Description twoTests = listener.suites.get(4);
+        assertThat(twoTests.getChildren().size(), is(2));
+    }
+
+    @Test
+    public void listenerCanRequireTheWholeTree() {
+        JUnitCore core = new JUnitCore();
+        core.setLazyDescriptions(true);
+        RecordingListener listener = new TreeListener();
+        core.addListener(listener);
+
+        core.run(OneTest.class, Nested.class);
+
+        assertThat(listener.runDescription.getChildren().size(), is(2));
+    }
+
+    @Test
+    public void runIsDescribedEagerlyByDefault() {
+        JUnitCore core = new JUnitCore();
+        RecordingListener listener = new RecordingListener();
+        core.addListener(listener);
+
+        core.run(OneTest.class, Nested.class);
+
+        assertThat(listener.runDescription.getChildren().size(), is(2));
+        assertThat(listener.suites.get(2).getChildren().size(), is(2));
+    }
+
+    @Test
+    public void deferredCopyIsEqualSuite() throws Exception {
+        Description description = Description.createSuiteDescription(Nested.class);
+        Description copy = description.deferredCopy(3);
+
+        assertThat(copy, is(description));
+        assertTrue(copy.isSuite());
+        assertThat(copy.testCount(), is(3));
+        assertThat(serializeAndDeserialize(copy).testCount(), is(3));
+    }
+
+    @Test
+    public void serializedTestIsStillATest() throws Exception {
+        Description test = Description.createTestDescription(OneTest.class, "one");
+        Description copy = serializeAndDeserialize(test);
+
+        assertTrue(copy.isTest());
+        copy.addChild(test);
+        assertTrue(copy.isSuite());
+    }
+
+    private static Description serializeAndDeserialize(Description description)
+            throws Exception {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ObjectOutputStream out = new ObjectOutputStream(bytes);
+        out.writeObject(description);
+        out.close();
+        ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+        return (Description) in.readObject();
+    }
+}
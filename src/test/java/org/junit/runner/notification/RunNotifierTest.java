@@ -93,6 +93,30 @@ public class RunNotifierTest {
         assertThat(listener.fTestStarted.get(), is(1));
     }
 
+    @Test
+    public void reportsFailingListenerToListenersBeforeAndAfterIt() {
+        FailureListener before = new FailureListener();
+        FailureListener after = new FailureListener();
+        fNotifier.addListener(before);
+        fNotifier.addListener(new CorruptListener());
+        fNotifier.addListener(after);
+        fNotifier.fireTestRunFinished(new Result());
+        assertSame(Description.TEST_MECHANISM, before.failure.getDescription());
+        assertSame(Description.TEST_MECHANISM, after.failure.getDescription());
+    }
+
+    @Test
+    public void removesOnlyTheGivenListener() {
+        ThreadSafeListener first = new ThreadSafeListener();
+        ThreadSafeListener second = new ThreadSafeListener();
+        fNotifier.addListener(first);
+        fNotifier.addListener(second);
+        fNotifier.removeListener(first);
+        fNotifier.fireTestStarted(null);
+        assertThat(first.fTestStarted.get(), is(0));
+        assertThat(second.fTestStarted.get(), is(1));
+    }
+
     @Test
     public void wrapIfNotThreadSafeShouldNotWrapThreadSafeListeners() {
         ThreadSafeListener listener = new ThreadSafeListener();
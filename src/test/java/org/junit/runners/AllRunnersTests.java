@@ -11,6 +11,7 @@ import org.junit.runners.parameterized.AllParameterizedTests;
         AllModelTests.class,
         AllParameterizedTests.class,
         RuleContainerTest.class,
+        MethodBlockPlanTest.class,
         CustomBlockJUnit4ClassRunnerTest.class
 })
 public class AllRunnersTests {
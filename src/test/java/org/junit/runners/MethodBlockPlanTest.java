@@ -0,0 +1,185 @@
+package org.junit.runners;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+import static org.junit.experimental.results.PrintableResult.testResult;
+import static org.junit.experimental.results.ResultMatchers.failureCountIs;
+import static org.junit.experimental.results.ResultMatchers.isSuccessful;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestRule;
+import org.junit.runner.Description;
+import org.junit.runner.JUnitCore;
+import org.junit.runner.Request;
+import org.junit.runner.Result;
+import org.junit.runner.notification.RunNotifier;
+import org.junit.runners.model.FrameworkMethod;
+import org.junit.runners.model.InitializationError;
+import org.junit.runners.model.Statement;
+
+public class MethodBlockPlanTest {
+    private static List<String> fLog;
+
+    @Before
+    public void clearLog() {
+        fLog = new ArrayList<String>();
+    }
+
+    public static class WithFixture {
+        @Before
+        public void before() {
+            fLog.add("before");
+        }
+
+        @After
+        public void after() {
+            fLog.add("after");
+        }
+
+        @Test
+        public void test() {
+            fLog.add("test");
+        }
+    }
+
+    @Test
+    public void runsBeforesTestAndAfters() {
+        assertThat(testResult(WithFixture.class), isSuccessful());
+        assertThat(fLog, is(Arrays.asList("before", "test", "after")));
+    }
+
+    public static class FailingBeforeAndAfter {
+        @Before
+        public void before() {
+            fLog.add("before");
+            throw new IllegalStateException("before");
+        }
+
+        @After
+        public void after() {
+            fLog.add("after");
+            throw new IllegalStateException("after");
+        }
+
+        @Test
+        public void test() {
+            fLog.add("test");
+        }
+    }
+
+    @Test
+    public void runsAftersAndReportsAllFailuresIfBeforeFails() {
+        assertThat(testResult(FailingBeforeAndAfter.class), failureCountIs(2));
+        assertThat(fLog, is(Arrays.asList("before", "after")));
+    }
+
+    public static class ExpectingException extends WithFixture {
+        @Test(expected = IllegalStateException.class)
+        public void expectsException() {
+            fLog.add("expectsException");
+            throw new IllegalStateException();
+        }
+    }
+
+    @Test
+    public void runsFixtureAroundTestThatExpectsException() {
+        Result result = new JUnitCore().run(
+                Request.method(ExpectingException.class, "expectsException"));
+        assertThat(result.wasSuccessful(), is(true));
+        assertThat(fLog, is(Arrays.asList("before", "expectsException", "after")));
+    }
+
+    public static class WithRule extends WithFixture {
+        @Rule
+        public final TestRule rule = new TestRule() {
+            public Statement apply(final Statement base, Description description) {
+                return new Statement() {
+                    @Override
+                    public void evaluate() throws Throwable {
+                        fLog.add("rule");
+                        base.evaluate();
+                    }
+                };
+            }
+        };
+    }
+
+    @Test
+    public void appliesRulesAroundFixture() {
+        assertThat(testResult(WithRule.class), isSuccessful());
+        assertThat(fLog, is(Arrays.asList("rule", "before", "test", "after")));
+    }
+
+    public static class RunnerWithOwnBefores extends BlockJUnit4ClassRunner {
+        public RunnerWithOwnBefores(Class<?> testClass) throws InitializationError {
+            super(testClass);
+        }
+
+        @Override
+        protected Statement withBefores(FrameworkMethod method, Object target,
+                final Statement statement) {
+            return new Statement() {
+                @Override
+                public void evaluate() throws Throwable {
+                    fLog.add("own before");
+                    statement.evaluate();
+                }
+            };
+        }
+    }
+
+    @Test
+    public void isNotUsedIfRunnerOverridesStatementBuilder() throws Exception {
+        assertThat(MethodBlockPlan.of(new RunnerWithOwnBefores(WithFixture.class)),
+                is(nullValue()));
+
+        new RunnerWithOwnBefores(WithFixture.class).run(new RunNotifier());
+
+        assertThat(fLog, is(Arrays.asList("own before", "test", "after")));
+    }
+
+    @Test
+    public void isUsedByDefaultRunner() throws Exception {
+        assertThat(MethodBlockPlan.of(new BlockJUnit4ClassRunner(WithFixture.class)),
+                is(notNullValue()));
+    }
+
+    public static class RunnerWithOwnRules extends BlockJUnit4ClassRunner {
+        public RunnerWithOwnRules(Class<?> testClass) throws InitializationError {
+            super(testClass);
+        }
+
+        @Override
+        protected List<TestRule> getTestRules(Object target) {
+            List<TestRule> rules = new ArrayList<TestRule>(super.getTestRules(target));
+            rules.add(new TestRule() {
+                public Statement apply(final Statement base, Description description) {
+                    return new Statement() {
+                        @Override
+                        public void evaluate() throws Throwable {
+                            fLog.add("own rule");
+                            base.evaluate();
+                        }
+                    };
+                }
+            });
+            return rules;
+        }
+    }
+
+    @Test
+    public void collectsRulesOfRunnerThatAddsRules() throws Exception {
+        new RunnerWithOwnRules(WithFixture.class).run(new RunNotifier());
+
+        assertThat(fLog, is(Arrays.asList("own rule", "before", "test", "after")));
+    }
+}
@@ -48,6 +48,31 @@ public class FrameworkMethodTest {
         assertThat(annotation, is(nullValue()));
     }
 
+    @Test
+    public void returnsResultOfInvokedMethod() throws Throwable {
+        Method method = ClassWithDummyMethod.class.getMethod("concat", String.class, String.class);
+        FrameworkMethod frameworkMethod = new FrameworkMethod(method);
+        assertThat(frameworkMethod.invokeExplosively(new ClassWithDummyMethod(), "a", "b"),
+                is((Object) "ab"));
+    }
+
+    @Test
+    public void rethrowsExceptionOfInvokedMethod() throws Throwable {
+        Method method = ClassWithDummyMethod.class.getMethod("failingMethod");
+        FrameworkMethod frameworkMethod = new FrameworkMethod(method);
+        thrown.expect(IllegalStateException.class);
+        thrown.expectMessage("failed");
+        frameworkMethod.invokeExplosively(new ClassWithDummyMethod());
+    }
+
+    @Test
+    public void rethrowsIllegalArgumentExceptionForWrongTarget() throws Throwable {
+        Method method = ClassWithDummyMethod.class.getMethod("dummyMethod");
+        FrameworkMethod frameworkMethod = new FrameworkMethod(method);
+        thrown.expect(IllegalArgumentException.class);
+        frameworkMethod.invokeExplosively("not a ClassWithDummyMethod");
+    }
+
     private static class ClassWithDummyMethod {
         @SuppressWarnings("unused")
         public void dummyMethod() {
@@ -56,5 +81,13 @@ public class FrameworkMethodTest {
         @Rule
         public void annotatedDummyMethod() {
         }
+
+        public String concat(String first, String second) {
+            return first + second;
+        }
+
+        public void failingMethod() {
+            throw new IllegalStateException("failed");
+        }
     }
 }
@@ -6,9 +6,15 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
 import java.lang.annotation.Annotation;
+import java.lang.ref.WeakReference;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.junit.Ignore;
 import org.junit.Rule;
@@ -260,4 +266,107 @@ public class TestClassTest {
         Annotation annotation = tc.getAnnotation(RunWith.class);
         assertThat(annotation, is(nullValue()));
     }
+
+    @Test
+    public void sharesAnnotatedMembersOfSameClass() {
+        TestClass firstTestClass = new TestClass(MethodsAnnotated.class);
+        List<FrameworkMethod> first = firstTestClass.getAnnotatedMethods(Test.class);
+        List<FrameworkMethod> second = new TestClass(MethodsAnnotated.class)
+                .getAnnotatedMethods(Test.class);
+
+        assertThat(second, is(first));
+        for (int i = 0; i < first.size(); i++) {
+            assertThat(second.get(i), is(sameInstance(first.get(i))));
+        }
+        // The members are shared while the first instance is in use
+        assertThat(firstTestClass.getJavaClass(), is((Object) MethodsAnnotated.class));
+    }
+
+    public static class Collectable {
+        @Test
+        public void test() {
+        }
+    }
+
+    /**
+     * Defines its own copy of {@link Collectable}.
+     */
+    private static class CopyingClassLoader extends ClassLoader {
+        CopyingClassLoader() {
+            super(TestClassTest.class.getClassLoader());
+        }
+
+        @Override
+        protected synchronized Class<?> loadClass(String name, boolean resolve)
+                throws ClassNotFoundException {
+            if (!name.equals(Collectable.class.getName())) {
+                return super.loadClass(name, resolve);
+            }
+            Class<?> loaded = findLoadedClass(name);
+            if (loaded != null) {
+                return loaded;
+            }
+            try {
+                InputStream stream = getParent().getResourceAsStream(
+                        name.replace('.', '/') + ".class");
+                try {
+                    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+                    byte[] buffer = new byte[8192];
+                    int count;
+                    while ((count = stream.read(buffer)) != -1) {
+                        bytes.write(buffer, 0, count);
+                    }
+                    return defineClass(name, bytes.toByteArray(), 0, bytes.size());
+                } finally {
+                    stream.close();
+                }
+            } catch (IOException e) {
+                throw new ClassNotFoundException(name, e);
+            }
+        }
+    }
+
+    private static WeakReference<ClassLoader> scanClassOfOwnLoader() throws Exception {
+        ClassLoader classLoader = new CopyingClassLoader();
+        Class<?> clazz = classLoader.loadClass(Collectable.class.getName());
+        assertThat(clazz, is(not((Object) Collectable.class)));
+        assertThat(new TestClass(clazz).getAnnotatedMethods(Test.class).size(), is(1));
+        return new WeakReference<ClassLoader>(classLoader);
+    }
+
+    @Test
+    public void scannedClassCanBeGarbageCollected() throws Exception {
+        WeakReference<ClassLoader> classLoader = scanClassOfOwnLoader();
+
+        for (int i = 0; i < 100 && classLoader.get() != null; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+
+        assertThat(classLoader.get(), is(nullValue()));
+    }
+
+    private static class TestClassWithoutFields extends TestClass {
+        TestClassWithoutFields(Class<?> clazz) {
+            super(clazz);
+        }
+
+        @Override
+        protected void scanAnnotatedMembers(
+                Map<Class<? extends Annotation>, List<FrameworkMethod>> methodsForAnnotations,
+                Map<Class<? extends Annotation>, List<FrameworkField>> fieldsForAnnotations) {
+            super.scanAnnotatedMembers(methodsForAnnotations,
+                    new HashMap<Class<? extends Annotation>, List<FrameworkField>>());
+        }
+    }
+
+    @Test
+    public void subclassesScanClassesThemselves() {
+        new TestClass(FieldAnnotated.class);
+
+        TestClass testClass = new TestClassWithoutFields(FieldAnnotated.class);
+
+        assertThat(testClass.getAnnotatedFields(), is(empty()));
+        assertThat(new TestClass(FieldAnnotated.class).getAnnotatedFields(), is(not(empty())));
+    }
 }
@@ -7,7 +7,10 @@ import org.junit.runners.Suite.SuiteClasses;
 @RunWith(Suite.class)
 @SuiteClasses({
         BlockJUnit4ClassRunnerWithParametersTest.class,
+        FileParametersTest.class,
+        ParallelParametersTest.class,
         ParameterizedNamesTest.class,
+        StreamingParametersTest.class,
         TestWithParametersTest.class
 })
 public class AllParameterizedTests {
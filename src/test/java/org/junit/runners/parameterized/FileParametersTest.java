@@ -0,0 +1,198 @@
+package org.junit.runners.parameterized;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertEquals;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.runner.Description;
+import org.junit.runner.JUnitCore;
+import org.junit.runner.Request;
+import org.junit.runner.Result;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.FileParameters;
+import org.junit.runners.Parameterized.Parameter;
+import org.junit.runners.Parameterized.Parameters;
+
+public class FileParametersTest {
+    private static final String ADDITIONS = "target/FileParametersTest-additions.csv";
+
+    private static final String BROKEN = "target/FileParametersTest-broken.csv";
+
+    private static List<String> fSums;
+
+    @BeforeClass
+    public static void writeFiles() throws IOException {
+        write(ADDITIONS, "a,b,sum\n1,2,3\n-4,4,0\n10,\"5\",15\n");
+        write(BROKEN, "1,1\n2,x\n3,3\n");
+    }
+
+    @AfterClass
+    public static void deleteFiles() {
+        new File(ADDITIONS).delete();
+        new File(BROKEN).delete();
+    }
+
+    private static void write(String path, String content) throws IOException {
+        File file = new File(path);
+        file.getParentFile().mkdirs();
+        FileOutputStream stream = new FileOutputStream(file);
+        try {
+            stream.write(content.getBytes("UTF-8"));
+        } finally {
+            stream.close();
+        }
+    }
+
+    @Before
+    public void reset() {
+        fSums = new ArrayList<String>();
+    }
+
+    @RunWith(Parameterized.class)
+    @FileParameters(value = ADDITIONS, header = true, name = "{0}+{1}={2}")
+    public static class AdditionWithFields {
+        @Parameter(0)
+        public int a;
+
+        @Parameter(1)
+        public long b;
+
+        @Parameter(2)
+        public Integer sum;
+
+        @Test
+        public void adds() {
+            assertEquals(sum.intValue(), a + b);
+            fSums.add(a + "+" + b);
+        }
+    }
+
+    @RunWith(Parameterized.class)
+    @FileParameters(value = ADDITIONS, header = true)
+    public static class AdditionWithConstructor {
+        private final String a;
+
+        private final short b;
+
+        private final double sum;
+
+        public AdditionWithConstructor(String a, short b, double sum) {
+            this.a = a;
+            this.b = b;
+            this.sum = sum;
+        }
+
+        @Test
+        public void adds() {
+            assertEquals(sum, Integer.parseInt(a) + b, 0);
+        }
+    }
+
+    @Test
+    public void runsTestsWithParametersFromFile() {
+        Result result = JUnitCore.runClasses(AdditionWithFields.class);
+
+        assertThat(result.getRunCount(), is(3));
+        assertThat(result.getFailureCount(), is(0));
+        assertThat(fSums, is(Arrays.asList("1+2", "-4+4", "10+5")));
+    }
+
+    @Test
+    public void namesTestsWithPattern() {
+        Description description = Request.aClass(AdditionWithFields.class).getRunner()
+                .getDescription();
+
+        assertThat(description.getChildren().get(1).getDisplayName(), is("[-4+4=0]"));
+    }
+
+    @Test
+    public void convertsToTypesOfConstructorParameters() {
+        Result result = JUnitCore.runClasses(AdditionWithConstructor.class);
+
+        assertThat(result.getRunCount(), is(3));
+        assertThat(result.getFailureCount(), is(0));
+    }
+
+    @RunWith(Parameterized.class)
+    @FileParameters(BROKEN)
+    public static class BrokenLine {
+        @Parameter(0)
+        public int a;
+
+        @Parameter(1)
+        public int b;
+
+        @Test
+        public void test() {
+        }
+    }
+
+    @Test
+    public void reportsLineThatCannotBeRead() {
+        Result result = JUnitCore.runClasses(BrokenLine.class);
+
+        // The first line, and the error that ends the parameters
+        assertThat(result.getRunCount(), is(2));
+        assertThat(result.getFailureCount(), is(1));
+        assertThat(result.getFailures().get(0).getMessage(),
+                containsString("Cannot read \"x\" in line 2"));
+    }
+
+    @RunWith(Parameterized.class)
+    @FileParameters("target/FileParametersTest-missing.csv")
+    public static class MissingFile {
+        @Parameter
+        public int a;
+
+        @Test
+        public void test() {
+        }
+    }
+
+    @Test
+    public void reportsMissingFile() {
+        Result result = JUnitCore.runClasses(MissingFile.class);
+
+        assertThat(result.getFailureCount(), is(1));
+        assertThat(result.getFailures().get(0).getMessage(),
+                containsString("File not found"));
+    }
+
+    @RunWith(Parameterized.class)
+    @FileParameters(ADDITIONS)
+    public static class FileAndParametersMethod {
+        @Parameters
+        public static Object[] data() {
+            return new Object[]{1};
+        }
+
+        @Parameter
+        public int a;
+
+        @Test
+        public void test() {
+        }
+    }
+
+    @Test
+    public void failsWithFileAndParametersMethod() {
+        Result result = JUnitCore.runClasses(FileAndParametersMethod.class);
+
+        assertThat(result.getFailureCount(), is(1));
+        assertThat(result.getFailures().get(0).getMessage(),
+                containsString("must not have both @FileParameters and a parameters method"));
+    }
+}
@@ -0,0 +1,228 @@
+package org.junit.runners.parameterized;
+
+import static java.util.Arrays.asList;
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.number.OrderingComparison.greaterThanOrEqualTo;
+import static org.hamcrest.number.OrderingComparison.lessThanOrEqualTo;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.JUnitCore;
+import org.junit.runner.Result;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.AfterParam;
+import org.junit.runners.Parameterized.BeforeParam;
+import org.junit.runners.Parameterized.Parameter;
+import org.junit.runners.Parameterized.Parameters;
+
+public class ParallelParametersTest {
+    private static volatile CyclicBarrier fBarrier;
+
+    private static final Map<String, List<String>> fEvents
+            = Collections.synchronizedMap(new HashMap<String, List<String>>());
+
+    private static final AtomicInteger fRunning = new AtomicInteger();
+
+    private static final AtomicInteger fMaxRunning = new AtomicInteger();
+
+    private static final AtomicInteger fFinished = new AtomicInteger();
+
+    private static volatile Thread fRunThread;
+
+    @Before
+    public void reset() {
+        fEvents.clear();
+        fRunning.set(0);
+        fMaxRunning.set(0);
+        fFinished.set(0);
+    }
+
+    private static void record(String parameter, String event) {
+        List<String> events = fEvents.get(parameter);
+        if (events == null) {
+            events = new ArrayList<String>();
+            fEvents.put(parameter, events);
+        }
+        events.add(event);
+    }
+
+    @RunWith(Parameterized.class)
+    public static class MeetAtBarrier {
+        @Parameters(parallelism = 4)
+        public static List<Object> data() {
+            return asList((Object) 1, 2, 3, 4);
+        }
+
+        @Parameter
+        public int parameter;
+
+        @Test
+        public void test() throws Exception {
+            fBarrier.await(10, TimeUnit.SECONDS);
+        }
+    }
+
+    @RunWith(Parameterized.class)
+    public static class Bracketed {
+        @Parameters(name = "{0}", parallelism = 2)
+        public static List<Object> data() {
+            return asList((Object) "a", "b", "c", "d", "e", "f");
+        }
+
+        @BeforeParam
+        public static void before(String parameter) {
+            int running = fRunning.incrementAndGet();
+            int max;
+            do {
+                max = fMaxRunning.get();
+            } while (running > max && !fMaxRunning.compareAndSet(max, running));
+            record(parameter, "before");
+        }
+
+        @AfterParam
+        public static void after(String parameter) {
+            record(parameter, "after");
+            fRunning.decrementAndGet();
+        }
+
+        @Parameter
+        public String parameter;
+
+        @Test
+        public void one() throws InterruptedException {
+            Thread.sleep(10);
+            record(parameter, "one");
+        }
+
+        @Test
+        public void two() {
+            record(parameter, "two");
+        }
+    }
+
+    @RunWith(Parameterized.class)
+    public static class FailingBeforeParam {
+        @Parameters(name = "{0}", parallelism = 3)
+        public static List<Object> data() {
+            return asList((Object) "good", "bad", "fine");
+        }
+
+        @BeforeParam
+        public static void before(String parameter) {
+            if (parameter.equals("bad")) {
+                throw new IllegalStateException(parameter);
+            }
+        }
+
+        @Parameter
+        public String parameter;
+
+        @Test
+        public void test() {
+        }
+    }
+
+    @RunWith(Parameterized.class)
+    public static class NoParallelism {
+        @Parameters(parallelism = 0)
+        public static List<Object> data() {
+            return asList((Object) 1);
+        }
+
+        @Parameter
+        public int parameter;
+
+        @Test
+        public void test() {
+        }
+    }
+
+    @RunWith(Parameterized.class)
+    public static class InterruptingRun {
+        @Parameters(parallelism = 2)
+        public static List<Object> data() {
+            return asList((Object) 1, 2, 3, 4);
+        }
+
+        @Parameter
+        public int parameter;
+
+        @Test
+        public void test() throws InterruptedException {
+            if (parameter == 1) {
+                fRunThread.interrupt();
+            }
+            Thread.sleep(100);
+            fFinished.incrementAndGet();
+        }
+    }
+
+    @Test
+    public void reportsSetsThatAreNotRunWhenInterrupted() {
+        fRunThread = Thread.currentThread();
+        Result result;
+        try {
+            result = JUnitCore.runClasses(InterruptingRun.class);
+        } finally {
+            Thread.interrupted();
+        }
+
+        assertThat(result.getRunCount() + result.getIgnoreCount(), is(4));
+        assertThat(result.getIgnoreCount(), is(greaterThanOrEqualTo(2)));
+        assertThat(fFinished.get(), is(result.getRunCount()));
+    }
+
+    @Test
+    public void runsSetsConcurrently() {
+        fBarrier = new CyclicBarrier(4);
+
+        Result result = JUnitCore.runClasses(MeetAtBarrier.class);
+
+        assertThat(result.getRunCount(), is(4));
+        assertThat(result.getFailureCount(), is(0));
+    }
+
+    @Test
+    public void beforeAndAfterParamBracketEachSet() {
+        Result result = JUnitCore.runClasses(Bracketed.class);
+
+        assertThat(result.getFailureCount(), is(0));
+        assertThat(fEvents.size(), is(6));
+        for (List<String> each : fEvents.values()) {
+            assertThat(each.get(0), is("before"));
+            assertThat(each.size(), is(4));
+            assertThat(each.get(3), is("after"));
+        }
+        assertThat(fMaxRunning.get(), is(lessThanOrEqualTo(2)));
+    }
+
+    @Test
+    public void failuresAreAttributedToTheirSet() {
+        Result result = JUnitCore.runClasses(FailingBeforeParam.class);
+
+        assertThat(result.getRunCount(), is(2));
+        assertThat(result.getFailureCount(), is(1));
+        assertThat(result.getFailures().get(0).getDescription().getDisplayName(), is("[bad]"));
+    }
+
+    @Test
+    public void parallelismMustBePositive() {
+        Result result = JUnitCore.runClasses(NoParallelism.class);
+
+        assertThat(result.getFailureCount(), is(1));
+        assertThat(result.getFailures().get(0).getMessage(),
+                containsString("must be positive but was 0"));
+    }
+}
@@ -0,0 +1,181 @@
+package org.junit.runners.parameterized;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.number.OrderingComparison.lessThanOrEqualTo;
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.Description;
+import org.junit.runner.JUnitCore;
+import org.junit.runner.Request;
+import org.junit.runner.Result;
+import org.junit.runner.RunWith;
+import org.junit.runner.manipulation.Filter;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameter;
+import org.junit.runners.Parameterized.Parameters;
+
+public class StreamingParametersTest {
+    private static final int ROWS = 1000;
+
+    // Rows produced by the last iterator
+    private static int fProduced;
+
+    private static int fRan;
+
+    private static int fMaxProducedAhead;
+
+    private static List<String> fNames;
+
+    @Before
+    public void reset() {
+        fProduced = 0;
+        fRan = 0;
+        fMaxProducedAhead = 0;
+        fNames = new ArrayList<String>();
+    }
+
+    private static class Rows implements Iterable<Object> {
+        private final int count;
+
+        private final int failAt;
+
+        Rows(int count, int failAt) {
+            this.count = count;
+            this.failAt = failAt;
+        }
+
+        public Iterator<Object> iterator() {
+            fProduced = 0;
+            return new Iterator<Object>() {
+                private int next = 0;
+
+                public boolean hasNext() {
+                    return next < count;
+                }
+
+                public Object next() {
+                    if (next == failAt) {
+                        throw new IllegalStateException("cannot read row " + next);
+                    }
+                    fProduced++;
+                    return next++;
+                }
+
+                public void remove() {
+                    throw new UnsupportedOperationException();
+                }
+            };
+        }
+    }
+
+    @RunWith(Parameterized.class)
+    public static class ManyRows {
+        @Parameters(streaming = true)
+        public static Iterable<Object> data() {
+            return new Rows(ROWS, -1);
+        }
+
+        @Parameter
+        public int row;
+
+        @Test
+        public void test() {
+            fRan++;
+            fMaxProducedAhead = Math.max(fMaxProducedAhead, fProduced - fRan);
+            fNames.add("test[" + row + "]");
+        }
+    }
+
+    @RunWith(Parameterized.class)
+    public static class UnreadableRow {
+        @Parameters(streaming = true)
+        public static Iterable<Object> data() {
+            return new Rows(5, 3);
+        }
+
+        @Parameter
+        public int row;
+
+        @Test
+        public void test() {
+        }
+    }
+
+    private static Result runLazily(Request request) {
+        JUnitCore core = new JUnitCore();
+        core.setLazyDescriptions(true);
+        return core.run(request);
+    }
+
+    @Test
+    public void setUpReadsOnlyTheFirstParameters() {
+        Request.aClass(ManyRows.class).getRunner();
+
+        assertThat(fProduced, is(1));
+    }
+
+    @Test
+    public void runnersAreCreatedJustBeforeTheyRun() {
+        Result result = runLazily(Request.aClass(ManyRows.class));
+
+        assertThat(result.getRunCount(), is(ROWS));
+        // The runner for the next row is created at most
+        assertThat(fMaxProducedAhead, is(lessThanOrEqualTo(1)));
+    }
+
+    @Test
+    public void countsTestsWithoutDescribingThem() {
+        assertThat(Request.aClass(ManyRows.class).getRunner().testCount(), is(ROWS));
+    }
+
+    @Test
+    public void describesAllParameters() {
+        Description description = Request.aClass(ManyRows.class).getRunner().getDescription();
+
+        assertThat(description.getChildren().size(), is(ROWS));
+        assertEquals("[7]", description.getChildren().get(7).getDisplayName());
+    }
+
+    @Test
+    public void filtersWhileStreaming() {
+        Filter filter = Filter.matchMethodDescription(
+                Description.createTestDescription(ManyRows.class, "test[7]"));
+
+        Result result = runLazily(Request.aClass(ManyRows.class).filterWith(filter));
+
+        assertThat(result.getRunCount(), is(1));
+        assertThat(fNames, is(Collections.singletonList("test[7]")));
+    }
+
+    @Test
+    public void sortsAllParameters() {
+        Request request = Request.aClass(ManyRows.class).sortWith(new Comparator<Description>() {
+            public int compare(Description o1, Description o2) {
+                return o2.getDisplayName().compareTo(o1.getDisplayName());
+            }
+        });
+
+        new JUnitCore().run(request);
+
+        assertThat(fNames.get(0), is("test[9]"));
+        assertThat(fNames.get(1), is("test[99]"));
+    }
+
+    @Test
+    public void reportsParametersThatCannotBeRead() {
+        Result result = runLazily(Request.aClass(UnreadableRow.class));
+
+        assertThat(result.getRunCount(), is(4));
+        assertThat(result.getFailureCount(), is(1));
+        assertThat(result.getFailures().get(0).getMessage(), is("cannot read row 3"));
+    }
+}
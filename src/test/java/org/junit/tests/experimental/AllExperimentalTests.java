@@ -1,21 +1,25 @@
 package org.junit.tests.experimental;
 
 import org.junit.experimental.categories.AllCategoriesTests;
+import org.junit.experimental.impact.AllImpactTests;
 import org.junit.runner.RunWith;
 import org.junit.runners.Suite;
 import org.junit.runners.Suite.SuiteClasses;
 import org.junit.tests.experimental.max.AllMaxTests;
 import org.junit.tests.experimental.parallel.AllParallelTests;
 import org.junit.tests.experimental.results.AllResultsTests;
+import org.junit.tests.experimental.sharding.AllShardingTests;
 import org.junit.tests.experimental.theories.AllTheoriesTests;
 import org.junit.tests.experimental.theories.extendingwithstubs.StubbedTheoriesTest;
 
 @RunWith(Suite.class)
 @SuiteClasses({
         AllCategoriesTests.class,
+        AllImpactTests.class,
         AllMaxTests.class,
         AllParallelTests.class,
         AllResultsTests.class,
+        AllShardingTests.class,
         AllTheoriesTests.class,
         AssumptionTest.class,
         MatcherTest.class,
@@ -2,6 +2,7 @@ package org.junit.tests.experimental.max;
 
 import static org.hamcrest.CoreMatchers.containsString;
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.number.OrderingComparison.lessThan;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
@@ -9,6 +10,9 @@ import static org.junit.Assert.fail;
 
 import java.io.File;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
 
 import junit.framework.TestCase;
@@ -16,6 +20,7 @@ import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.experimental.max.MaxCore;
+import org.junit.experimental.max.MaxHistory;
 import org.junit.internal.runners.JUnit38ClassRunner;
 import org.junit.runner.Computer;
 import org.junit.runner.Description;
@@ -156,6 +161,23 @@ public class MaxStarterTest {
                 "slow"), thing);
     }
 
+    @Test
+    public void longestFirstComparatorPutsSlowTestsAndTheirClassesFirst() {
+        fMax.run(Request.classes(TwoTests.class, TwoUnEqualTests.class));
+        Comparator<Description> comparator = MaxHistory.forFolder(fMaxFile)
+                .longestFirstComparator();
+
+        Description slow = Description.createTestDescription(TwoUnEqualTests.class, "slow");
+        Description fast = Description.createTestDescription(TwoUnEqualTests.class, "fast");
+        assertThat(comparator.compare(slow, fast), is(lessThan(0)));
+
+        Description twoTests = Request.aClass(TwoTests.class).getRunner().getDescription();
+        Description twoUnEqualTests = Request.aClass(TwoUnEqualTests.class).getRunner().getDescription();
+        List<Description> classes = new ArrayList<Description>(Arrays.asList(twoTests, twoUnEqualTests));
+        Collections.sort(classes, comparator);
+        assertEquals(Arrays.asList(twoUnEqualTests, twoTests), classes);
+    }
+
     @Test
     public void listenersAreCalledCorrectlyInTheFaceOfFailures()
             throws Exception {
@@ -6,8 +6,12 @@ import org.junit.runners.Suite.SuiteClasses;
 
 @RunWith(Suite.class)
 @SuiteClasses({
+        ForkingComputerTest.class,
         ParallelClassTest.class,
-        ParallelMethodTest.class
+        ParallelComputerPoolTest.class,
+        ParallelMethodTest.class,
+        ResourceLockTest.class,
+        VirtualThreadComputerTest.class
 })
 public class AllParallelTests {
 }
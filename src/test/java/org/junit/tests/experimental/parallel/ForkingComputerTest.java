@@ -0,0 +1,154 @@
+package org.junit.tests.experimental.parallel;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+import org.junit.Ignore;
+import org.junit.Test;
+import org.junit.experimental.ForkingComputer;
+import org.junit.runner.Description;
+import org.junit.runner.JUnitCore;
+import org.junit.runner.Request;
+import org.junit.runner.Result;
+import org.junit.runner.manipulation.Filter;
+import org.junit.runner.notification.Failure;
+
+public class ForkingComputerTest {
+    public static class RunsInForkedJvm {
+        @Test
+        public void seesJvmArgument() {
+            assertTrue(Boolean.getBoolean("junit.forked"));
+        }
+    }
+
+    public static class MixedResults {
+        @Test
+        public void succeeds() {
+        }
+
+        @Test
+        public void fails() {
+            throw new AssertionError("expected failure");
+        }
+
+        @Test
+        public void failsWithUnserializableException() {
+            throw new UnserializableException();
+        }
+
+        @Test
+        public void violatesAssumption() {
+            assumeTrue(false);
+        }
+
+        @Ignore
+        @Test
+        public void ignored() {
+        }
+    }
+
+    public static class UnserializableException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        @SuppressWarnings("unused")
+        private final Object state = new Object();
+
+        UnserializableException() {
+            super("cannot be serialized");
+        }
+    }
+
+    public static class StaticState {
+        private static int runs = 0;
+
+        @Test
+        public void runsOncePerJvm() {
+            assertEquals(1, ++runs);
+        }
+    }
+
+    public static class TwoTests {
+        @Test
+        public void one() {
+        }
+
+        @Test
+        public void two() {
+            throw new AssertionError("should have been filtered");
+        }
+    }
+
+    @Test
+    public void runsClassesInChildJvms() {
+        ForkingComputer computer = ForkingComputer.builder()
+                .withJvms(2)
+                .withJvmArguments("-Djunit.forked=true")
+                .build();
+        Result result = JUnitCore.runClasses(computer, RunsInForkedJvm.class);
+        assertTrue(result.wasSuccessful());
+        assertThat(result.getRunCount(), is(1));
+    }
+
+    @Test
+    public void mergesEventsOfChildJvmsIntoOneResult() {
+        ForkingComputer computer = ForkingComputer.builder().withJvms(2).build();
+        Result result = JUnitCore.runClasses(computer, MixedResults.class, RunsInForkedJvm.class);
+        assertThat(result.getRunCount(), is(5));
+        assertThat(result.getIgnoreCount(), is(1));
+        assertThat(result.getFailureCount(), is(3));
+    }
+
+    @Test
+    public void reportsUnserializableExceptionsWithClassNameAndMessage() {
+        ForkingComputer computer = ForkingComputer.builder().withJvms(1).build();
+        Result result = JUnitCore.runClasses(computer, MixedResults.class);
+        Failure failure = result.getFailures().get(0);
+        if (!failure.getDescription().getMethodName().equals("failsWithUnserializableException")) {
+            failure = result.getFailures().get(1);
+        }
+        assertThat(failure.getTrace(), containsString(UnserializableException.class.getName()
+                + ": cannot be serialized"));
+        assertThat(failure.getTrace(), containsString("MixedResults.failsWithUnserializableException"));
+    }
+
+    @Test
+    public void reusesChildJvms() {
+        ForkingComputer computer = ForkingComputer.builder().withJvms(1).build();
+        Result result = JUnitCore.runClasses(computer, StaticState.class, StaticState.class);
+        assertThat(result.getFailureCount(), is(1));
+    }
+
+    @Test
+    public void replacesChildJvmsAfterConfiguredNumberOfClasses() {
+        ForkingComputer computer = ForkingComputer.builder()
+                .withJvms(1)
+                .withRecyclingAfterClasses(1)
+                .build();
+        Result result = JUnitCore.runClasses(computer, StaticState.class, StaticState.class);
+        assertTrue(result.wasSuccessful());
+    }
+
+    @Test
+    public void replacesChildJvmsAboveConfiguredHeapUsage() {
+        ForkingComputer computer = ForkingComputer.builder()
+                .withJvms(1)
+                .withRecyclingAboveHeapUsage(0)
+                .build();
+        Result result = JUnitCore.runClasses(computer, StaticState.class, StaticState.class);
+        assertTrue(result.wasSuccessful());
+    }
+
+    @Test
+    public void runsOnlyTheTestsThatPassTheFilter() {
+        ForkingComputer computer = ForkingComputer.builder().withJvms(1).build();
+        Request request = Request.classes(computer, TwoTests.class).filterWith(
+                Filter.matchMethodDescription(Description.createTestDescription(TwoTests.class, "one")));
+        Result result = new JUnitCore().run(request);
+        assertTrue(result.wasSuccessful());
+        assertThat(result.getRunCount(), is(1));
+    }
+}
@@ -0,0 +1,151 @@
+package org.junit.tests.experimental.parallel;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.ParallelComputer;
+import org.junit.runner.Description;
+import org.junit.runner.JUnitCore;
+import org.junit.runner.Result;
+import org.junit.runner.RunWith;
+import org.junit.runners.Suite;
+import org.junit.runners.Suite.SuiteClasses;
+
+public class ParallelComputerPoolTest {
+    private static final Set<Thread> fThreads = Collections.synchronizedSet(new HashSet<Thread>());
+
+    public static class Example {
+        @Test
+        public void one() throws InterruptedException {
+            fThreads.add(Thread.currentThread());
+            Thread.sleep(5);
+        }
+
+        @Test
+        public void two() throws InterruptedException {
+            fThreads.add(Thread.currentThread());
+            Thread.sleep(5);
+        }
+
+        @Test
+        public void three() throws InterruptedException {
+            fThreads.add(Thread.currentThread());
+            Thread.sleep(5);
+        }
+    }
+
+    public static class OtherExample extends Example {
+    }
+
+    @RunWith(Suite.class)
+    @SuiteClasses({Example.class, OtherExample.class})
+    public static class NestedSuite {
+    }
+
+    @RunWith(Suite.class)
+    @SuiteClasses({NestedSuite.class, NestedSuite.class, Example.class})
+    public static class DeeplyNestedSuite {
+    }
+
+    private static final List<Class<?>> fStartOrder
+            = Collections.synchronizedList(new ArrayList<Class<?>>());
+
+    private static volatile CountDownLatch fSecondStarted;
+
+    private static volatile CountDownLatch fThirdStarted;
+
+    public static class First {
+        @Test
+        public void test() {
+            fStartOrder.add(First.class);
+        }
+    }
+
+    public static class Second {
+        @Test
+        public void test() throws InterruptedException {
+            fStartOrder.add(Second.class);
+            fSecondStarted.countDown();
+            assertTrue(fThirdStarted.await(15, TimeUnit.SECONDS));
+        }
+    }
+
+    public static class Third {
+        @Test
+        public void test() throws InterruptedException {
+            fStartOrder.add(Third.class);
+            fThirdStarted.countDown();
+            // Keeps both threads busy until the first two children have started
+            assertTrue(fSecondStarted.await(15, TimeUnit.SECONDS));
+        }
+    }
+
+    @Before
+    public void clearThreads() {
+        fThreads.clear();
+        fStartOrder.clear();
+        fSecondStarted = new CountDownLatch(1);
+        fThirdStarted = new CountDownLatch(1);
+    }
+
+    @Test
+    public void rejectsNonPositiveParallelism() {
+        try {
+            new ParallelComputer(true, true, 0);
+        } catch (IllegalArgumentException e) {
+            assertEquals("parallelism must be positive but was 0", e.getMessage());
+            return;
+        }
+        throw new AssertionError("IllegalArgumentException expected");
+    }
+
+    @Test
+    public void usesNoMoreThreadsThanParallelismPlusCaller() {
+        Result result = JUnitCore.runClasses(new ParallelComputer(true, true, 2),
+                Example.class, OtherExample.class, Example.class, OtherExample.class,
+                DeeplyNestedSuite.class);
+        assertTrue(result.wasSuccessful());
+        assertThat(result.getRunCount(), is(27));
+        assertTrue("used " + fThreads.size() + " threads", fThreads.size() <= 3);
+    }
+
+    @Test
+    public void nestedSuitesDoNotDeadlockWithSingleWorker() {
+        Result result = JUnitCore.runClasses(new ParallelComputer(true, true, 1),
+                DeeplyNestedSuite.class, DeeplyNestedSuite.class);
+        assertTrue(result.wasSuccessful());
+        assertThat(result.getRunCount(), is(30));
+        assertTrue("used " + fThreads.size() + " threads", fThreads.size() <= 2);
+    }
+
+    @Test
+    public void childrenStartInTheGivenOrder() {
+        Comparator<Description> reverseDeclarationOrder = new Comparator<Description>() {
+            public int compare(Description o1, Description o2) {
+                return o2.getClassName().compareTo(o1.getClassName());
+            }
+        };
+        Result result = JUnitCore.runClasses(
+                new ParallelComputer(true, false, 1, reverseDeclarationOrder),
+                First.class, Second.class, Third.class);
+        assertTrue(result.wasSuccessful());
+        // Third and Second run at the same time on the worker and the caller
+        assertThat(new HashSet<Class<?>>(fStartOrder.subList(0, 2)),
+                is(new HashSet<Class<?>>(Arrays.<Class<?>>asList(Third.class, Second.class))));
+        assertThat(fStartOrder.get(2), is((Object) First.class));
+    }
+}
@@ -0,0 +1,119 @@
+package org.junit.tests.experimental.parallel;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.ParallelComputer;
+import org.junit.experimental.ResourceLock;
+import org.junit.experimental.ResourceLock.Mode;
+import org.junit.runner.Computer;
+import org.junit.runner.JUnitCore;
+import org.junit.runner.Result;
+
+public class ResourceLockTest {
+    private static final long TIMEOUT = 15;
+    private static final AtomicInteger fConcurrentWriters = new AtomicInteger();
+    private static final AtomicInteger fMaxConcurrentWriters = new AtomicInteger();
+    private static volatile CountDownLatch fSynchronizer;
+
+    private static void write() throws InterruptedException {
+        int writers = fConcurrentWriters.incrementAndGet();
+        synchronized (fMaxConcurrentWriters) {
+            fMaxConcurrentWriters.set(Math.max(writers, fMaxConcurrentWriters.get()));
+        }
+        Thread.sleep(20);
+        fConcurrentWriters.decrementAndGet();
+    }
+
+    public static class MethodLocks {
+        @ResourceLock("db")
+        @Test
+        public void one() throws InterruptedException {
+            write();
+        }
+
+        @ResourceLock("db")
+        @Test
+        public void two() throws InterruptedException {
+            write();
+        }
+
+        @ResourceLock({"db", "port"})
+        @Test
+        public void three() throws InterruptedException {
+            write();
+        }
+    }
+
+    @ResourceLock("db")
+    public static class ClassLock {
+        @Test
+        public void one() throws InterruptedException {
+            write();
+        }
+
+        @Test
+        public void two() throws InterruptedException {
+            write();
+        }
+    }
+
+    public static class Readers {
+        @ResourceLock(value = "db", mode = Mode.READ)
+        @Test
+        public void one() throws InterruptedException {
+            fSynchronizer.countDown();
+            assertTrue(fSynchronizer.await(TIMEOUT, TimeUnit.SECONDS));
+        }
+
+        @ResourceLock(value = "db", mode = Mode.READ)
+        @Test
+        public void two() throws InterruptedException {
+            fSynchronizer.countDown();
+            assertTrue(fSynchronizer.await(TIMEOUT, TimeUnit.SECONDS));
+        }
+    }
+
+    @Before
+    public void init() {
+        fConcurrentWriters.set(0);
+        fMaxConcurrentWriters.set(0);
+        fSynchronizer = new CountDownLatch(2);
+    }
+
+    private void assertWritersNeverOverlap(Computer computer) {
+        Result result = JUnitCore.runClasses(computer,
+                MethodLocks.class, ClassLock.class, MethodLocks.class, ClassLock.class);
+        assertTrue(result.wasSuccessful());
+        assertThat(result.getRunCount(), is(10));
+        assertThat(fMaxConcurrentWriters.get(), is(1));
+    }
+
+    @Test
+    public void conflictingLocksAreNotHeldConcurrently() {
+        assertWritersNeverOverlap(new ParallelComputer(true, true, 4));
+    }
+
+    @Test
+    public void conflictingLocksAreNotHeldConcurrentlyWithSingleWorker() {
+        assertWritersNeverOverlap(new ParallelComputer(true, true, 1));
+    }
+
+    @Test
+    public void conflictingLocksAreNotHeldConcurrentlyOnVirtualThreads() {
+        assertWritersNeverOverlap(ParallelComputer.virtualThreads(true, true));
+    }
+
+    @Test
+    public void readLocksAreShared() {
+        Result result = JUnitCore.runClasses(new ParallelComputer(false, true, 2), Readers.class);
+        assertTrue(result.wasSuccessful());
+    }
+}
@@ -0,0 +1,76 @@
+package org.junit.tests.experimental.parallel;
+
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsNot.not;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeNotNull;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.ParallelComputer;
+import org.junit.runner.JUnitCore;
+import org.junit.runner.Result;
+
+public class VirtualThreadComputerTest {
+    private static final long TIMEOUT = 15;
+    private static volatile Thread fOne = null;
+    private static volatile Thread fTwo = null;
+    private static volatile CountDownLatch fSynchronizer;
+
+    public static class Example1 {
+        @Test
+        public void one() throws InterruptedException {
+            fSynchronizer.countDown();
+            assertTrue(fSynchronizer.await(TIMEOUT, TimeUnit.SECONDS));
+            fOne = Thread.currentThread();
+        }
+    }
+
+    public static class Example2 {
+        @Test
+        public void two() throws InterruptedException {
+            fSynchronizer.countDown();
+            assertTrue(fSynchronizer.await(TIMEOUT, TimeUnit.SECONDS));
+            fTwo = Thread.currentThread();
+        }
+    }
+
+    @Before
+    public void init() {
+        fOne = null;
+        fTwo = null;
+        fSynchronizer = new CountDownLatch(2);
+    }
+
+    @Test
+    public void testsRunInParallel() {
+        Result result = JUnitCore.runClasses(ParallelComputer.virtualThreads(true, true),
+                Example1.class, Example2.class);
+        assertTrue(result.wasSuccessful());
+        assertNotNull(fOne);
+        assertNotNull(fTwo);
+        assertThat(fOne, is(not(fTwo)));
+    }
+
+    @Test
+    public void usesVirtualThreadsWhenTheJvmSupportsThem() throws Exception {
+        Method isVirtual = null;
+        try {
+            isVirtual = Thread.class.getMethod("isVirtual");
+        } catch (NoSuchMethodException e) {
+            // JVM without virtual threads
+        }
+        assumeNotNull(isVirtual);
+        Result result = JUnitCore.runClasses(ParallelComputer.virtualThreads(true, true),
+                Example1.class, Example2.class);
+        assertTrue(result.wasSuccessful());
+        assertThat(isVirtual.invoke(fOne), is((Object) true));
+        assertThat(isVirtual.invoke(fTwo), is((Object) true));
+    }
+}
@@ -0,0 +1,234 @@
+package org.junit.tests.experimental.sharding;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.max.MaxHistory;
+import org.junit.experimental.sharding.ShardFilter;
+import org.junit.rules.TemporaryFolder;
+import org.junit.rules.TestName;
+import org.junit.runner.Description;
+import org.junit.runner.FilterFactory.FilterNotCreatedException;
+import org.junit.runner.FilterFactoryParams;
+import org.junit.runner.JUnitCore;
+import org.junit.runner.Request;
+import org.junit.runner.manipulation.Filter;
+import org.junit.runner.notification.RunListener;
+
+public class ShardFilterTest {
+    private static final int SHARDS = 4;
+    private static final List<String> fRun = new ArrayList<String>();
+    private static final List<Class<?>> fSetUpClasses = new ArrayList<Class<?>>();
+
+    @Rule
+    public final TestName testName = new TestName();
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    @Before
+    public void clear() {
+        fRun.clear();
+        fSetUpClasses.clear();
+    }
+
+    public static class Counted {
+        @Rule
+        public final TestName name = new TestName();
+
+        @Test
+        public void a() {
+            fRun.add(getClass().getSimpleName() + "." + name.getMethodName());
+        }
+
+        @Test
+        public void b() {
+            a();
+        }
+
+        @Test
+        public void c() {
+            a();
+        }
+
+        @Test
+        public void d() {
+            a();
+        }
+    }
+
+    public static class First extends Counted {
+        @BeforeClass
+        public static void setUpClass() {
+            fSetUpClasses.add(First.class);
+        }
+    }
+
+    public static class Second extends Counted {
+        @BeforeClass
+        public static void setUpClass() {
+            fSetUpClasses.add(Second.class);
+        }
+    }
+
+    public static class Third extends Counted {
+        @BeforeClass
+        public static void setUpClass() {
+            fSetUpClasses.add(Third.class);
+        }
+    }
+
+    public static class Slow extends Counted {
+    }
+
+    private static Request slowAndFastClasses() {
+        return Request.classes(Slow.class, First.class, Second.class, Third.class);
+    }
+
+    private static void runShard(Filter filter) {
+        new JUnitCore().run(Request.classes(First.class, Second.class, Third.class)
+                .filterWith(filter));
+    }
+
+    @Test
+    public void shardsAreDisjointAndCoverAllTests() {
+        Set<String> all = new HashSet<String>();
+        for (int shard = 1; shard <= SHARDS; shard++) {
+            fRun.clear();
+            runShard(ShardFilter.forShard(shard, SHARDS));
+            for (String each : fRun) {
+                assertTrue(each + " ran on two shards", all.add(each));
+            }
+        }
+        assertThat(all.size(), is(12));
+    }
+
+    @Test
+    public void classGranularityRunsEachClassOnOneShard() {
+        Set<String> all = new HashSet<String>();
+        for (int shard = 1; shard <= SHARDS; shard++) {
+            fRun.clear();
+            runShard(ShardFilter.forShardOfClasses(shard, SHARDS));
+            Set<String> classes = new HashSet<String>();
+            for (String each : fRun) {
+                classes.add(each.substring(0, each.indexOf('.')));
+            }
+            assertThat(fRun.size(), is(4 * classes.size()));
+            all.addAll(fRun);
+        }
+        assertThat(all.size(), is(12));
+        assertThat(fSetUpClasses.size(), is(3));
+    }
+
+    @Test
+    public void suiteRunsIfAnyOfItsTestsRuns() {
+        Description suite = Description.createSuiteDescription(First.class);
+        for (String each : new String[] {"a", "b", "c", "d"}) {
+            suite.addChild(Description.createTestDescription(First.class, each));
+        }
+        for (int shard = 1; shard <= SHARDS; shard++) {
+            Filter filter = ShardFilter.forShard(shard, SHARDS);
+            boolean anyTestRuns = false;
+            for (Description each : suite.getChildren()) {
+                anyTestRuns |= filter.shouldRun(each);
+            }
+            assertThat(filter.shouldRun(suite), is(anyTestRuns));
+        }
+    }
+
+    @Test
+    public void createsFilterFromArguments() throws Exception {
+        Filter filter = new ShardFilter().createFilter(params("3/12,classes"));
+
+        assertThat(filter.describe(), is("classes of shard 3 of 12"));
+    }
+
+    @Test
+    public void createsFilterOfMethodsByDefault() throws Exception {
+        Filter filter = new ShardFilter().createFilter(params("3/12"));
+
+        assertThat(filter.describe(), is("shard 3 of 12"));
+    }
+
+    @Test(expected = FilterNotCreatedException.class)
+    public void rejectsShardOutOfRange() throws Exception {
+        new ShardFilter().createFilter(params("13/12"));
+    }
+
+    @Test(expected = FilterNotCreatedException.class)
+    public void rejectsMalformedArguments() throws Exception {
+        new ShardFilter().createFilter(params("3"));
+    }
+
+    @Test(expected = FilterNotCreatedException.class)
+    public void rejectsUnknownGranularity() throws Exception {
+        new ShardFilter().createFilter(params("3/12,packages"));
+    }
+
+    @Test
+    public void durationBalancedShardsGiveSlowClassItsOwnShard() throws Exception {
+        Description suite = slowAndFastClasses().getRunner().getDescription();
+        MaxHistory history = MaxHistory.forFolder(new File(folder.getRoot(), "history.ser"));
+        RunListener listener = history.listener();
+        for (Description each : suite.getChildren()) {
+            for (Description test : each.getChildren()) {
+                listener.testStarted(test);
+                if (each.getTestClass() == Slow.class) {
+                    Thread.sleep(20);
+                }
+                listener.testFinished(test);
+            }
+        }
+
+        List<List<String>> shards = new ArrayList<List<String>>();
+        for (int shard = 1; shard <= 2; shard++) {
+            fRun.clear();
+            new JUnitCore().run(slowAndFastClasses().filterWith(
+                    ShardFilter.forDurationBalancedShard(history, suite, shard, 2)));
+            shards.add(new ArrayList<String>(fRun));
+        }
+        List<String> slowShard = shards.get(0).contains("Slow.a") ? shards.get(0) : shards.get(1);
+        List<String> otherShard = shards.get(0).contains("Slow.a") ? shards.get(1) : shards.get(0);
+
+        assertThat(slowShard.size(), is(4));
+        assertThat(otherShard.size(), is(12));
+    }
+
+    @Test
+    public void durationBalancedShardsAssignUnknownClassesByHash() throws Exception {
+        Description suite = Request.classes(First.class, Second.class, Third.class)
+                .getRunner().getDescription();
+        MaxHistory history = MaxHistory.forFolder(new File(folder.getRoot(), "missing.ser"));
+        for (int shard = 1; shard <= SHARDS; shard++) {
+            Filter balanced = ShardFilter.forDurationBalancedShard(history, suite, shard, SHARDS);
+            Filter hashed = ShardFilter.forShardOfClasses(shard, SHARDS);
+            for (Description each : suite.getChildren()) {
+                assertThat(balanced.shouldRun(each), is(hashed.shouldRun(each)));
+            }
+        }
+    }
+
+    @Test
+    public void createsDurationBalancedFilterFromArguments() throws Exception {
+        File history = new File(folder.getRoot(), "history.ser");
+        Filter filter = new ShardFilter().createFilter(params("3/12,history=" + history));
+
+        assertThat(filter.describe(), is("classes of duration-balanced shard 3 of 12"));
+    }
+
+    private FilterFactoryParams params(String args) {
+        return new FilterFactoryParams(
+                Description.createSuiteDescription(testName.getMethodName()), args);
+    }
+}
@@ -13,11 +13,14 @@ import org.junit.runners.Suite.SuiteClasses;
         UnsuccessfulWithDataPointFields.class,
         WhenNoParametersMatch.class,
         WithAutoGeneratedDataPoints.class,
+        WithCachedDataPoints.class,
         WithDataPointMethod.class,
         WithExtendedParameterSources.class,
         WithNamedDataPoints.class,
         WithOnlyTestAnnotations.class,
+        WithParallelism.class,
         WithParameterSupplier.class,
+        WithSampledAssignments.class,
         WithUnresolvedGenericTypeVariablesOnTheoryParms.class
 })
 public class AllTheoriesRunnerTests {
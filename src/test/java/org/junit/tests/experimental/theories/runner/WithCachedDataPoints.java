@@ -0,0 +1,113 @@
+package org.junit.tests.experimental.theories.runner;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.experimental.results.PrintableResult.testResult;
+import static org.junit.experimental.results.ResultMatchers.isSuccessful;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.theories.DataPoint;
+import org.junit.experimental.theories.DataPoints;
+import org.junit.experimental.theories.SharedDataPoints;
+import org.junit.experimental.theories.Theories;
+import org.junit.experimental.theories.Theory;
+import org.junit.runner.RunWith;
+
+public class WithCachedDataPoints {
+    private static int fDataPointsCalls;
+
+    private static int fDataPointCalls;
+
+    @Before
+    public void reset() {
+        fDataPointsCalls = 0;
+        fDataPointCalls = 0;
+    }
+
+    @RunWith(Theories.class)
+    public static class ThreeParameters {
+        @DataPoints
+        public static String[] strings() {
+            fDataPointsCalls++;
+            return new String[]{"a", "b", "c"};
+        }
+
+        @DataPoint
+        public static String single() {
+            fDataPointCalls++;
+            return "d";
+        }
+
+        @Theory
+        public void theory(String x, String y, String z) {
+        }
+    }
+
+    @Test
+    public void invokesDataPointsMethodsOnceForEachTheory() {
+        assertThat(testResult(ThreeParameters.class), isSuccessful());
+        assertThat(fDataPointsCalls, is(1));
+    }
+
+    @Test
+    public void invokesDataPointMethodsForEachAssignment() {
+        assertThat(testResult(ThreeParameters.class), isSuccessful());
+        // Each parameter is "d" in 16 of the 64 assignments
+        assertThat(fDataPointCalls, is(3 * 16));
+    }
+
+    @RunWith(Theories.class)
+    public static class NotCached {
+        @DataPoints(cached = false)
+        public static String[] strings() {
+            fDataPointsCalls++;
+            return new String[]{"a", "b", "c"};
+        }
+
+        @Theory
+        public void theory(String x, String y, String z) {
+        }
+    }
+
+    @Test
+    public void invokesDataPointMethodsThatAreNotCachedForEachParameter() {
+        assertThat(testResult(NotCached.class), isSuccessful());
+        // Once for x, for each x once for y, and for each y once for z
+        assertThat(fDataPointsCalls, is(1 + 3 + 9));
+    }
+
+    @RunWith(Theories.class)
+    public static class TwoTheories {
+        @DataPoints
+        public static String[] strings() {
+            fDataPointsCalls++;
+            return new String[]{"a", "b"};
+        }
+
+        @Theory
+        public void first(String x) {
+        }
+
+        @Theory
+        public void second(String x) {
+        }
+    }
+
+    @Test
+    public void doesNotShareDataPointsBetweenTheoriesByDefault() {
+        assertThat(testResult(TwoTheories.class), isSuccessful());
+        assertThat(fDataPointsCalls, is(2));
+    }
+
+    @RunWith(Theories.class)
+    @SharedDataPoints
+    public static class TwoTheoriesSharingDataPoints extends TwoTheories {
+    }
+
+    @Test
+    public void sharesDataPointsBetweenTheoriesOfAnnotatedClass() {
+        assertThat(testResult(TwoTheoriesSharingDataPoints.class), isSuccessful());
+        assertThat(fDataPointsCalls, is(1));
+    }
+}
@@ -0,0 +1,123 @@
+package org.junit.tests.experimental.theories.runner;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+import static org.junit.Assume.assumeTrue;
+import static org.junit.experimental.results.PrintableResult.testResult;
+import static org.junit.experimental.results.ResultMatchers.hasSingleFailureContaining;
+import static org.junit.experimental.results.ResultMatchers.isSuccessful;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.theories.DataPoints;
+import org.junit.experimental.theories.Theories;
+import org.junit.experimental.theories.Theory;
+import org.junit.runner.JUnitCore;
+import org.junit.runner.Result;
+import org.junit.runner.RunWith;
+
+public class WithParallelism {
+    private static final AtomicInteger fRuns = new AtomicInteger();
+
+    private static final Set<String> fThreadNames
+            = Collections.synchronizedSet(new HashSet<String>());
+
+    @Before
+    public void reset() {
+        fRuns.set(0);
+        fThreadNames.clear();
+    }
+
+    @RunWith(Theories.class)
+    public static class ThreeInts {
+        @DataPoints
+        public static int[] ints = {0, 1, 2, 3, 4};
+
+        @Theory(parallelism = 4)
+        public void threeInts(int x, int y, int z) {
+            fRuns.incrementAndGet();
+            fThreadNames.add(Thread.currentThread().getName());
+        }
+    }
+
+    @Test
+    public void runsAllAssignmentsOnSeveralThreads() {
+        assertThat(testResult(ThreeInts.class), isSuccessful());
+        assertThat(fRuns.get(), is(125));
+        assertThat(fThreadNames.size(), is(4));
+        assertThat(fThreadNames.iterator().next(), containsString("Theories-threeInts-"));
+    }
+
+    @RunWith(Theories.class)
+    public static class FailsTwice {
+        @DataPoints
+        public static int[] ints = {0, 1, 2, 3, 4, 5, 6, 7};
+
+        @Theory(parallelism = 4)
+        public void failsForOneAndSix(int x, int y) throws InterruptedException {
+            if (x == 1) {
+                // Lets the failure for 6 happen first
+                Thread.sleep(50);
+                fail("x is one");
+            }
+            if (x == 6) {
+                fail("x is six");
+            }
+        }
+    }
+
+    @Test
+    public void reportsFailureThatComesFirstInSequentialOrder() {
+        Result result = JUnitCore.runClasses(FailsTwice.class);
+
+        assertThat(result.getFailureCount(), is(1));
+        assertThat(result.getFailures().get(0).getMessage(),
+                is("failsForOneAndSix(\"1\" <from ints[1]>, \"0\" <from ints[0]>)"));
+        assertThat(result.getFailures().get(0).getException().getCause().getMessage(),
+                is("x is one"));
+    }
+
+    @RunWith(Theories.class)
+    public static class NeverSatisfied {
+        @DataPoints
+        public static int[] ints = {0, 1, 2, 3, 4, 5, 6, 7};
+
+        @Theory(parallelism = 3)
+        public void assumesNegative(int x, int y) {
+            assumeTrue(x < 0);
+        }
+    }
+
+    @Test
+    public void collectsViolatedAssumptionsOfAllSubtrees() {
+        Result result = JUnitCore.runClasses(NeverSatisfied.class);
+
+        assertThat(result.getFailureCount(), is(1));
+        String message = result.getFailures().get(0).getMessage();
+        assertThat(message, containsString("Never found parameters"));
+        assertThat(message.split("got: <false>", -1).length - 1, is(64));
+    }
+
+    @RunWith(Theories.class)
+    public static class ZeroParallelism {
+        @DataPoints
+        public static int[] ints = {0, 1};
+
+        @Theory(parallelism = 0)
+        public void theory(int x) {
+        }
+    }
+
+    @Test
+    public void parallelismMustBePositive() {
+        assertThat(testResult(ZeroParallelism.class), hasSingleFailureContaining(
+                "parallelism of theory theory must be positive but was 0"));
+    }
+}
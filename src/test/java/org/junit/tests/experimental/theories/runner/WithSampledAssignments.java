@@ -0,0 +1,158 @@
+package org.junit.tests.experimental.theories.runner;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+import static org.junit.experimental.results.PrintableResult.testResult;
+import static org.junit.experimental.results.ResultMatchers.hasSingleFailureContaining;
+import static org.junit.experimental.results.ResultMatchers.isSuccessful;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.theories.DataPoints;
+import org.junit.experimental.theories.Theories;
+import org.junit.experimental.theories.Theory;
+import org.junit.experimental.theories.internal.ParameterizedAssertionError;
+import org.junit.runner.JUnitCore;
+import org.junit.runner.Result;
+import org.junit.runner.RunWith;
+
+public class WithSampledAssignments {
+    private static List<String> fAssignments;
+
+    @Before
+    public void reset() {
+        fAssignments = Collections.synchronizedList(new ArrayList<String>());
+    }
+
+    @RunWith(Theories.class)
+    public static class ThousandAssignments {
+        @DataPoints
+        public static int[] ints = {0, 1, 2, 3, 4, 5, 6, 7, 8, 9};
+
+        @Theory(maxAssignments = 50, seed = 42)
+        public void threeInts(int x, int y, int z) {
+            fAssignments.add(x + "," + y + "," + z);
+        }
+    }
+
+    @Test
+    public void runsSampleOfDifferentAssignments() {
+        assertThat(testResult(ThousandAssignments.class), isSuccessful());
+        assertThat(fAssignments.size(), is(50));
+        assertThat(new HashSet<String>(fAssignments).size(), is(50));
+    }
+
+    @Test
+    public void samplesSameAssignmentsWithSameSeed() {
+        testResult(ThousandAssignments.class);
+        List<String> firstRun = new ArrayList<String>(fAssignments);
+        fAssignments.clear();
+
+        testResult(ThousandAssignments.class);
+
+        assertThat(fAssignments, is(firstRun));
+    }
+
+    @RunWith(Theories.class)
+    public static class FewAssignments {
+        @DataPoints
+        public static int[] ints = {0, 1, 2};
+
+        @Theory(maxAssignments = 10)
+        public void twoInts(int x, int y) {
+            fAssignments.add(x + "," + y);
+        }
+    }
+
+    @Test
+    public void runsAllAssignmentsIfThereAreNotMoreThanMaximum() {
+        assertThat(testResult(FewAssignments.class), isSuccessful());
+        assertThat(fAssignments.size(), is(9));
+    }
+
+    @RunWith(Theories.class)
+    public static class SampledInParallel {
+        @DataPoints
+        public static int[] ints = {0, 1, 2, 3, 4, 5, 6, 7, 8, 9};
+
+        @Theory(maxAssignments = 50, seed = 42, parallelism = 4)
+        public void threeInts(int x, int y, int z) {
+            fAssignments.add(x + "," + y + "," + z);
+        }
+    }
+
+    @Test
+    public void runsSampleInParallel() {
+        testResult(ThousandAssignments.class);
+        List<String> sequential = new ArrayList<String>(fAssignments);
+        fAssignments.clear();
+
+        assertThat(testResult(SampledInParallel.class), isSuccessful());
+
+        assertThat(new HashSet<String>(fAssignments), is(new HashSet<String>(sequential)));
+    }
+
+    @RunWith(Theories.class)
+    public static class AlwaysFails {
+        @DataPoints
+        public static int[] ints = {0, 1, 2, 3, 4, 5, 6, 7, 8, 9};
+
+        @Theory(maxAssignments = 5, seed = 7)
+        public void twoInts(int x, int y) {
+            fail("failed");
+        }
+    }
+
+    @Test
+    public void reportsSeedOnFailure() {
+        Result result = JUnitCore.runClasses(AlwaysFails.class);
+
+        assertThat(result.getFailureCount(), is(1));
+        assertThat(result.getFailures().get(0).getMessage(),
+                containsString("(assignments sampled with seed 7)"));
+        assertThat(result.getFailures().get(0).getMessage(), containsString("twoInts("));
+        assertThat(result.getFailures().get(0).getException(),
+                is(instanceOf(ParameterizedAssertionError.class)));
+    }
+
+    @RunWith(Theories.class)
+    public static class RandomSeed {
+        @DataPoints
+        public static int[] ints = {0, 1, 2, 3, 4, 5, 6, 7, 8, 9};
+
+        @Theory(maxAssignments = 5)
+        public void twoInts(int x, int y) {
+            fail("failed");
+        }
+    }
+
+    @Test
+    public void reportsRandomSeedOnFailure() {
+        assertThat(testResult(RandomSeed.class),
+                hasSingleFailureContaining("assignments sampled with seed "));
+    }
+
+    @RunWith(Theories.class)
+    public static class NegativeMaxAssignments {
+        @DataPoints
+        public static int[] ints = {0, 1};
+
+        @Theory(maxAssignments = -1)
+        public void theory(int x) {
+        }
+    }
+
+    @Test
+    public void maxAssignmentsMustNotBeNegative() {
+        assertThat(testResult(NegativeMaxAssignments.class), hasSingleFailureContaining(
+                "maxAssignments of theory theory must not be negative but was -1"));
+    }
+}